@@ -25,7 +25,10 @@ import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties;
 import io.github.doriangrelu.keycloak.config.provider.KeycloakImportProvider;
+import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.cache.ImportRunCache;
 import io.github.doriangrelu.keycloak.config.service.RealmImportService;
+import io.github.doriangrelu.keycloak.config.service.parallel.BoundedPool;
 import io.github.doriangrelu.keycloak.config.service.state.ExecutionContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -58,6 +62,8 @@ public class KeycloakConfigRunner implements CommandLineRunner, ExitCodeGenerato
     private final KeycloakImportProvider keycloakImportProvider;
     private final RealmImportService realmImportService;
     private final ImportConfigProperties importConfigProperties;
+    private final List<ImportRunCache> importRunCaches;
+    private final KeycloakProvider keycloakProvider;
 
     private int exitCode = 0;
 
@@ -65,10 +71,14 @@ public class KeycloakConfigRunner implements CommandLineRunner, ExitCodeGenerato
     public KeycloakConfigRunner(
             KeycloakImportProvider keycloakImportProvider,
             RealmImportService realmImportService,
-            ImportConfigProperties importConfigProperties) {
+            ImportConfigProperties importConfigProperties,
+            List<ImportRunCache> importRunCaches,
+            KeycloakProvider keycloakProvider) {
         this.keycloakImportProvider = keycloakImportProvider;
         this.realmImportService = realmImportService;
         this.importConfigProperties = importConfigProperties;
+        this.importRunCaches = importRunCaches;
+        this.keycloakProvider = keycloakProvider;
     }
 
     @Override
@@ -80,23 +90,18 @@ public class KeycloakConfigRunner implements CommandLineRunner, ExitCodeGenerato
     public void run(String... args) {
         try {
             ExecutionContextHolder.initializeEmptyContext();
+            importRunCaches.forEach(ImportRunCache::clear);
             Collection<String> importLocations = importConfigProperties.getFiles().getLocations();
             KeycloakImport keycloakImport = keycloakImportProvider.readFromLocations(importLocations);
 
             Map<String, Map<String, List<RealmImport>>> realmImports = keycloakImport.getRealmImports();
 
-            final Collection<RealmImport> importedRealm = new ArrayList<>();
-
-            for (Map<String, List<RealmImport>> realmImportLocations : realmImports.values()) {
-                for (Map.Entry<String, List<RealmImport>> realmImport : realmImportLocations.entrySet()) {
-                    logger.info("Importing file '{}'", realmImport.getKey());
-                    for (RealmImport realmImportParts : realmImport.getValue()) {
-                        realmImportService.doImport(realmImportParts);
-                        importedRealm.add(realmImportParts);
-                    }
-                }
+            int maxConcurrency = importConfigProperties.getRealms().getMaxConcurrency();
+            if (maxConcurrency <= 1) {
+                importRealms(realmImports);
+            } else {
+                importRealmsConcurrently(realmImports, maxConcurrency);
             }
-            importedRealm.forEach(realmImportService::cleanRealm);
         } catch (NullPointerException e) {
             throw e;
         } catch (Exception e) {
@@ -116,9 +121,58 @@ public class KeycloakConfigRunner implements CommandLineRunner, ExitCodeGenerato
                 throw e;
             }
         } finally {
+            importRunCaches.forEach(cache -> logger.info("Cache '{}': {}", cache.getName(), cache.getStatistics()));
+            keycloakProvider.getConnectionPoolStatistics()
+                    .ifPresent(statistics -> logger.info("HTTP connection pool: {}", statistics));
+
             long totalTime = System.currentTimeMillis() - START_TIME;
             String formattedTime = new SimpleDateFormat("mm:ss.SSS").format(new Date(totalTime));
             logger.info("keycloak-config-cli ran in {}.", formattedTime);
         }
     }
+
+    private void importRealms(Map<String, Map<String, List<RealmImport>>> realmImports) {
+        final Collection<RealmImport> importedRealm = new ArrayList<>();
+
+        for (Map<String, List<RealmImport>> realmImportLocations : realmImports.values()) {
+            for (Map.Entry<String, List<RealmImport>> realmImport : realmImportLocations.entrySet()) {
+                logger.info("Importing file '{}'", realmImport.getKey());
+                for (RealmImport realmImportParts : realmImport.getValue()) {
+                    realmImportService.doImport(realmImportParts);
+                    importedRealm.add(realmImportParts);
+                }
+            }
+        }
+        importedRealm.forEach(realmImportService::cleanRealm);
+    }
+
+    /**
+     * Imports different realms concurrently. The parts of a realm are imported in file order by a single
+     * thread, followed by the cleanup of that realm. After a failure no further realm is started, and the
+     * exception of the first failed realm in file order is rethrown.
+     */
+    private void importRealmsConcurrently(Map<String, Map<String, List<RealmImport>>> realmImports, int maxConcurrency) {
+        Map<String, List<Map.Entry<String, RealmImport>>> partsByRealm = new LinkedHashMap<>();
+
+        for (Map<String, List<RealmImport>> realmImportLocations : realmImports.values()) {
+            for (Map.Entry<String, List<RealmImport>> realmImport : realmImportLocations.entrySet()) {
+                for (RealmImport realmImportParts : realmImport.getValue()) {
+                    partsByRealm.computeIfAbsent(realmImportParts.getRealm(), realm -> new ArrayList<>())
+                            .add(Map.entry(realmImport.getKey(), realmImportParts));
+                }
+            }
+        }
+
+        if (partsByRealm.isEmpty()) return;
+
+        BoundedPool.forEach(partsByRealm.values(), maxConcurrency, "import-realm", this::importRealm);
+    }
+
+    private void importRealm(List<Map.Entry<String, RealmImport>> realmParts) {
+        for (Map.Entry<String, RealmImport> realmPart : realmParts) {
+            logger.info("Importing file '{}'", realmPart.getKey());
+            realmImportService.doImport(realmPart.getValue());
+        }
+        realmParts.forEach(realmPart -> realmImportService.cleanRealm(realmPart.getValue()));
+    }
 }
@@ -21,6 +21,7 @@
 package io.github.doriangrelu.keycloak.config.properties;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -37,6 +38,7 @@ public class ImportConfigProperties {
     public static final String REALM_STATE_ATTRIBUTE_COMMON_PREFIX = "io.github.doriangrelu.keycloak.config";
     public static final String REALM_CHECKSUM_ATTRIBUTE_PREFIX_KEY = REALM_STATE_ATTRIBUTE_COMMON_PREFIX + ".import-checksum-{0}";
     public static final String REALM_STATE_ATTRIBUTE_PREFIX_KEY = REALM_STATE_ATTRIBUTE_COMMON_PREFIX + ".state-{0}-{1}";
+    public static final String REALM_COMPACT_STATE_ATTRIBUTE_PREFIX_KEY = REALM_STATE_ATTRIBUTE_COMMON_PREFIX + ".compact-state-{0}";
 
     @NotNull
     private final boolean validate;
@@ -44,6 +46,9 @@ public class ImportConfigProperties {
     @NotNull
     private final boolean parallel;
 
+    @Min(1)
+    private final int parallelMaxConcurrency;
+
     @Valid
     private final ImportFilesProperties files;
 
@@ -65,18 +70,32 @@ public class ImportConfigProperties {
     @Valid
     private final ImportRemoteStateProperties remoteState;
 
+    @Valid
+    private final ImportUsersProperties users;
+
+    @Valid
+    private final ImportPhasesProperties phases;
+
+    @Valid
+    private final ImportRealmsProperties realms;
+
     public ImportConfigProperties(@DefaultValue("true") final boolean validate,
                                   @DefaultValue("false") final boolean parallel,
+                                  @DefaultValue("8") final int parallelMaxConcurrency,
                                   @DefaultValue final ImportFilesProperties files,
                                   @DefaultValue final ImportVarSubstitutionProperties varSubstitution,
                                   @DefaultValue final ImportMustacheProperties mustache,
                                   @DefaultValue final ImportBehaviorsProperties behaviors,
                                   @DefaultValue final ImportCacheProperties cache,
                                   @DefaultValue final ImportManagedProperties managed,
-                                  @DefaultValue final ImportRemoteStateProperties remoteState
+                                  @DefaultValue final ImportRemoteStateProperties remoteState,
+                                  @DefaultValue final ImportUsersProperties users,
+                                  @DefaultValue final ImportPhasesProperties phases,
+                                  @DefaultValue final ImportRealmsProperties realms
     ) {
         this.validate = validate;
         this.parallel = parallel;
+        this.parallelMaxConcurrency = parallelMaxConcurrency;
         this.files = files;
         this.varSubstitution = varSubstitution;
         this.mustache = mustache;
@@ -84,6 +103,9 @@ public class ImportConfigProperties {
         this.cache = cache;
         this.managed = managed;
         this.remoteState = remoteState;
+        this.users = users;
+        this.phases = phases;
+        this.realms = realms;
     }
 
     public boolean isValidate() {
@@ -94,6 +116,10 @@ public class ImportConfigProperties {
         return this.parallel;
     }
 
+    public int getParallelMaxConcurrency() {
+        return this.parallelMaxConcurrency;
+    }
+
     public ImportFilesProperties getFiles() {
         return this.files;
     }
@@ -122,6 +148,18 @@ public class ImportConfigProperties {
         return this.remoteState;
     }
 
+    public ImportUsersProperties getUsers() {
+        return this.users;
+    }
+
+    public ImportPhasesProperties getPhases() {
+        return this.phases;
+    }
+
+    public ImportRealmsProperties getRealms() {
+        return this.realms;
+    }
+
     @SuppressWarnings("unused")
     public static class ImportManagedProperties {
         @NotNull
@@ -286,12 +324,22 @@ public class ImportConfigProperties {
         @NotNull
         private final boolean includeHiddenFiles;
 
+        @NotNull
+        private final boolean streaming;
+
+        @Min(1)
+        private final int maxConcurrency;
+
         public ImportFilesProperties(final Collection<String> locations,
                                      @DefaultValue final Collection<String> excludes,
-                                     @DefaultValue("false") final boolean includeHiddenFiles) {
+                                     @DefaultValue("false") final boolean includeHiddenFiles,
+                                     @DefaultValue("false") final boolean streaming,
+                                     @DefaultValue("1") final int maxConcurrency) {
             this.locations = locations;
             this.excludes = excludes;
             this.includeHiddenFiles = includeHiddenFiles;
+            this.streaming = streaming;
+            this.maxConcurrency = maxConcurrency;
         }
 
         public Collection<String> getLocations() {
@@ -305,6 +353,14 @@ public class ImportConfigProperties {
         public boolean isIncludeHiddenFiles() {
             return this.includeHiddenFiles;
         }
+
+        public boolean isStreaming() {
+            return this.streaming;
+        }
+
+        public int getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
     }
 
     @SuppressWarnings("unused")
@@ -397,13 +453,18 @@ public class ImportConfigProperties {
         @NotNull
         private final ChecksumChangedOption checksumChanged;
 
+        @NotNull
+        private final boolean clientAuthorizationBulkImport;
+
         public ImportBehaviorsProperties(final boolean syncUserFederation, final boolean removeDefaultRoleFromUser, final boolean skipAttributesForFederatedUser,
-                                         final boolean checksumWithCacheKey, final ChecksumChangedOption checksumChanged) {
+                                         final boolean checksumWithCacheKey, final ChecksumChangedOption checksumChanged,
+                                         final boolean clientAuthorizationBulkImport) {
             this.syncUserFederation = syncUserFederation;
             this.removeDefaultRoleFromUser = removeDefaultRoleFromUser;
             this.skipAttributesForFederatedUser = skipAttributesForFederatedUser;
             this.checksumWithCacheKey = checksumWithCacheKey;
             this.checksumChanged = checksumChanged;
+            this.clientAuthorizationBulkImport = clientAuthorizationBulkImport;
         }
 
         public boolean isSyncUserFederation() {
@@ -426,6 +487,10 @@ public class ImportConfigProperties {
             return this.checksumChanged;
         }
 
+        public boolean isClientAuthorizationBulkImport() {
+            return this.clientAuthorizationBulkImport;
+        }
+
         public enum ChecksumChangedOption {
             CONTINUE, FAIL
         }
@@ -439,10 +504,15 @@ public class ImportConfigProperties {
         @NotNull
         private final String key;
 
+        @NotNull
+        private final boolean incremental;
+
         public ImportCacheProperties(@DefaultValue("true") final boolean enabled,
-                                     @DefaultValue("default") final String key) {
+                                     @DefaultValue("default") final String key,
+                                     @DefaultValue("false") final boolean incremental) {
             this.enabled = enabled;
             this.key = key;
+            this.incremental = incremental;
         }
 
         public boolean isEnabled() {
@@ -452,6 +522,10 @@ public class ImportConfigProperties {
         public String getKey() {
             return this.key;
         }
+
+        public boolean isIncremental() {
+            return this.incremental;
+        }
     }
 
     @SuppressWarnings("unused")
@@ -464,12 +538,17 @@ public class ImportConfigProperties {
         @Pattern(regexp = "^[A-Fa-f0-9]+$")
         private final String encryptionSalt;
 
+        @NotNull
+        private final StateFormat format;
+
         public ImportRemoteStateProperties(@DefaultValue("true") final boolean enabled,
                                            final String encryptionKey,
-                                           @DefaultValue("2B521C795FBE2F2425DB150CD3700BA9") final String encryptionSalt) {
+                                           @DefaultValue("2B521C795FBE2F2425DB150CD3700BA9") final String encryptionSalt,
+                                           @DefaultValue("json") final StateFormat format) {
             this.enabled = enabled;
             this.encryptionKey = encryptionKey;
             this.encryptionSalt = encryptionSalt;
+            this.format = format;
         }
 
         public boolean isEnabled() {
@@ -483,5 +562,64 @@ public class ImportConfigProperties {
         public String getEncryptionSalt() {
             return this.encryptionSalt;
         }
+
+        public StateFormat getFormat() {
+            return this.format;
+        }
+
+        public enum StateFormat {
+            JSON, COMPACT
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ImportUsersProperties {
+        @NotNull
+        private final boolean preload;
+
+        @Min(1)
+        private final int preloadPageSize;
+
+        public ImportUsersProperties(@DefaultValue("false") final boolean preload,
+                                     @DefaultValue("500") final int preloadPageSize) {
+            this.preload = preload;
+            this.preloadPageSize = preloadPageSize;
+        }
+
+        public boolean isPreload() {
+            return this.preload;
+        }
+
+        public int getPreloadPageSize() {
+            return this.preloadPageSize;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ImportPhasesProperties {
+        @Min(1)
+        private final int maxConcurrency;
+
+        public ImportPhasesProperties(@DefaultValue("1") final int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ImportRealmsProperties {
+        @Min(1)
+        private final int maxConcurrency;
+
+        public ImportRealmsProperties(@DefaultValue("1") final int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
     }
 }
@@ -28,6 +28,7 @@ import java.net.URL;
 import java.time.Duration;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -72,6 +73,9 @@ public class KeycloakConfigProperties {
     @Valid
     private final KeycloakAvailabilityCheck availabilityCheck;
 
+    @Valid
+    private final KeycloakHttpProperties http;
+
     public KeycloakConfigProperties(
             @DefaultValue("master") String loginRealm,
             @DefaultValue("admin-cli") String clientId,
@@ -86,7 +90,8 @@ public class KeycloakConfigProperties {
             @DefaultValue("false") boolean skipServerInfo,
             @DefaultValue KeycloakAvailabilityCheck availabilityCheck,
             @DefaultValue("10s") Duration connectTimeout,
-            @DefaultValue("10s") Duration readTimeout
+            @DefaultValue("10s") Duration readTimeout,
+            @DefaultValue KeycloakHttpProperties http
     ) {
         this.loginRealm = loginRealm;
         this.clientId = clientId;
@@ -102,6 +107,7 @@ public class KeycloakConfigProperties {
         this.availabilityCheck = availabilityCheck;
         this.connectTimeout = connectTimeout;
         this.readTimeout = readTimeout;
+        this.http = http;
     }
 
     public String getLoginRealm() {
@@ -160,6 +166,10 @@ public class KeycloakConfigProperties {
         return skipServerInfo;
     }
 
+    public KeycloakHttpProperties getHttp() {
+        return http;
+    }
+
     public static class KeycloakAvailabilityCheck {
         @NotNull
         private final boolean enabled;
@@ -191,4 +201,73 @@ public class KeycloakConfigProperties {
             return retryDelay;
         }
     }
+
+    public static class KeycloakHttpProperties {
+        @NotNull
+        private final HttpEngine engine;
+
+        @NotNull
+        private final boolean compressRequests;
+
+        @Min(1)
+        private final int poolSize;
+
+        @Min(1)
+        private final int maxPerRoute;
+
+        private final Duration connectionTtl;
+
+        private final Duration idleTimeout;
+
+        private final Duration keepAlive;
+
+        @SuppressWarnings("unused")
+        public KeycloakHttpProperties(@DefaultValue("APACHE") HttpEngine engine,
+                @DefaultValue("false") boolean compressRequests,
+                @DefaultValue("10") int poolSize,
+                @DefaultValue("10") int maxPerRoute,
+                Duration connectionTtl,
+                Duration idleTimeout,
+                Duration keepAlive) {
+            this.engine = engine;
+            this.compressRequests = compressRequests;
+            this.poolSize = poolSize;
+            this.maxPerRoute = maxPerRoute;
+            this.connectionTtl = connectionTtl;
+            this.idleTimeout = idleTimeout;
+            this.keepAlive = keepAlive;
+        }
+
+        public HttpEngine getEngine() {
+            return engine;
+        }
+
+        public boolean isCompressRequests() {
+            return compressRequests;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public int getMaxPerRoute() {
+            return maxPerRoute;
+        }
+
+        public Duration getConnectionTtl() {
+            return connectionTtl;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public enum HttpEngine {
+            APACHE, JDK
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.provider;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Computes the SHA-256 checksum of the UTF-8 encoded content passing through the underlying reader.
+ *
+ * <p>The checksum is equal to {@link DigestUtils#sha256Hex(String)} of the whole content.</p>
+ */
+class ChecksumReader extends Reader {
+    private final Reader in;
+    private final MessageDigest digest = DigestUtils.getSha256Digest();
+
+    // a surrogate pair may be split between two reads, it must be encoded as a whole
+    private final StringBuilder pending = new StringBuilder(2);
+
+    ChecksumReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        int count = in.read(buffer, offset, length);
+        if (count > 0) {
+            update(buffer, offset, count);
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return the checksum of the content read so far, the reader must not be used afterwards
+     */
+    String getChecksum() {
+        if (!pending.isEmpty()) {
+            digest.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(pending)));
+            pending.setLength(0);
+        }
+
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private void update(char[] buffer, int offset, int count) {
+        CharBuffer chars;
+        if (pending.isEmpty()) {
+            chars = CharBuffer.wrap(buffer, offset, count);
+        } else {
+            chars = CharBuffer.wrap(pending.append(buffer, offset, count));
+        }
+
+        int end = chars.remaining();
+        boolean splitSurrogate = Character.isHighSurrogate(chars.charAt(end - 1));
+        if (splitSurrogate) {
+            chars.limit(chars.position() + end - 1);
+        }
+
+        digest.update(StandardCharsets.UTF_8.encode(chars));
+
+        String highSurrogate = splitSurrogate ? String.valueOf(buffer[offset + count - 1]) : "";
+        pending.setLength(0);
+        pending.append(highSurrogate);
+    }
+}
@@ -20,8 +20,13 @@
 
 package io.github.doriangrelu.keycloak.config.provider;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
 import com.samskivert.mustache.Mustache;
 import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
 import io.github.doriangrelu.keycloak.config.model.ImportResource;
@@ -29,6 +34,7 @@ import io.github.doriangrelu.keycloak.config.model.KeycloakImport;
 import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.mustache.MustacheContextWithDefaults;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.service.parallel.BoundedPool;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -50,8 +56,13 @@ import org.yaml.snakeyaml.Yaml;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
 import java.net.Authenticator;
+import java.net.HttpURLConnection;
 import java.net.PasswordAuthentication;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -59,7 +70,10 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
@@ -68,13 +82,17 @@ public class KeycloakImportProvider {
     private final PathMatchingResourcePatternResolver patternResolver;
     private final ImportConfigProperties importConfigProperties;
 
-    private StringSubstitutor interpolator = null;
+    private StringLookup variableResolver = null;
 
     private static final Logger logger = LoggerFactory.getLogger(KeycloakImportProvider.class);
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
             .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
+    private static final ObjectReader STREAMING_READER = new ObjectMapper(new YAMLFactory())
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(RealmImport.class);
+
     @Autowired
     public KeycloakImportProvider(
             final Environment environment,
@@ -90,12 +108,17 @@ public class KeycloakImportProvider {
     }
 
     private void setupVariableSubstitution(final Environment environment) {
-        final StringLookup variableResolver = StringLookupFactory.INSTANCE.interpolatorStringLookup(
+        this.variableResolver = StringLookupFactory.INSTANCE.interpolatorStringLookup(
                 StringLookupFactory.INSTANCE.functionStringLookup(environment::getProperty)
         );
+    }
 
-        this.interpolator = StringSubstitutor.createInterpolator()
-                .setVariableResolver(variableResolver)
+    /**
+     * StringSubstitutor is not thread safe, so a new instance is created for each file.
+     */
+    private StringSubstitutor createInterpolator() {
+        return StringSubstitutor.createInterpolator()
+                .setVariableResolver(this.variableResolver)
                 .setVariablePrefix(this.importConfigProperties.getVarSubstitution().getPrefix())
                 .setVariableSuffix(this.importConfigProperties.getVarSubstitution().getSuffix())
                 .setEnableSubstitutionInVariables(this.importConfigProperties.getVarSubstitution().isNested())
@@ -124,23 +147,75 @@ public class KeycloakImportProvider {
                 throw new InvalidImportException("No files matching '" + location + "'!");
             }
 
-            // Import Pipe
-            final Map<String, List<RealmImport>> realmImport = Arrays.stream(resources)
-                    .map(this::readResource)
-                    .filter(this::filterEmptyResources)
-                    .sorted(Map.Entry.comparingByKey())
-                    .map(this::substituteImportResource)
-                    .map(this::applyMustacheTemplate)
-                    .map(this::readRealmImportFromImportResource)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
-                            (oldValue, newValue) -> oldValue, LinkedHashMap::new));
-
-            realmImports.put(location, realmImport);
+            realmImports.put(location, this.readResources(resources));
         }
 
         return new KeycloakImport(realmImports);
     }
 
+    private boolean isStreaming() {
+        // mustache templates can only be compiled from the whole content
+        return this.importConfigProperties.getFiles().isStreaming() && !this.importConfigProperties.getMustache().isEnabled();
+    }
+
+    private Map<String, List<RealmImport>> readResources(final Resource[] resources) {
+        final int maxConcurrency = Math.min(this.importConfigProperties.getFiles().getMaxConcurrency(), resources.length);
+        if (maxConcurrency > 1) {
+            return this.readResourcesConcurrently(resources, maxConcurrency);
+        }
+
+        return this.isStreaming() ? this.streamResources(resources) : this.bufferResources(resources);
+    }
+
+    private Map<String, List<RealmImport>> bufferResources(final Resource[] resources) {
+        // Import Pipe
+        return Arrays.stream(resources)
+                .map(this::readResource)
+                .filter(this::filterEmptyResources)
+                .sorted(Map.Entry.comparingByKey())
+                .map(this::substituteImportResource)
+                .map(this::applyMustacheTemplate)
+                .map(this::readRealmImportFromImportResource)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (oldValue, newValue) -> oldValue, LinkedHashMap::new));
+    }
+
+    private Map<String, List<RealmImport>> streamResources(final Resource[] resources) {
+        return collectRealmImports(Arrays.stream(resources).map(this::streamResource));
+    }
+
+    /**
+     * Runs the whole pipeline of each file on a {@link BoundedPool}. The files keep the sorted order of the
+     * sequential pipeline.
+     */
+    private Map<String, List<RealmImport>> readResourcesConcurrently(final Resource[] resources, final int maxConcurrency) {
+        final Function<Resource, Pair<String, List<RealmImport>>> pipeline = this.isStreaming()
+                ? this::streamResource
+                : this::bufferResource;
+
+        return collectRealmImports(BoundedPool.map(Arrays.asList(resources), maxConcurrency, "import-file", pipeline).stream());
+    }
+
+    /**
+     * @return the realm imports of the resource, or {@code null} if the resource is empty
+     */
+    private Pair<String, List<RealmImport>> bufferResource(final Resource resource) {
+        final ImportResource importResource = this.readResource(resource);
+        if (!this.filterEmptyResources(importResource)) {
+            return null;
+        }
+
+        return this.readRealmImportFromImportResource(this.applyMustacheTemplate(this.substituteImportResource(importResource)));
+    }
+
+    private static Map<String, List<RealmImport>> collectRealmImports(final Stream<Pair<String, List<RealmImport>>> realmImports) {
+        return realmImports
+                .filter(Objects::nonNull)
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (oldValue, newValue) -> oldValue, LinkedHashMap::new));
+    }
+
     /**
      * FIXME -> ISSUE FILE FILTERED
      */
@@ -191,18 +266,67 @@ public class KeycloakImportProvider {
             }
         } catch (final IOException e) {
             throw new InvalidImportException("Unable to proceed resource '" + resource + "': " + e.getMessage(), e);
-        } finally {
-            Authenticator.setDefault(null);
         }
     }
 
+    /**
+     * Parses the realm imports directly from the input stream of the resource, without keeping its content in memory.
+     *
+     * @return the realm imports of the resource, or {@code null} if the resource is empty
+     */
+    private Pair<String, List<RealmImport>> streamResource(Resource resource) {
+        logger.debug("Streaming file '{}'", resource.getFilename());
+
+        try {
+            resource = this.setupAuthentication(resource);
+            final String location = resource.getURI().toString();
+            try (final PushbackInputStream inputStream = new PushbackInputStream(resource.getInputStream())) {
+                final int firstByte = inputStream.read();
+                if (firstByte == -1) {
+                    return null;
+                }
+                inputStream.unread(firstByte);
+
+                return this.streamRealmImports(location, inputStream);
+            }
+        } catch (final IOException e) {
+            throw new InvalidImportException("Unable to proceed resource '" + resource + "': " + e.getMessage(), e);
+        }
+    }
+
+    private Pair<String, List<RealmImport>> streamRealmImports(final String location, final InputStream inputStream) {
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        if (this.importConfigProperties.getVarSubstitution().isEnabled()) {
+            reader = new VariableSubstitutionReader(reader, this.createInterpolator());
+        }
+        final ChecksumReader checksumReader = new ChecksumReader(reader);
+
+        final List<RealmImport> realmImports = new ArrayList<>();
+        try (final JsonParser parser = new AliasRejectingParser((YAMLParser) STREAMING_READER.createParser(checksumReader));
+             final MappingIterator<RealmImport> iterator = STREAMING_READER.readValues(parser)) {
+            while (iterator.hasNextValue()) {
+                realmImports.add(iterator.nextValue());
+            }
+        } catch (final IOException e) {
+            throw new InvalidImportException("Unable to parse file '" + location + "': " + e.getMessage(), e);
+        }
+
+        final String contentChecksum = checksumReader.getChecksum();
+        realmImports.forEach(realmImport -> {
+            realmImport.setChecksum(contentChecksum);
+            realmImport.setSource(location);
+        });
+
+        return new ImmutablePair<>(location, realmImports);
+    }
+
     private boolean filterEmptyResources(final ImportResource resource) {
         return !resource.getValue().isEmpty();
     }
 
     private ImportResource substituteImportResource(final ImportResource importResource) {
         if (this.importConfigProperties.getVarSubstitution().isEnabled()) {
-            importResource.setValue(this.interpolator.replace(importResource.getValue()));
+            importResource.setValue(this.createInterpolator().replace(importResource.getValue()));
         }
 
         return importResource;
@@ -288,15 +412,44 @@ public class KeycloakImportProvider {
             return resource;
         }
 
-        Authenticator.setDefault(new Authenticator() {
+        final Authenticator authenticator = new Authenticator() {
             @Override
             protected PasswordAuthentication getPasswordAuthentication() {
                 return new PasswordAuthentication(userInfoSplit[0], userInfoSplit[1].toCharArray());
             }
-        });
+        };
 
         // Mask AuthInfo
         final String location = resource.getURI().toString().replace(userInfo + "@", "***@");
-        return new UrlResource(location);
+        return new AuthenticatedUrlResource(location, authenticator);
+    }
+
+    /**
+     * Uses the authenticator for its own connections only, instead of {@link Authenticator#setDefault}, so files
+     * with different credentials can be read at the same time.
+     */
+    private static class AuthenticatedUrlResource extends UrlResource {
+        private final Authenticator authenticator;
+
+        AuthenticatedUrlResource(final String location, final Authenticator authenticator) throws IOException {
+            super(location);
+            this.authenticator = authenticator;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            final URLConnection connection = this.getURL().openConnection();
+            if (!(connection instanceof HttpURLConnection httpConnection)) {
+                return connection.getInputStream();
+            }
+
+            httpConnection.setAuthenticator(this.authenticator);
+            try {
+                return httpConnection.getInputStream();
+            } catch (final IOException e) {
+                httpConnection.disconnect();
+                throw e;
+            }
+        }
     }
 }
@@ -27,6 +27,7 @@ import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import io.github.doriangrelu.keycloak.config.exception.KeycloakProviderException;
 import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties.HttpEngine;
 import io.github.doriangrelu.keycloak.config.util.ResteasyUtil;
 import io.github.doriangrelu.keycloak.config.util.VersionUtil;
 import jakarta.ws.rs.WebApplicationException;
@@ -34,6 +35,8 @@ import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Form;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.jboss.resteasy.client.jaxrs.ResteasyClient;
 import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.jboss.resteasy.client.jaxrs.internal.BasicAuthentication;
@@ -52,6 +55,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.MessageFormat;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
@@ -69,6 +73,7 @@ public class KeycloakProvider implements AutoCloseable {
 
     private Keycloak keycloak;
     private ResteasyClient resteasyClient;
+    private PoolingHttpClientConnectionManager connectionManager;
 
     private String version;
     private Boolean fgapV2Active;
@@ -76,14 +81,22 @@ public class KeycloakProvider implements AutoCloseable {
     @Autowired
     private KeycloakProvider(KeycloakConfigProperties properties) {
         this.properties = properties;
-        this.resteasyClientSupplier = () -> ResteasyUtil.getClient(
-                !this.properties.isSslVerify(),
-                this.properties.getHttpProxy(),
-                this.properties.getConnectTimeout(),
-                this.properties.getReadTimeout());
+        this.resteasyClientSupplier = () -> {
+            this.connectionManager = this.properties.getHttp().getEngine() == HttpEngine.APACHE
+                    ? ResteasyUtil.createConnectionManager(!this.properties.isSslVerify(), this.properties.getHttp())
+                    : null;
+
+            return ResteasyUtil.getClient(
+                    !this.properties.isSslVerify(),
+                    this.properties.getHttpProxy(),
+                    this.properties.getConnectTimeout(),
+                    this.properties.getReadTimeout(),
+                    this.properties.getHttp(),
+                    this.connectionManager);
+        };
     }
 
-    public Keycloak getInstance() {
+    public synchronized Keycloak getInstance() {
         if (keycloak == null || resteasyClient == null || keycloak.isClosed() || resteasyClient.isClosed()) {
             resteasyClient = resteasyClientSupplier.get();
             resteasyClient.register(JacksonProvider.class);
@@ -95,6 +108,17 @@ public class KeycloakProvider implements AutoCloseable {
         return keycloak;
     }
 
+    /**
+     * @return the leased, pending and available connections of the HTTP connection pool, if a client was created
+     */
+    public Optional<String> getConnectionPoolStatistics() {
+        if (connectionManager == null) return Optional.empty();
+
+        PoolStats stats = connectionManager.getTotalStats();
+        return Optional.of(String.format("leased=%d, pending=%d, available=%d, max=%d",
+                stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax()));
+    }
+
     public String getKeycloakVersion() {
         if (version == null) {
             if (properties.isSkipServerInfo()) {
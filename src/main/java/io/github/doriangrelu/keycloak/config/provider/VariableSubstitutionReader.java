@@ -0,0 +1,93 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.provider;
+
+import org.apache.commons.text.StringSubstitutor;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Applies variable substitution to the content of the underlying reader line by line, so only a single line
+ * has to be kept in memory. Variables spanning multiple lines are not substituted.
+ */
+class VariableSubstitutionReader extends Reader {
+    private final Reader in;
+    private final StringSubstitutor substitutor;
+
+    private final char[] chunk = new char[8192];
+    private int chunkPosition;
+    private int chunkLength;
+
+    private final StringBuilder line = new StringBuilder();
+    private String substitutedLine = "";
+    private int position;
+
+    VariableSubstitutionReader(Reader in, StringSubstitutor substitutor) {
+        this.in = in;
+        this.substitutor = substitutor;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        // a line may be substituted by an empty string, a read must not return 0 characters
+        while (position == substitutedLine.length()) {
+            if (!nextLine()) return -1;
+        }
+
+        int count = Math.min(length, substitutedLine.length() - position);
+        substitutedLine.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean nextLine() throws IOException {
+        line.setLength(0);
+
+        while (true) {
+            if (chunkPosition == chunkLength) {
+                chunkPosition = 0;
+                chunkLength = Math.max(in.read(chunk, 0, chunk.length), 0);
+                if (chunkLength == 0) break;
+            }
+
+            int start = chunkPosition;
+            while (chunkPosition < chunkLength && chunk[chunkPosition++] != '\n') {
+                // find the end of the line
+            }
+            line.append(chunk, start, chunkPosition - start);
+
+            if (chunk[chunkPosition - 1] == '\n') break;
+        }
+
+        if (line.isEmpty()) return false;
+
+        substitutedLine = substitutor.replace(line.toString());
+        position = 0;
+        return true;
+    }
+}
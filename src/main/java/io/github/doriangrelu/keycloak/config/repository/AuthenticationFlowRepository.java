@@ -22,6 +22,8 @@ package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.AuthenticationManagementResource;
@@ -68,7 +70,8 @@ public class AuthenticationFlowRepository {
         return realmExport.getAuthenticationFlows()
                 .stream()
                 .filter(flow -> Objects.equals(flow.getAlias(), alias))
-                .findFirst();
+                .findFirst()
+                .map(CloneUtil::deepClone);
     }
 
     public AuthenticationFlowRepresentation getByAlias(String realmName, String alias) {
@@ -97,6 +100,8 @@ public class AuthenticationFlowRepository {
             );
 
             throw new ImportProcessingException(errorMessage, error);
+        } finally {
+            invalidatePartialExports(realmName);
         }
     }
 
@@ -108,6 +113,8 @@ public class AuthenticationFlowRepository {
             String errorMessage = String.format("Cannot update top-level-flow '%s' in realm '%s'.", flow.getAlias(), realmName);
 
             throw new ImportProcessingException(errorMessage, error);
+        } finally {
+            invalidatePartialExports(realmName);
         }
     }
 
@@ -140,9 +147,19 @@ public class AuthenticationFlowRepository {
                     ),
                     e
             );
+        } finally {
+            invalidatePartialExports(realmName);
         }
     }
 
+    /**
+     * Drops the cached partial exports of the realm. Must be called after every write to flows, executions or
+     * authenticator configs.
+     */
+    public void invalidatePartialExports(String realmName) {
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.AUTHENTICATION);
+    }
+
     public AuthenticationManagementResource getFlowResources(String realmName) {
         logger.trace("Get flows-resource in realm '{}'...", realmName);
 
@@ -162,7 +179,10 @@ public class AuthenticationFlowRepository {
         RealmRepresentation realmExport = realmRepository
                 .partialExport(realmName, false, false);
 
-        return realmExport.getAuthenticationFlows();
+        return realmExport.getAuthenticationFlows()
+                .stream()
+                .map(CloneUtil::deepClone)
+                .toList();
     }
 
     public Optional<AuthenticationExecutionInfoRepresentation> searchSubFlow(
@@ -20,6 +20,7 @@
 
 package io.github.doriangrelu.keycloak.config.repository;
 
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import org.keycloak.admin.client.resource.AuthenticationManagementResource;
 import org.keycloak.representations.idm.AuthenticatorConfigRepresentation;
 import org.keycloak.representations.idm.RealmRepresentation;
@@ -50,12 +51,14 @@ public class AuthenticatorConfigRepository {
         return realmExport.getAuthenticatorConfig()
                 .stream()
                 .filter(flow -> Objects.equals(flow.getAlias(), alias))
+                .map(CloneUtil::deepClone)
                 .toList();
     }
 
     public void delete(String realmName, String id) {
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.removeAuthenticatorConfig(id);
+        authenticationFlowRepository.invalidatePartialExports(realmName);
     }
 
     public void create(
@@ -65,6 +68,7 @@ public class AuthenticatorConfigRepository {
     ) {
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.newExecutionConfig(executionId, authenticatorConfigRepresentation);
+        authenticationFlowRepository.invalidatePartialExports(realmName);
     }
 
     public void update(
@@ -73,10 +77,14 @@ public class AuthenticatorConfigRepository {
     ) {
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.updateAuthenticatorConfig(authenticatorConfigRepresentation.getId(), authenticatorConfigRepresentation);
+        authenticationFlowRepository.invalidatePartialExports(realmName);
     }
 
     public List<AuthenticatorConfigRepresentation> getAll(String realmName) {
         RealmRepresentation realmExport = realmRepository.partialExport(realmName, false, false);
-        return realmExport.getAuthenticatorConfig();
+        return realmExport.getAuthenticatorConfig()
+                .stream()
+                .map(CloneUtil::deepClone)
+                .toList();
     }
 }
@@ -79,6 +79,7 @@ public class ClientPoliciesRepository {
         }
 
         policiesResource.updatePolicies(newClientPolicies);
+        realmRepository.invalidate(realmImport.getRealm());
     }
 
     public void updateClientPoliciesProfiles(RealmImport realmImport, ClientProfilesRepresentation newClientProfiles) {
@@ -109,6 +110,7 @@ public class ClientPoliciesRepository {
         }
 
         profilesResource.updateProfiles(newClientProfiles);
+        realmRepository.invalidate(realmImport.getRealm());
     }
 
 }
@@ -22,6 +22,8 @@ package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
+import io.github.doriangrelu.keycloak.config.repository.cache.ClientCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.ClientResource;
@@ -55,14 +57,25 @@ public class ClientRepository {
     private static final int HTTP_NOT_IMPLEMENTED = 501;
 
     private final RealmRepository realmRepository;
+    private final ClientCache clientCache;
 
     @Autowired
-    public ClientRepository(RealmRepository realmRepository) {
+    public ClientRepository(RealmRepository realmRepository, ClientCache clientCache) {
         this.realmRepository = realmRepository;
+        this.clientCache = clientCache;
     }
 
+    /**
+     * Returns the client, served from the per-run {@link ClientCache} when it was already looked up.
+     */
     public Optional<ClientRepresentation> searchByClientId(String realmName, String clientId) {
-        List<ClientRepresentation> foundClients = getResource(realmName).findByClientId(Objects.requireNonNull(clientId));
+        Objects.requireNonNull(clientId);
+
+        return clientCache.getByClientId(realmName, clientId, () -> fetchByClientId(realmName, clientId));
+    }
+
+    private Optional<ClientRepresentation> fetchByClientId(String realmName, String clientId) {
+        List<ClientRepresentation> foundClients = getResource(realmName).findByClientId(clientId);
 
         Optional<ClientRepresentation> client;
         if (foundClients.isEmpty()) {
@@ -77,10 +90,8 @@ public class ClientRepository {
     public Optional<ClientRepresentation> searchByName(String realmName, String name) {
         Objects.requireNonNull(name);
 
-        // this is expensive, but easy to implement.
-        // if this too expensive, please provide a PR which implement a pagination for findAll()
-        Optional<ClientRepresentation> foundClients = realmRepository.getResource(realmName)
-                .partialExport(false, true)
+        // the partial export is shared with other lookups until a client is written
+        Optional<ClientRepresentation> foundClients = realmRepository.partialExport(realmName, false, true)
                 .getClients()
                 .stream()
                 .filter(client -> Objects.equals(name, client.getName()))
@@ -109,6 +120,11 @@ public class ClientRepository {
         return foundClients.get();
     }
 
+    public String getClientIdById(String realmName, String id) {
+        return clientCache.findClientId(realmName, id)
+                .orElseGet(() -> getResourceById(realmName, id).toRepresentation().getClientId());
+    }
+
     public ResourceServerRepresentation getAuthorizationConfigById(String realmName, String id) {
         return getResourceById(realmName, id).authorization().exportSettings();
     }
@@ -128,17 +144,28 @@ public class ClientRepository {
                     String.format("Cannot create client '%s' in realm '%s': %s", client.getClientId(), realmName, errorMessage),
                     error
             );
+        } finally {
+            clientCache.evict(realmName, client.getClientId(), null);
+            realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.CLIENTS);
         }
     }
 
     public void update(String realmName, ClientRepresentation client) {
         ClientResource clientResource = getResourceById(realmName, client.getId());
-        clientResource.update(client);
+        try {
+            clientResource.update(client);
+        } finally {
+            clientCache.evict(realmName, client.getClientId(), client.getId());
+            realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.CLIENTS);
+        }
     }
 
     public void remove(String realmName, ClientRepresentation client) {
         ClientResource clientResource = getResourceById(realmName, client.getId());
         clientResource.remove();
+        clientCache.evict(realmName, client.getClientId(), client.getId());
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.CLIENTS);
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
     }
 
     private ClientsResource getResource(String realmName) {
@@ -174,35 +201,67 @@ public class ClientRepository {
 
     public void updateAuthorizationSettings(String realmName, String id, ResourceServerRepresentation authorizationSettings) {
         ClientResource clientResource = getResourceById(realmName, id);
-        clientResource.authorization().update(authorizationSettings);
+        try {
+            clientResource.authorization().update(authorizationSettings);
+        } finally {
+            clientCache.evict(realmName, null, id);
+        }
+    }
+
+    /**
+     * Creates or updates all resources, scopes and policies of the representation by name with one request.
+     * Elements missing in the representation are kept.
+     */
+    public void importAuthorizationSettings(String realmName, String id, ResourceServerRepresentation authorizationSettings) {
+        ClientResource clientResource = getResourceById(realmName, id);
+        try {
+            clientResource.authorization().importSettings(authorizationSettings);
+        } finally {
+            clientCache.evict(realmName, null, id);
+        }
     }
 
-    public void createAuthorizationResource(String realmName, String id, ResourceRepresentation resource) {
+    /**
+     * @return the id of the created element
+     */
+    public String createAuthorizationResource(String realmName, String id, ResourceRepresentation resource) {
         ClientResource clientResource = getResourceById(realmName, id);
 
         try (Response response = clientResource.authorization().resources().create(resource)) {
-            CreatedResponseUtil.getCreatedId(response);
+            return CreatedResponseUtil.getCreatedId(response);
         } catch (WebApplicationException e) {
             handleAuthorizationApiException(e, clientResource, realmName);
+            return null;
         }
     }
 
+    /**
+     * Updates the resource with the id of the representation. The id is only searched by name if it is missing.
+     */
     public void updateAuthorizationResource(String realmName, String id, ResourceRepresentation resource) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String resourceId = getResourceId(clientResource, resource.getName());
+        String resourceId = getResourceId(realmName, id, clientResource, resource);
         clientResource.authorization().resources().resource(resourceId).update(resource);
     }
 
-    public void removeAuthorizationResource(String realmName, String id, String resourceName) {
+    /**
+     * Removes the resource with the id of the representation. The id is only searched by name if it is missing.
+     */
+    public void removeAuthorizationResource(String realmName, String id, ResourceRepresentation resource) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String resourceId = getResourceId(clientResource, resourceName);
+        String resourceId = getResourceId(realmName, id, clientResource, resource);
         if (resourceId != null) {
             clientResource.authorization().resources().resource(resourceId).remove();
         }
     }
 
-    private String getResourceId(ClientResource clientResource, String resourceName) {
-        String clientId = clientResource.toRepresentation().getClientId();
+    private String getResourceId(String realmName, String id, ClientResource clientResource, ResourceRepresentation resource) {
+        if (resource.getId() != null) return resource.getId();
+
+        return getResourceId(clientResource, getClientIdById(realmName, id), resource.getName());
+    }
+
+    private String getResourceId(ClientResource clientResource, String clientId, String resourceName) {
         // find it with name and owner(clientId)
         // Note: findByName is not exact filter the resource with the exact name
         return clientResource.authorization().resources().findByName(resourceName, clientId).stream()
@@ -217,64 +276,76 @@ public class ClientRepository {
                                 .orElse(null));
     }
 
-    public void addAuthorizationScope(String realmName, String id, ScopeRepresentation scope) {
+    /**
+     * @return the id of the created element
+     */
+    public String addAuthorizationScope(String realmName, String id, ScopeRepresentation scope) {
         ClientResource clientResource = getResourceById(realmName, id);
 
         try (Response response = clientResource.authorization().scopes().create(scope)) {
-            CreatedResponseUtil.getCreatedId(response);
+            return CreatedResponseUtil.getCreatedId(response);
         } catch (WebApplicationException e) {
             handleAuthorizationApiException(e, clientResource, realmName);
+            return null;
         }
     }
 
     public void updateAuthorizationScope(String realmName, String id, ScopeRepresentation scope) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String scopeId = getScopeId(clientResource, scope.getName());
+        String scopeId = getScopeId(clientResource, scope);
         clientResource.authorization().scopes().scope(scopeId).update(scope);
     }
 
-    public void removeAuthorizationScope(String realmName, String id, String scopeName) {
+    public void removeAuthorizationScope(String realmName, String id, ScopeRepresentation scope) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String scopeId = getScopeId(clientResource, scopeName);
+        String scopeId = getScopeId(clientResource, scope);
         if (scopeId != null) {
             clientResource.authorization().scopes().scope(scopeId).remove();
         }
     }
 
-    private String getScopeId(ClientResource clientResource, String scopeName) {
-        ScopeRepresentation scopeRepresentation = clientResource.authorization().scopes().findByName(scopeName);
+    private String getScopeId(ClientResource clientResource, ScopeRepresentation scope) {
+        if (scope.getId() != null) return scope.getId();
+
+        ScopeRepresentation scopeRepresentation = clientResource.authorization().scopes().findByName(scope.getName());
         if (scopeRepresentation != null) {
             return scopeRepresentation.getId();
         }
         return null;
     }
 
-    public void createAuthorizationPolicy(String realmName, String id, PolicyRepresentation policy) {
+    /**
+     * @return the id of the created element
+     */
+    public String createAuthorizationPolicy(String realmName, String id, PolicyRepresentation policy) {
         ClientResource clientResource = getResourceById(realmName, id);
 
         try (Response response = clientResource.authorization().policies().create(policy)) {
-            CreatedResponseUtil.getCreatedId(response);
+            return CreatedResponseUtil.getCreatedId(response);
         } catch (WebApplicationException e) {
             handleAuthorizationApiException(e, clientResource, realmName);
+            return null;
         }
     }
 
     public void updateAuthorizationPolicy(String realmName, String id, PolicyRepresentation policy) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String policyId = getPolicyId(clientResource, policy.getName());
+        String policyId = getPolicyId(clientResource, policy);
         clientResource.authorization().policies().policy(policyId).update(policy);
     }
 
-    public void removeAuthorizationPolicy(String realmName, String id, String policyName) {
+    public void removeAuthorizationPolicy(String realmName, String id, PolicyRepresentation policy) {
         ClientResource clientResource = getResourceById(realmName, id);
-        String policyId = getPolicyId(clientResource, policyName);
+        String policyId = getPolicyId(clientResource, policy);
         if (policyId != null) {
             clientResource.authorization().policies().policy(policyId).remove();
         }
     }
 
-    private String getPolicyId(ClientResource clientResource, String policyName) {
-        PolicyRepresentation policyRepresentation = clientResource.authorization().policies().findByName(policyName);
+    private String getPolicyId(ClientResource clientResource, PolicyRepresentation policy) {
+        if (policy.getId() != null) return policy.getId();
+
+        PolicyRepresentation policyRepresentation = clientResource.authorization().policies().findByName(policy.getName());
         if (policyRepresentation != null) {
             return policyRepresentation.getId();
         }
@@ -288,6 +359,7 @@ public class ClientRepository {
                 .getScopeMappings()
                 .clientLevel(clientLevelId)
                 .add(roles);
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
     }
 
     public void removeScopeMapping(String realmName, String clientId,
@@ -297,23 +369,32 @@ public class ClientRepository {
                 .getScopeMappings()
                 .clientLevel(clientLevelId)
                 .remove(roles);
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
     }
 
     public void addDefaultClientScopes(String realmName, String clientId,
                                        List<ClientScopeRepresentation> defaultClientScopes) {
         ClientResource clientResource = getResourceByClientId(realmName, clientId);
-        defaultClientScopes.stream()
-                .filter(Objects::nonNull)
-                .map(ClientScopeRepresentation::getId)
-                .forEach(clientResource::addDefaultClientScope);
+        try {
+            defaultClientScopes.stream()
+                    .filter(Objects::nonNull)
+                    .map(ClientScopeRepresentation::getId)
+                    .forEach(clientResource::addDefaultClientScope);
+        } finally {
+            clientCache.evict(realmName, clientId, null);
+        }
     }
 
     public void removeDefaultClientScopes(String realmName, String clientId,
                                           List<ClientScopeRepresentation> defaultClientScopes) {
         ClientResource clientResource = getResourceByClientId(realmName, clientId);
 
-        for (ClientScopeRepresentation defaultClientScope : defaultClientScopes) {
-            clientResource.removeDefaultClientScope(defaultClientScope.getId());
+        try {
+            for (ClientScopeRepresentation defaultClientScope : defaultClientScopes) {
+                clientResource.removeDefaultClientScope(defaultClientScope.getId());
+            }
+        } finally {
+            clientCache.evict(realmName, clientId, null);
         }
     }
 
@@ -321,8 +402,12 @@ public class ClientRepository {
                                         List<ClientScopeRepresentation> optionalClientScopes) {
         ClientResource clientResource = getResourceByClientId(realmName, clientId);
 
-        for (ClientScopeRepresentation optionalClientScope : optionalClientScopes) {
-            clientResource.addOptionalClientScope(optionalClientScope.getId());
+        try {
+            for (ClientScopeRepresentation optionalClientScope : optionalClientScopes) {
+                clientResource.addOptionalClientScope(optionalClientScope.getId());
+            }
+        } finally {
+            clientCache.evict(realmName, clientId, null);
         }
     }
 
@@ -330,8 +415,12 @@ public class ClientRepository {
                                            List<ClientScopeRepresentation> optionalClientScopes) {
         ClientResource clientResource = getResourceByClientId(realmName, clientId);
 
-        for (ClientScopeRepresentation optionalClientScope : optionalClientScopes) {
-            clientResource.removeOptionalClientScope(optionalClientScope.getId());
+        try {
+            for (ClientScopeRepresentation optionalClientScope : optionalClientScopes) {
+                clientResource.removeOptionalClientScope(optionalClientScope.getId());
+            }
+        } finally {
+            clientCache.evict(realmName, clientId, null);
         }
     }
 
@@ -21,6 +21,8 @@
 package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.ClientScopeResource;
@@ -45,10 +47,12 @@ import jakarta.ws.rs.core.Response;
 public class ClientScopeRepository {
 
     private final RealmRepository realmRepository;
+    private final NameIndexCache nameIndexCache;
 
     @Autowired
-    public ClientScopeRepository(RealmRepository realmRepository) {
+    public ClientScopeRepository(RealmRepository realmRepository, NameIndexCache nameIndexCache) {
         this.realmRepository = realmRepository;
+        this.nameIndexCache = nameIndexCache;
     }
 
     public List<ClientScopeRepresentation> getAll(String realmName) {
@@ -81,18 +85,23 @@ public class ClientScopeRepository {
 
     public void create(String realmName, ClientScopeRepresentation clientScope) {
         try (Response response = realmRepository.getResource(realmName).clientScopes().create(clientScope)) {
-            CreatedResponseUtil.getCreatedId(response);
+            String id = CreatedResponseUtil.getCreatedId(response);
+            nameIndexCache.put(NameIndexCache.Type.CLIENT_SCOPE, realmName, null, clientScope.getName(), id);
         }
     }
 
     public void delete(String realmName, String id) {
         ClientScopeResource clientScopeResource = getResourceById(realmName, id);
         clientScopeResource.remove();
+        nameIndexCache.remove(NameIndexCache.Type.CLIENT_SCOPE, realmName, null, id);
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
     }
 
     public void update(String realmName, ClientScopeRepresentation clientScope) {
         ClientScopeResource clientScopeResource = getResourceById(realmName, clientScope.getId());
         clientScopeResource.update(clientScope);
+        nameIndexCache.rename(NameIndexCache.Type.CLIENT_SCOPE, realmName, null, clientScope.getName(), clientScope.getId());
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
     }
 
     public void addProtocolMappers(String realmName, String clientScopeId, List<ProtocolMapperRepresentation> protocolMappers) {
@@ -144,15 +153,9 @@ public class ClientScopeRepository {
     }
 
     private ClientScopeResource getResourceByName(String realmName, String clientScopeName) {
-        Optional<ClientScopeRepresentation> maybeClientScope = searchByName(realmName, clientScopeName);
-
-        ClientScopeRepresentation existingClientScope = maybeClientScope.orElse(null);
-
-        if (existingClientScope == null) {
-            return null;
-        }
-
-        return getResourceById(realmName, existingClientScope.getId());
+        return searchIdByName(realmName, clientScopeName)
+                .map(id -> getResourceById(realmName, id))
+                .orElse(null);
     }
 
     private ClientScopeResource getResourceById(String realmName, String clientScopeId) {
@@ -160,12 +163,15 @@ public class ClientScopeRepository {
     }
 
     public Optional<ClientScopeRepresentation> searchByName(String realmName, String clientScopeName) {
-        ClientScopesResource clientScopeResource = realmRepository.getResource(realmName).clientScopes();
+        return searchIdByName(realmName, clientScopeName)
+                .map(id -> getById(realmName, id));
+    }
 
-        return clientScopeResource.findAll()
-                .stream()
-                .filter(s -> Objects.equals(s.getName(), clientScopeName))
-                .findFirst();
+    private Optional<String> searchIdByName(String realmName, String clientScopeName) {
+        return nameIndexCache.findId(
+                NameIndexCache.Type.CLIENT_SCOPE, realmName, null, clientScopeName,
+                () -> getAll(realmName), ClientScopeRepresentation::getName, ClientScopeRepresentation::getId
+        );
     }
 
     public List<ClientScopeRepresentation> getDefaultClientScopes(String realmName) {
@@ -0,0 +1,140 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository;
+
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact encoding of all state entities of a realm into one deflate-compressed, Base64 encoded value.
+ *
+ * <p>All strings, like client ids and role names, are stored once in a dictionary shared by all entities.
+ * The entities refer to them by index. Layout before compression:</p>
+ * <pre>
+ * version, dictionary size, dictionary strings...,
+ * entity count, (entity name, value count, (dictionary index + 1, 0 for null)...)...
+ * </pre>
+ */
+final class CompactStateFormat {
+    private static final int VERSION = 1;
+
+    private CompactStateFormat() {
+    }
+
+    static String encode(Map<String, List<String>> entities) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        entities.values().forEach(values -> values.forEach(value -> {
+            if (value != null) dictionary.putIfAbsent(value, dictionary.size());
+        }));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            writeVarInt(output, VERSION);
+
+            writeVarInt(output, dictionary.size());
+            for (String value : dictionary.keySet()) {
+                output.writeUTF(value);
+            }
+
+            writeVarInt(output, entities.size());
+            for (Map.Entry<String, List<String>> entity : entities.entrySet()) {
+                output.writeUTF(entity.getKey());
+                writeVarInt(output, entity.getValue().size());
+                for (String value : entity.getValue()) {
+                    writeVarInt(output, value == null ? 0 : dictionary.get(value) + 1);
+                }
+            }
+        } catch (IOException e) {
+            throw new ImportProcessingException(e);
+        } finally {
+            deflater.end();
+        }
+
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    static Map<String, List<String>> decode(String encoded) {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            int version = readVarInt(input);
+            if (version != VERSION) {
+                throw new ImportProcessingException("Unsupported remote state version: " + version);
+            }
+
+            int dictionarySize = readVarInt(input);
+            List<String> dictionary = new ArrayList<>(dictionarySize);
+            for (int index = 0; index < dictionarySize; index++) {
+                dictionary.add(input.readUTF());
+            }
+
+            int entityCount = readVarInt(input);
+            Map<String, List<String>> entities = new HashMap<>(entityCount * 2);
+            for (int entity = 0; entity < entityCount; entity++) {
+                String name = input.readUTF();
+                int valueCount = readVarInt(input);
+                List<String> values = new ArrayList<>(valueCount);
+                for (int index = 0; index < valueCount; index++) {
+                    int reference = readVarInt(input);
+                    values.add(reference == 0 ? null : dictionary.get(reference - 1));
+                }
+                entities.put(name, values);
+            }
+            return entities;
+        } catch (IOException e) {
+            throw new ImportProcessingException(e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new ImportProcessingException("Malformed remote state");
+    }
+}
@@ -91,6 +91,7 @@ public class ExecutionFlowRepository {
 
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.addExecutionFlow(topLevelFlowAlias, new HashMap<>(executionFlowData));
+        authenticationFlowRepository.invalidatePartialExports(realmName);
     }
 
     public void updateExecutionFlow(
@@ -103,6 +104,7 @@ public class ExecutionFlowRepository {
 
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.updateExecutions(flowAlias, executionFlowToUpdate);
+        authenticationFlowRepository.invalidatePartialExports(realmName);
     }
 
     public String createTopLevelFlowExecution(
@@ -128,6 +130,8 @@ public class ExecutionFlowRepository {
                     ),
                     error
             );
+        } finally {
+            authenticationFlowRepository.invalidatePartialExports(realmName);
         }
     }
 
@@ -141,6 +145,7 @@ public class ExecutionFlowRepository {
 
         AuthenticationManagementResource flowsResource = authenticationFlowRepository.getFlowResources(realmName);
         flowsResource.addExecution(subFlowAlias, new HashMap<>(executionData));
+        authenticationFlowRepository.invalidatePartialExports(realmName);
 
         logger.trace("Created flow-execution in realm '{}' and non-top-level-flow '{}'",
                 realmName, subFlowAlias);
@@ -21,6 +21,7 @@
 package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
 import jakarta.ws.rs.core.Response;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.GroupResource;
@@ -49,17 +50,20 @@ public class GroupRepository {
     private final RoleRepository roleRepository;
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
+    private final NameIndexCache nameIndexCache;
 
     @Autowired
     public GroupRepository(
             RealmRepository realmRepository,
             RoleRepository roleRepository,
             ClientRepository clientRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            NameIndexCache nameIndexCache) {
         this.realmRepository = realmRepository;
         this.roleRepository = roleRepository;
         this.clientRepository = clientRepository;
         this.userRepository = userRepository;
+        this.nameIndexCache = nameIndexCache;
     }
 
     public List<GroupRepresentation> getAll(String realmName) {
@@ -86,20 +90,19 @@ public class GroupRepository {
         return groups;
     }
 
+    /**
+     * Searches a top-level group by name.
+     */
     public Optional<GroupRepresentation> searchByName(String realmName, String groupName) {
-        GroupsResource groupsResource = realmRepository.getResource(realmName)
-                .groups();
-
-        return groupsResource.groups()
-                .stream()
-                .filter(g -> Objects.equals(g.getName(), groupName))
-                .findFirst();
+        return searchIdByName(realmName, groupName)
+                .map(id -> getGroupById(realmName, id));
     }
 
     public void createGroup(String realmName, GroupRepresentation group) {
         GroupsResource groupsResource = realmRepository.getResource(realmName).groups();
         try (Response response = groupsResource.add(group)) {
-            CreatedResponseUtil.getCreatedId(response);
+            String id = CreatedResponseUtil.getCreatedId(response);
+            nameIndexCache.put(NameIndexCache.Type.GROUP, realmName, null, group.getName(), id);
         }
     }
 
@@ -108,6 +111,11 @@ public class GroupRepository {
         try (Response response = groupResource.subGroup(subGroup)) {
             CreatedResponseUtil.getCreatedId(response);
         }
+
+        if (subGroup.getId() != null) {
+            // an existing group is moved below the parent and is not a top-level group anymore
+            nameIndexCache.remove(NameIndexCache.Type.GROUP, realmName, null, subGroup.getId());
+        }
     }
 
     public GroupRepresentation getSubGroupByName(String realmName, String parentGroupId, String name) {
@@ -124,25 +132,25 @@ public class GroupRepository {
     }
 
     public void addRealmRoles(String realmName, String groupId, List<String> roleNames) {
+        if (roleNames.isEmpty()) return;
+
         GroupResource groupResource = getResourceById(realmName, groupId);
         RoleMappingResource groupRoles = groupResource.roles();
         RoleScopeResource groupRealmRoles = groupRoles.realmLevel();
 
-        List<RoleRepresentation> existingRealmRoles = roleNames.stream()
-                .map(realmRole -> roleRepository.getRealmRole(realmName, realmRole))
-                .toList();
+        List<RoleRepresentation> existingRealmRoles = roleRepository.getRealmRolesByName(realmName, roleNames);
 
         groupRealmRoles.add(existingRealmRoles);
     }
 
     public void removeRealmRoles(String realmName, String groupId, List<String> roleNames) {
+        if (roleNames.isEmpty()) return;
+
         GroupResource groupResource = getResourceById(realmName, groupId);
         RoleMappingResource groupRoles = groupResource.roles();
         RoleScopeResource groupRealmRoles = groupRoles.realmLevel();
 
-        List<RoleRepresentation> existingRealmRoles = roleNames.stream()
-                .map(realmRole -> roleRepository.getRealmRole(realmName, realmRole))
-                .toList();
+        List<RoleRepresentation> existingRealmRoles = roleRepository.getRealmRolesByName(realmName, roleNames);
 
         groupRealmRoles.remove(existingRealmRoles);
     }
@@ -150,6 +158,7 @@ public class GroupRepository {
     public void deleteGroup(String realmName, String id) {
         GroupResource groupResource = getResourceById(realmName, id);
         groupResource.remove();
+        nameIndexCache.remove(NameIndexCache.Type.GROUP, realmName, null, id);
     }
 
     public void addGroupsToUser(String realmName, String username, List<GroupRepresentation> groups) {
@@ -167,6 +176,8 @@ public class GroupRepository {
     }
 
     public void addClientRoles(String realmName, String groupId, String clientId, List<String> roleNames) {
+        if (roleNames.isEmpty()) return;
+
         GroupResource groupResource = getResourceById(realmName, groupId);
         RoleMappingResource rolesResource = groupResource.roles();
 
@@ -178,6 +189,8 @@ public class GroupRepository {
     }
 
     public void removeClientRoles(String realmName, String groupId, String clientId, List<String> roleNames) {
+        if (roleNames.isEmpty()) return;
+
         GroupResource groupResource = getResourceById(realmName, groupId);
         RoleMappingResource rolesResource = groupResource.roles();
 
@@ -191,6 +204,7 @@ public class GroupRepository {
     public void update(String realmName, GroupRepresentation group) {
         GroupResource groupResource = getResourceById(realmName, group.getId());
         groupResource.update(group);
+        nameIndexCache.rename(NameIndexCache.Type.GROUP, realmName, null, group.getName(), group.getId());
     }
 
     public GroupRepresentation getGroupByName(String realmName, String groupName) {
@@ -225,15 +239,16 @@ public class GroupRepository {
     }
 
     private GroupResource getResourceByName(String realmName, String groupName) {
-        Optional<GroupRepresentation> maybeGroup = searchByName(realmName, groupName);
-
-        GroupRepresentation existingGroup = maybeGroup.orElse(null);
-
-        if (existingGroup == null) {
-            return null;
-        }
+        return searchIdByName(realmName, groupName)
+                .map(id -> getResourceById(realmName, id))
+                .orElse(null);
+    }
 
-        return getResourceById(realmName, existingGroup.getId());
+    private Optional<String> searchIdByName(String realmName, String groupName) {
+        return nameIndexCache.findId(
+                NameIndexCache.Type.GROUP, realmName, null, groupName,
+                () -> getAll(realmName), GroupRepresentation::getName, GroupRepresentation::getId
+        );
     }
 
     private GroupResource getResourceById(String realmName, String groupId) {
@@ -20,6 +20,7 @@
 
 package io.github.doriangrelu.keycloak.config.repository;
 
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.IdentityProviderResource;
 import org.keycloak.admin.client.resource.IdentityProvidersResource;
@@ -31,7 +32,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 import jakarta.ws.rs.core.Response;
@@ -42,24 +42,29 @@ public class IdentityProviderMapperRepository {
 
     private final RealmRepository realmRepository;
     private final IdentityProviderRepository identityProviderRepository;
+    private final NameIndexCache nameIndexCache;
 
     @Autowired
-    public IdentityProviderMapperRepository(RealmRepository realmRepository, IdentityProviderRepository identityProviderRepository) {
+    public IdentityProviderMapperRepository(
+            RealmRepository realmRepository,
+            IdentityProviderRepository identityProviderRepository,
+            NameIndexCache nameIndexCache
+    ) {
         this.realmRepository = realmRepository;
         this.identityProviderRepository = identityProviderRepository;
+        this.nameIndexCache = nameIndexCache;
     }
 
     public Optional<IdentityProviderMapperRepresentation> search(String realmName, String identityProviderAlias, String name) {
-        List<IdentityProviderMapperRepresentation> identityProviderMappers = realmRepository
-                .getResource(realmName).identityProviders().get(identityProviderAlias).getMappers();
+        IdentityProviderResource resource = realmRepository
+                .getResource(realmName).identityProviders().get(identityProviderAlias);
 
-        if (identityProviderMappers == null) {
-            return Optional.empty();
-        }
+        Optional<String> id = nameIndexCache.findId(
+                NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, realmName, identityProviderAlias, name,
+                resource::getMappers, IdentityProviderMapperRepresentation::getName, IdentityProviderMapperRepresentation::getId
+        );
 
-        return identityProviderMappers.stream()
-                .filter(m -> Objects.equals(m.getName(), name) && Objects.equals(m.getIdentityProviderAlias(), identityProviderAlias))
-                .findFirst();
+        return id.map(resource::getMapperById);
     }
 
     public IdentityProviderMapperRepresentation get(String realmName, String identityProviderAlias, String name) {
@@ -87,7 +92,11 @@ public class IdentityProviderMapperRepository {
                 .get(identityProviderMapper.getIdentityProviderAlias());
 
         try (Response response = resource.addMapper(identityProviderMapper)) {
-            CreatedResponseUtil.getCreatedId(response);
+            String id = CreatedResponseUtil.getCreatedId(response);
+            nameIndexCache.put(
+                    NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, realmName,
+                    identityProviderMapper.getIdentityProviderAlias(), identityProviderMapper.getName(), id
+            );
         }
     }
 
@@ -98,6 +107,12 @@ public class IdentityProviderMapperRepository {
         identityProvidersResource
                 .get(identityProviderMapperToUpdate.getIdentityProviderAlias())
                 .update(identityProviderMapperToUpdate.getId(), identityProviderMapperToUpdate);
+
+        nameIndexCache.rename(
+                NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, realmName,
+                identityProviderMapperToUpdate.getIdentityProviderAlias(),
+                identityProviderMapperToUpdate.getName(), identityProviderMapperToUpdate.getId()
+        );
     }
 
     public void delete(String realmName, IdentityProviderMapperRepresentation identityProviderMapperToDelete) {
@@ -109,5 +124,9 @@ public class IdentityProviderMapperRepository {
         identityProvidersResource
                 .get(identityProviderAlias)
                 .delete(identityProviderMapperToDelete.getId());
+
+        nameIndexCache.remove(
+                NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, realmName, identityProviderAlias, identityProviderMapperToDelete.getId()
+        );
     }
 }
@@ -21,6 +21,7 @@
 package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
 import io.github.doriangrelu.keycloak.config.resource.ManagementPermissions;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.IdentityProviderResource;
@@ -43,11 +44,17 @@ public class IdentityProviderRepository {
 
     private final RealmRepository realmRepository;
     private final KeycloakProvider keycloakProvider;
+    private final NameIndexCache nameIndexCache;
 
     @Autowired
-    public IdentityProviderRepository(RealmRepository realmRepository, KeycloakProvider keycloakProvider) {
+    public IdentityProviderRepository(
+            RealmRepository realmRepository,
+            KeycloakProvider keycloakProvider,
+            NameIndexCache nameIndexCache
+    ) {
         this.realmRepository = realmRepository;
         this.keycloakProvider = keycloakProvider;
+        this.nameIndexCache = nameIndexCache;
     }
 
     public Optional<IdentityProviderRepresentation> search(String realmName, String alias) {
@@ -97,6 +104,7 @@ public class IdentityProviderRepository {
                 .get(identityProviderToDelete.getInternalId());
 
         identityProviderResource.remove();
+        nameIndexCache.invalidate(NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, realmName, identityProviderToDelete.getAlias());
     }
 
     public boolean isPermissionEnabled(String realmName, String alias) {
@@ -25,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+
 @Service
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
 public class OtpPolicyRepository {
@@ -38,8 +40,10 @@ public class OtpPolicyRepository {
     public void updateOtpPolicy(String realmName, RealmRepresentation newRealmRepresentation) {
         RealmRepresentation existingRealm = realmRepository.get(realmName);
 
-        existingRealm.setOtpPolicyAlgorithm(newRealmRepresentation.getOtpPolicyAlgorithm());
+        // every realm update makes Keycloak re-persist the realm, skip it when the algorithm is already set
+        if (Objects.equals(existingRealm.getOtpPolicyAlgorithm(), newRealmRepresentation.getOtpPolicyAlgorithm())) return;
 
+        existingRealm.setOtpPolicyAlgorithm(newRealmRepresentation.getOtpPolicyAlgorithm());
 
         realmRepository.update(existingRealm);
     }
@@ -22,18 +22,30 @@ package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
 import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.cache.ClientCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.RealmRepresentationCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.RoleCatalogCache;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
 import org.apache.commons.lang3.ObjectUtils;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.RealmsResource;
 import org.keycloak.representations.idm.RealmRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
@@ -42,11 +54,31 @@ import jakarta.ws.rs.WebApplicationException;
 @Service
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
 public class RealmRepository {
+    private static final Logger logger = LoggerFactory.getLogger(RealmRepository.class);
+
     private final KeycloakProvider keycloakProvider;
+    private final RealmRepresentationCache realmRepresentationCache;
+    private final PartialExportCache partialExportCache;
+    private final NameIndexCache nameIndexCache;
+    private final ClientCache clientCache;
+    private final RoleCatalogCache roleCatalogCache;
+    private final Map<String, Map<String, Consumer<RealmRepresentation>>> pendingUpdates = new ConcurrentHashMap<>();
 
     @Autowired
-    public RealmRepository(KeycloakProvider keycloakProvider) {
+    public RealmRepository(
+            KeycloakProvider keycloakProvider,
+            RealmRepresentationCache realmRepresentationCache,
+            PartialExportCache partialExportCache,
+            NameIndexCache nameIndexCache,
+            ClientCache clientCache,
+            RoleCatalogCache roleCatalogCache
+    ) {
         this.keycloakProvider = keycloakProvider;
+        this.realmRepresentationCache = realmRepresentationCache;
+        this.partialExportCache = partialExportCache;
+        this.nameIndexCache = nameIndexCache;
+        this.clientCache = clientCache;
+        this.roleCatalogCache = roleCatalogCache;
     }
 
     public boolean exists(String realmName) {
@@ -63,7 +95,35 @@ public class RealmRepository {
         return keycloakProvider.getInstance().realms().realm(realmName);
     }
 
+    /**
+     * Returns the realm representation, served from the per-run {@link RealmRepresentationCache}
+     * when possible. The returned instance is always a private copy and may be modified by the caller.
+     */
     public RealmRepresentation get(String realmName) {
+        return realmRepresentationCache.get(realmName, this::fetch);
+    }
+
+    /**
+     * Drops the cached representation, partial exports, name indexes, clients and roles of the given realm. Must be
+     * called after every write which does not go through this repository but changes the realm representation.
+     */
+    public void invalidate(String realmName) {
+        realmRepresentationCache.invalidate(realmName);
+        partialExportCache.invalidate(realmName);
+        nameIndexCache.invalidate(realmName);
+        clientCache.invalidate(realmName);
+        roleCatalogCache.invalidate(realmName);
+    }
+
+    /**
+     * Drops the cached partial exports of the given realm which contain the section.
+     * Must be called after every write which changes the section.
+     */
+    public void invalidatePartialExports(String realmName, PartialExportCache.Section section) {
+        partialExportCache.invalidate(realmName, section);
+    }
+
+    private RealmRepresentation fetch(String realmName) {
         final var realm = getResource(realmName).toRepresentation();
         realm.setAttributes(ObjectUtils.firstNonNull(realm.getAttributes(), new HashMap<>()));
         realm.setEventsEnabled(ObjectUtils.firstNonNull(realm.isEventsEnabled(), false));
@@ -95,6 +155,8 @@ public class RealmRepository {
                     error
             );
         }
+
+        invalidate(realm.getRealm());
     }
 
     public void update(RealmRepresentation realm) {
@@ -121,27 +183,79 @@ public class RealmRepository {
                     String.format("Cannot update realm '%s': %s", realm.getRealm(), errorMessage),
                     error
             );
+        } finally {
+            invalidate(realm.getRealm());
+        }
+    }
+
+    /**
+     * Records a change of the realm representation without sending it. All pending changes of a realm are applied
+     * together by {@link #flushPendingUpdates(String)} on a fresh representation, with a single realm update.
+     * A change recorded under the same key as a pending one replaces it.
+     *
+     * <p>Only for changes which nothing reads back from Keycloak before the next flush, like the import state
+     * and checksum attributes.</p>
+     */
+    public void stageUpdate(String realmName, String key, Consumer<RealmRepresentation> change) {
+        pendingUpdates.compute(realmName, (name, changes) -> {
+            Map<String, Consumer<RealmRepresentation>> realmChanges = changes == null ? new LinkedHashMap<>() : changes;
+            realmChanges.put(key, change);
+            return realmChanges;
+        });
+    }
+
+    /**
+     * Applies the pending changes of the realm and sends them with one realm update. The update is skipped if
+     * the changes leave the realm representation unchanged.
+     */
+    public void flushPendingUpdates(String realmName) {
+        Map<String, Consumer<RealmRepresentation>> changes = pendingUpdates.remove(realmName);
+        if (changes == null || changes.isEmpty()) return;
+
+        RealmRepresentation existingRealm = get(realmName);
+        RealmRepresentation realm = get(realmName);
+        changes.values().forEach(change -> change.accept(realm));
+
+        if (CloneUtil.deepEquals(existingRealm, realm)) {
+            logger.debug("Skip update of realm '{}', pending changes {} are already applied", realmName, changes.keySet());
+            return;
         }
+
+        logger.debug("Update realm '{}' with pending changes {}", realmName, changes.keySet());
+        update(realm);
+    }
+
+    public void discardPendingUpdates(String realmName) {
+        pendingUpdates.remove(realmName);
     }
 
+    /**
+     * Returns a partial export of the realm, served from the per-run {@link PartialExportCache} when possible.
+     * The returned instance is shared and must not be modified by the caller.
+     */
     public RealmRepresentation partialExport(String realmName, boolean exportGroupsAndRoles, boolean exportClients) {
-        return getResource(realmName).partialExport(exportGroupsAndRoles, exportClients);
+        return partialExportCache.get(realmName, exportGroupsAndRoles, exportClients,
+                () -> getResource(realmName).partialExport(exportGroupsAndRoles, exportClients));
     }
 
     public void addDefaultDefaultClientScope(String realmName, String scopeId) {
         getResource(realmName).addDefaultDefaultClientScope(scopeId);
+        invalidate(realmName);
     }
 
     public void addDefaultOptionalClientScope(String realmName, String scopeId) {
         getResource(realmName).addDefaultOptionalClientScope(scopeId);
+        invalidate(realmName);
     }
 
     public void removeDefaultDefaultClientScope(String realmName, String scopeId) {
         getResource(realmName).removeDefaultDefaultClientScope(scopeId);
+        invalidate(realmName);
     }
 
     public void removeDefaultOptionalClientScope(String realmName, String scopeId) {
         getResource(realmName).removeDefaultOptionalClientScope(scopeId);
+        invalidate(realmName);
     }
 
     public List<RealmRepresentation> getRealms() {
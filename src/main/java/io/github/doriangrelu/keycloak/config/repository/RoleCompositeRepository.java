@@ -133,7 +133,8 @@ public class RoleCompositeRepository {
         addRealmComposites(
                 realmName,
                 realmComposites,
-                () -> loadRealmRole(realmName, roleName)
+                () -> loadRealmRole(realmName, roleName),
+                () -> roleRepository.invalidateRealmRoles(realmName)
         );
     }
 
@@ -146,7 +147,8 @@ public class RoleCompositeRepository {
         addRealmComposites(
                 realmName,
                 realmComposites,
-                () -> loadClientRole(realmName, roleClientId, roleName)
+                () -> loadClientRole(realmName, roleClientId, roleName),
+                () -> roleRepository.invalidateClientRoles(realmName, roleClientId)
         );
     }
 
@@ -161,7 +163,8 @@ public class RoleCompositeRepository {
                     realmName,
                     compositeClientId,
                     clientRoles,
-                    () -> loadRealmRole(realmName, roleName)
+                    () -> loadRealmRole(realmName, roleName),
+                    () -> roleRepository.invalidateRealmRoles(realmName)
             );
         } catch (KeycloakRepositoryException e) {
             throw new KeycloakRepositoryException(
@@ -182,7 +185,8 @@ public class RoleCompositeRepository {
                     realmName,
                     compositeClientId,
                     clientComposites,
-                    () -> loadClientRole(realmName, roleClientId, roleName)
+                    () -> loadClientRole(realmName, roleClientId, roleName),
+                    () -> roleRepository.invalidateClientRoles(realmName, roleClientId)
             );
         } catch (KeycloakRepositoryException e) {
             throw new KeycloakRepositoryException(
@@ -199,7 +203,8 @@ public class RoleCompositeRepository {
         removeRealmComposites(
                 realmName,
                 realmComposites,
-                () -> loadRealmRole(realmName, roleName)
+                () -> loadRealmRole(realmName, roleName),
+                () -> roleRepository.invalidateRealmRoles(realmName)
         );
     }
 
@@ -212,7 +217,8 @@ public class RoleCompositeRepository {
         removeRealmComposites(
                 realmName,
                 realmComposites,
-                () -> loadClientRole(realmName, roleClientId, roleName)
+                () -> loadClientRole(realmName, roleClientId, roleName),
+                () -> roleRepository.invalidateClientRoles(realmName, roleClientId)
         );
     }
 
@@ -224,7 +230,8 @@ public class RoleCompositeRepository {
         removeClientComposites(
                 realmName,
                 clientCompositesToRemove,
-                () -> loadRealmRole(realmName, roleName)
+                () -> loadRealmRole(realmName, roleName),
+                () -> roleRepository.invalidateRealmRoles(realmName)
         );
     }
 
@@ -238,7 +245,8 @@ public class RoleCompositeRepository {
                 realmName,
                 compositeClientId,
                 clientRoleNames,
-                () -> loadRealmRole(realmName, roleName)
+                () -> loadRealmRole(realmName, roleName),
+                () -> roleRepository.invalidateRealmRoles(realmName)
         );
     }
 
@@ -251,7 +259,8 @@ public class RoleCompositeRepository {
         removeClientComposites(
                 realmName,
                 clientCompositesToRemove,
-                () -> loadClientRole(realmName, roleClientId, roleName)
+                () -> loadClientRole(realmName, roleClientId, roleName),
+                () -> roleRepository.invalidateClientRoles(realmName, roleClientId)
         );
     }
 
@@ -266,29 +275,34 @@ public class RoleCompositeRepository {
                 realmName,
                 compositeClientId,
                 clientRoleNames,
-                () -> loadClientRole(realmName, roleClientId, roleName)
+                () -> loadClientRole(realmName, roleClientId, roleName),
+                () -> roleRepository.invalidateClientRoles(realmName, roleClientId)
         );
     }
 
     private void addRealmComposites(
             String realmName,
             Set<String> realmComposites,
-            Supplier<RoleResource> roleSupplier
+            Supplier<RoleResource> roleSupplier,
+            Runnable invalidateRoles
     ) {
         RoleResource roleResource = roleSupplier.get();
 
-        List<RoleRepresentation> realmRoles = realmComposites.stream()
-                .map(realmRoleName -> roleRepository.getRealmRole(realmName, realmRoleName))
-                .toList();
+        List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, realmComposites);
 
-        roleResource.addComposites(realmRoles);
+        try {
+            roleResource.addComposites(realmRoles);
+        } finally {
+            invalidateRoles.run();
+        }
     }
 
     private void addClientComposites(
             String realmName,
             String compositeClientId,
             Collection<String> clientRoles,
-            Supplier<RoleResource> roleSupplier
+            Supplier<RoleResource> roleSupplier,
+            Runnable invalidateRoles
     ) throws KeycloakRepositoryException {
         RoleResource roleResource = roleSupplier.get();
 
@@ -304,39 +318,52 @@ public class RoleCompositeRepository {
                 })
                 .toList();
 
-        roleResource.addComposites(realmRoles);
+        try {
+            roleResource.addComposites(realmRoles);
+        } finally {
+            invalidateRoles.run();
+        }
     }
 
     private void removeRealmComposites(
             String realmName,
             Set<String> realmComposites,
-            Supplier<RoleResource> roleSupplier
+            Supplier<RoleResource> roleSupplier,
+            Runnable invalidateRoles
     ) {
         RoleResource roleResource = roleSupplier.get();
 
-        List<RoleRepresentation> realmRoles = realmComposites.stream()
-                .map(realmRoleName -> roleRepository.getRealmRole(realmName, realmRoleName))
-                .toList();
+        List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, realmComposites);
 
-        roleResource.deleteComposites(realmRoles);
+        try {
+            roleResource.deleteComposites(realmRoles);
+        } finally {
+            invalidateRoles.run();
+        }
     }
 
     private void removeClientComposites(
             String realmName,
             Map<String, List<String>> clientCompositesToRemove,
-            Supplier<RoleResource> roleSupplier
+            Supplier<RoleResource> roleSupplier,
+            Runnable invalidateRoles
     ) {
         RoleResource roleResource = roleSupplier.get();
         List<RoleRepresentation> clientRolesToRemove = findAllClientRoles(realmName, clientCompositesToRemove);
 
-        roleResource.deleteComposites(clientRolesToRemove);
+        try {
+            roleResource.deleteComposites(clientRolesToRemove);
+        } finally {
+            invalidateRoles.run();
+        }
     }
 
     private void removeClientComposites(
             String realmName,
             String compositeClientId,
             Collection<String> clientRoleNames,
-            Supplier<RoleResource> roleSupplier
+            Supplier<RoleResource> roleSupplier,
+            Runnable invalidateRoles
     ) {
         RoleResource roleResource = roleSupplier.get();
 
@@ -344,7 +371,11 @@ public class RoleCompositeRepository {
                 .map(clientRoleName -> roleRepository.getClientRole(realmName, compositeClientId, clientRoleName))
                 .toList();
 
-        roleResource.deleteComposites(clientRoles);
+        try {
+            roleResource.deleteComposites(clientRoles);
+        } finally {
+            invalidateRoles.run();
+        }
     }
 
     private MultivaluedHashMap<String, RoleRepresentation> findClientComposites(
@@ -23,10 +23,14 @@ package io.github.doriangrelu.keycloak.config.repository;
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
 import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.RoleCatalogCache;
 import io.github.doriangrelu.keycloak.config.resource.ManagementPermissions;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.KeycloakUtil;
+import io.github.doriangrelu.keycloak.config.util.RoleIndex;
 import jakarta.ws.rs.NotFoundException;
-import org.keycloak.admin.client.resource.ClientResource;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.RoleResource;
 import org.keycloak.admin.client.resource.RoleScopeResource;
@@ -48,10 +52,12 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -64,17 +70,23 @@ public class RoleRepository {
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
     private final KeycloakProvider keycloakProvider;
+    private final RoleCatalogCache roleCatalogCache;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     @Autowired
     public RoleRepository(
             final RealmRepository realmRepository,
             final ClientRepository clientRepository,
             final UserRepository userRepository,
-            final KeycloakProvider keycloakProvider) {
+            final KeycloakProvider keycloakProvider,
+            final RoleCatalogCache roleCatalogCache,
+            final ParallelImportExecutor parallelImportExecutor) {
         this.realmRepository = realmRepository;
         this.clientRepository = clientRepository;
         this.userRepository = userRepository;
         this.keycloakProvider = keycloakProvider;
+        this.roleCatalogCache = roleCatalogCache;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
 
@@ -102,6 +114,8 @@ public class RoleRepository {
                     "Cannot create realm role '%s' within realm '%s': %s",
                     role.getName(), realmName, e.getMessage()
             );
+        } finally {
+            this.roleCatalogCache.invalidateRealmRoles(realmName);
         }
     }
 
@@ -111,6 +125,7 @@ public class RoleRepository {
                 .get(roleToUpdate.getName());
 
         roleResource.update(roleToUpdate);
+        this.roleCatalogCache.invalidateRealmRoles(realmName);
     }
 
     public void deleteRealmRole(final String realmName, final RoleRepresentation roleToUpdate) {
@@ -119,11 +134,30 @@ public class RoleRepository {
             this.realmRepository.getResource(realmName)
                     .roles()
                     .deleteRole(roleToUpdate.getName());
+            this.roleCatalogCache.invalidateRealmRoles(realmName);
+            this.realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
         } else {
             log.debug("Keep role '{}' for realm '{}'", roleToUpdate.getName(), realmName);
         }
     }
 
+    /**
+     * Drops the realm roles from the per-run {@link RoleCatalogCache}. Must be called after every write which
+     * changes a realm role without going through this repository, like a change of its composites.
+     */
+    public void invalidateRealmRoles(final String realmName) {
+        this.roleCatalogCache.invalidateRealmRoles(realmName);
+    }
+
+    /**
+     * Drops the roles of the client from the per-run {@link RoleCatalogCache}. Must be called after every write
+     * which changes a client role without going through this repository, like a change of its composites.
+     */
+    public void invalidateClientRoles(final String realmName, final String clientId) {
+        final ClientRepresentation client = this.clientRepository.getByClientId(realmName, clientId);
+        this.roleCatalogCache.invalidateClientRoles(realmName, client.getId());
+    }
+
     public RoleRepresentation getRealmRole(final String realmName, final String roleName) {
         return this.searchRealmRole(realmName, roleName)
                 .orElseThrow(() -> new KeycloakRepositoryException(
@@ -131,71 +165,114 @@ public class RoleRepository {
                 ));
     }
 
+    /**
+     * Returns the realm roles from the per-run {@link RoleCatalogCache}. The list must not be modified.
+     */
     public List<RoleRepresentation> getRealmRoles(final String realmName) {
-        return this.realmRepository.getResource(realmName)
-                .roles().list();
+        return this.getRealmRoleIndex(realmName).getRoles();
+    }
+
+    /**
+     * Returns the realm roles by name from the per-run {@link RoleCatalogCache}. The roles must not be modified.
+     */
+    public RoleIndex getRealmRoleIndex(final String realmName) {
+        return this.roleCatalogCache.getRealmRoles(realmName, () -> this.realmRepository.getResource(realmName)
+                .roles().list());
     }
 
     public List<RoleRepresentation> getRealmRolesByName(final String realmName, final Collection<String> roles) {
-        return roles.stream()
-                .map(role -> this.getRealmRole(realmName, role))
-                .toList();
+        if (roles.isEmpty()) return new ArrayList<>();
+
+        return resolveRolesByName(
+                this.getRealmRoleIndex(realmName),
+                roles,
+                roleName -> new KeycloakRepositoryException(
+                        "Cannot find realm role '%s' within realm '%s'", roleName, realmName
+                )
+        );
     }
 
+    /**
+     * Returns a copy of the client role from the per-run {@link RoleCatalogCache}, so it may be modified by the caller.
+     */
     public final RoleRepresentation getClientRole(final String realmName, final String clientId, final String roleName) {
         final ClientRepresentation client = this.clientRepository.getByClientId(realmName, clientId);
-        final RealmResource realmResource = this.realmRepository.getResource(realmName);
 
-        final List<RoleRepresentation> clientRoles = realmResource.clients()
-                .get(client.getId())
-                .roles()
-                .list();
-
-        return clientRoles.stream()
-                .filter(r -> Objects.equals(r.getName(), roleName))
-                .findFirst()
+        return this.getClientRoleIndexById(realmName, client.getId())
+                .find(roleName)
+                .map(CloneUtil::deepClone)
                 .orElse(null);
     }
 
+    /**
+     * Returns the roles of every client by clientId. The lists must not be modified.
+     */
     public Map<String, List<RoleRepresentation>> getClientRoles(final String realmName) {
-        return this.realmRepository.getResource(realmName).clients().findAll().stream()
-                .collect(Collectors.toMap(
-                        ClientRepresentation::getClientId,
-                        client -> this.realmRepository.getResource(realmName).clients()
-                                .get(client.getId()).roles().list()
-                ));
+        final Map<String, List<RoleRepresentation>> clientRoles = new HashMap<>();
+        this.getClientRoleIndexes(realmName).forEach((clientId, roles) -> clientRoles.put(clientId, roles.getRoles()));
+
+        return clientRoles;
+    }
+
+    /**
+     * Returns the roles by name of every client by clientId. The roles of clients which are not yet in the per-run
+     * {@link RoleCatalogCache} are listed concurrently, bounded by {@code import.parallel-max-concurrency}.
+     * The roles must not be modified.
+     */
+    public Map<String, RoleIndex> getClientRoleIndexes(final String realmName) {
+        final List<ClientRepresentation> clients = this.realmRepository.getResource(realmName).clients().findAll();
+        final Map<String, RoleIndex> clientRoles = new ConcurrentHashMap<>();
+
+        this.parallelImportExecutor.forEach(clients, client -> clientRoles.put(
+                client.getClientId(), this.getClientRoleIndexById(realmName, client.getId())
+        ));
+
+        return clientRoles;
+    }
+
+    private RoleIndex getClientRoleIndexById(final String realmName, final String clientUuid) {
+        return this.roleCatalogCache.getClientRoles(realmName, clientUuid, () -> this.realmRepository.getResource(realmName)
+                .clients()
+                .get(clientUuid)
+                .roles()
+                .list());
     }
 
     public List<RoleRepresentation> getClientRolesByName(final String realmName, final String clientId, final List<String> roleNames) {
-        final ClientResource clientResource = this.clientRepository.getResourceByClientId(realmName, clientId);
+        if (roleNames.isEmpty()) return new ArrayList<>();
 
-        final List<RoleRepresentation> roles = new ArrayList<>();
+        final ClientRepresentation client = this.clientRepository.getByClientId(realmName, clientId);
 
-        for (final String roleName : roleNames) {
-            try {
-                roles.add(clientResource.roles().get(roleName).toRepresentation());
-            } catch (final NotFoundException e) {
-                throw new KeycloakRepositoryException(
+        return resolveRolesByName(
+                this.getClientRoleIndexById(realmName, client.getId()),
+                roleNames,
+                roleName -> new KeycloakRepositoryException(
                         "Cannot find client role '%s' for client '%s' within realm '%s'",
                         roleName, clientId, realmName
-                );
-            }
-        }
-
-        return roles;
+                )
+        );
     }
 
     public void createClientRole(final String realmName, final String clientId, final RoleRepresentation role) {
-        final RolesResource rolesResource = this.clientRepository.getResourceByClientId(realmName, clientId).roles();
-        rolesResource.create(role);
+        final ClientRepresentation client = this.clientRepository.getByClientId(realmName, clientId);
+        final RolesResource rolesResource = this.clientRepository.getResourceById(realmName, client.getId()).roles();
+        try {
+            rolesResource.create(role);
+        } finally {
+            this.roleCatalogCache.invalidateClientRoles(realmName, client.getId());
+        }
 
         // KEYCLOAK-16082
         this.updateClientRole(realmName, clientId, role);
     }
 
     public void updateClientRole(final String realmName, final String clientId, final RoleRepresentation role) {
-        final RoleResource roleResource = this.loadClientRole(realmName, clientId, role.getName());
+        final ClientRepresentation client = this.clientRepository.getByClientId(realmName, clientId);
+        final RoleResource roleResource = this.clientRepository.getResourceById(realmName, client.getId())
+                .roles()
+                .get(role.getName());
         roleResource.update(role);
+        this.roleCatalogCache.invalidateClientRoles(realmName, client.getId());
     }
 
     public void deleteClientRole(final String realmName, final String clientId, final RoleRepresentation role) {
@@ -209,28 +286,21 @@ public class RoleRepository {
                     .get(client.getId())
                     .roles()
                     .deleteRole(role.getName());
+            this.roleCatalogCache.invalidateClientRoles(realmName, client.getId());
+            this.realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
         } else {
             log.debug("Keep client role '{}' for client '{}' within realm '{}' (protectedClient={}, protectedResource={})", role.getName(), clientId, realmName, doesProtectedClient, doesProtectedResource);
         }
     }
 
     public List<RoleRepresentation> searchRealmRoles(final String realmName, final List<String> roleNames) {
-        final List<RoleRepresentation> roles = new ArrayList<>();
-        final RealmResource realmResource = this.realmRepository.getResource(realmName);
-
-        for (final String roleName : roleNames) {
-            try {
-                final RoleRepresentation role = realmResource.roles().get(roleName).toRepresentation();
-
-                roles.add(role);
-            } catch (final NotFoundException e) {
-                throw new ImportProcessingException(
+        return resolveRolesByName(
+                this.getRealmRoleIndex(realmName),
+                roleNames,
+                roleName -> new ImportProcessingException(
                         String.format("Could not find role '%s' in realm '%s'!", roleName, realmName)
-                );
-            }
-        }
-
-        return roles;
+                )
+        );
     }
 
     public List<String> getUserRealmLevelRoles(final String realmName, final String username) {
@@ -303,6 +373,22 @@ public class RoleRepository {
         permissions.setRealmRolePermissions(realmName, id, new ManagementPermissionRepresentation(true));
     }
 
+    /**
+     * Picks the roles for a mapping call from the listed roles of a realm or client, in the order of the names.
+     */
+    private static List<RoleRepresentation> resolveRolesByName(
+            final RoleIndex availableRoles,
+            final Collection<String> roleNames,
+            final Function<String, RuntimeException> notFound
+    ) {
+        final List<RoleRepresentation> roles = new ArrayList<>(roleNames.size());
+        for (final String roleName : roleNames) {
+            roles.add(availableRoles.find(roleName).orElseThrow(() -> notFound.apply(roleName)));
+        }
+
+        return roles;
+    }
+
     private List<String> toRoleNameList(@Nullable final Collection<? extends RoleRepresentation> roles) {
         if (roles == null) {
             return Collections.emptyList();
@@ -21,6 +21,7 @@
 package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
 import org.keycloak.admin.client.resource.*;
 import org.keycloak.representations.idm.ClientScopeRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
@@ -59,6 +60,7 @@ public class ScopeMappingRepository {
 
         List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, roles);
         roleScopeResource.add(realmRoles);
+        invalidatePartialExports(realmName);
     }
 
     public void addScopeMappingRolesForClientScope(String realmName, String clientScopeName, Collection<String> roles) {
@@ -66,6 +68,7 @@ public class ScopeMappingRepository {
 
         List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, roles);
         roleScopeResource.add(realmRoles);
+        invalidatePartialExports(realmName);
     }
 
     public void addScopeMappingClientRolesForClientScope(String realmName, String clientScopeName, String clientUuid,
@@ -73,16 +76,16 @@ public class ScopeMappingRepository {
         final RoleScopeResource roleScopeResource = loadClientScope(realmName, clientScopeName, clientUuid);
 
         roleScopeResource.add(roles);
+        invalidatePartialExports(realmName);
     }
 
     public void removeScopeMappingRolesForClient(String realmName, String clientId, Collection<String> roles) {
         RoleMappingResource scopeMappingsResource = clientRepository.getResourceByClientId(realmName, clientId).getScopeMappings();
 
-        List<RoleRepresentation> realmRoles = roles.stream()
-                .map(role -> roleRepository.getRealmRole(realmName, role))
-                .toList();
+        List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, roles);
 
         scopeMappingsResource.realmLevel().remove(realmRoles);
+        invalidatePartialExports(realmName);
     }
 
     public void removeScopeMappingRolesForClientScope(String realmName, String clientScopeName, Collection<String> roles) {
@@ -90,6 +93,7 @@ public class ScopeMappingRepository {
 
         List<RoleRepresentation> realmRoles = roleRepository.getRealmRolesByName(realmName, roles);
         roleScopeResource.remove(realmRoles);
+        invalidatePartialExports(realmName);
     }
 
     public void removeScopeMappingClientRolesForClientScope(String realmName, String clientScopeName, String clientUuid,
@@ -97,6 +101,7 @@ public class ScopeMappingRepository {
         final RoleScopeResource roleScopeResource = loadClientScope(realmName, clientScopeName, clientUuid);
 
         roleScopeResource.remove(roles);
+        invalidatePartialExports(realmName);
     }
 
 
@@ -111,6 +116,10 @@ public class ScopeMappingRepository {
         }
     }
 
+    private void invalidatePartialExports(String realmName) {
+        realmRepository.invalidatePartialExports(realmName, PartialExportCache.Section.SCOPE_MAPPINGS);
+    }
+
     private RoleScopeResource loadClientScope(String realmName, String clientScopeName, String clientUuid) {
         return getRoleMappingResource(realmName, clientScopeName)
                 .clientLevel(clientUuid);
@@ -22,6 +22,7 @@ package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties.StateFormat;
 import io.github.doriangrelu.keycloak.config.util.CryptoUtil;
 import org.keycloak.representations.idm.RealmRepresentation;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -30,8 +31,15 @@ import org.springframework.stereotype.Component;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.github.doriangrelu.keycloak.config.util.JsonUtil.fromJson;
 import static io.github.doriangrelu.keycloak.config.util.JsonUtil.toJson;
@@ -40,11 +48,14 @@ import static io.github.doriangrelu.keycloak.config.util.JsonUtil.toJson;
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
 public class StateRepository {
     private static final int MAX_ATTRIBUTE_LENGTH = 250;
+    private static final String CHUNK_SEPARATOR = "-";
+    private static final String STATE_ATTRIBUTE_PREFIX = ImportConfigProperties.REALM_STATE_ATTRIBUTE_COMMON_PREFIX + ".state-";
 
     private final RealmRepository realmRepository;
     private final ImportConfigProperties importConfigProperties;
 
-    private Map<String, String> customAttributes;
+    // keyed by realm name, so realms imported concurrently do not share their state
+    private final Map<String, RealmState> realmStates = new ConcurrentHashMap<>();
 
     public StateRepository(RealmRepository realmRepository, ImportConfigProperties importConfigProperties) {
         this.realmRepository = realmRepository;
@@ -67,7 +78,7 @@ public class StateRepository {
     }
 
     public void loadCustomAttributes(String realmName) {
-        customAttributes = retrieveCustomAttributes(realmName);
+        realmStates.put(realmName, new RealmState(retrieveCustomAttributes(realmName)));
     }
 
     /**
@@ -78,7 +89,9 @@ public class StateRepository {
      * @param realmForUpdating the {@link RealmRepresentation} instance which will be synchronized with the Keycloak
      */
     public void loadCustomAttributes(RealmRepresentation realmForUpdating) {
-        loadCustomAttributes(realmForUpdating.getRealm());
+        String realmName = realmForUpdating.getRealm();
+        loadCustomAttributes(realmName);
+        Map<String, String> realmAttributes = realmStates.get(realmName).attributes;
 
         Map<String, String> attributes = realmForUpdating.getAttributes();
 
@@ -91,9 +104,9 @@ public class StateRepository {
         attributes.entrySet()
                 .stream()
                 .filter(e -> !isStateAttribute(e))
-                .forEach(e -> customAttributes.put(e.getKey(), e.getValue()));
+                .forEach(e -> realmAttributes.put(e.getKey(), e.getValue()));
 
-        customAttributes.entrySet()
+        realmAttributes.entrySet()
                 .stream()
                 .filter(this::isStateAttribute)
                 .forEach(e -> attributes.put(e.getKey(), e.getValue()));
@@ -103,42 +116,21 @@ public class StateRepository {
         return e.getKey().startsWith(ImportConfigProperties.REALM_STATE_ATTRIBUTE_COMMON_PREFIX);
     }
 
-    public List<String> getState(String entity) {
-        List<String> stateValues = new ArrayList<>();
-
-        long attributeCount = customAttributes
-                .entrySet()
-                .stream()
-                .filter(attribute -> attribute.getKey().matches(String.format("^%s-\\d+$", getCustomAttributeKey(entity))))
-                .count();
-
-        for (int index = 0; index < attributeCount; index++) {
-            stateValues.add(customAttributes.get(getCustomAttributeKey(entity) + "-" + index));
-        }
-
-        if (stateValues.isEmpty()) {
+    public List<String> getState(String realmName, String entity) {
+        RealmState realmState = realmStates.get(realmName);
+        if (realmState == null) {
             return Collections.emptyList();
         }
 
-        String state = String.join("", stateValues);
-
-        if (this.importConfigProperties.getRemoteState().getEncryptionKey() != null) {
-            state = CryptoUtil.decrypt(
-                    state,
-                    this.importConfigProperties.getRemoteState().getEncryptionKey(),
-                    this.importConfigProperties.getRemoteState().getEncryptionSalt()
-            );
-        }
-
-        return fromJson(state);
+        return realmState.getValues(getCustomAttributeKey(entity));
     }
 
+    /**
+     * Stages the state of the realm, it is written with the next {@link RealmRepository#flushPendingUpdates(String)}.
+     */
     public void update(RealmImport realmImport) {
-        RealmRepresentation existingRealm = realmRepository.get(realmImport.getRealm());
-        Map<String, String> realmAttributes = existingRealm.getAttributes();
-        realmAttributes.putAll(customAttributes);
-
-        realmRepository.update(existingRealm);
+        RealmState realmState = realmStates.get(realmImport.getRealm());
+        realmRepository.stageUpdate(realmImport.getRealm(), "state", realm -> realmState.writeTo(realm.getAttributes()));
     }
 
     private String getCustomAttributeKey(String entity) {
@@ -149,32 +141,219 @@ public class StateRepository {
         );
     }
 
+    private String getCompactAttributeKey() {
+        return MessageFormat.format(
+                ImportConfigProperties.REALM_COMPACT_STATE_ATTRIBUTE_PREFIX_KEY,
+                importConfigProperties.getCache().getKey()
+        );
+    }
+
     private Map<String, String> retrieveCustomAttributes(String realmName) {
         RealmRepresentation existingRealm = realmRepository.get(realmName);
-        return existingRealm.getAttributes();
+        return Objects.requireNonNullElseGet(existingRealm.getAttributes(), HashMap::new);
     }
 
-    public void setState(String entity, List<String> values) {
-        String valuesAsString = toJson(values);
+    public void setState(String realmName, String entity, List<String> values) {
+        realmStates.get(realmName).setValues(getCustomAttributeKey(entity), values);
+    }
+
+    private String decrypt(String value) {
+        if (this.importConfigProperties.getRemoteState().getEncryptionKey() == null) {
+            return value;
+        }
+
+        return CryptoUtil.decrypt(
+                value,
+                this.importConfigProperties.getRemoteState().getEncryptionKey(),
+                this.importConfigProperties.getRemoteState().getEncryptionSalt()
+        );
+    }
 
-        if (this.importConfigProperties.getRemoteState().getEncryptionKey() != null) {
-            valuesAsString = CryptoUtil.encrypt(
-                    valuesAsString,
-                    this.importConfigProperties.getRemoteState().getEncryptionKey(),
-                    this.importConfigProperties.getRemoteState().getEncryptionSalt()
-            );
+    private String encrypt(String value) {
+        if (this.importConfigProperties.getRemoteState().getEncryptionKey() == null) {
+            return value;
         }
 
-        List<String> valueList = splitEqually(valuesAsString);
+        return CryptoUtil.encrypt(
+                value,
+                this.importConfigProperties.getRemoteState().getEncryptionKey(),
+                this.importConfigProperties.getRemoteState().getEncryptionSalt()
+        );
+    }
+
+    /**
+     * The custom attributes of a realm, with the state values indexed by their attribute key without chunk number.
+     *
+     * <p>The index is built once when the attributes are loaded. Values are decoded on first read and kept for
+     * the run. State changes are only kept in memory and encoded into the attributes by {@link #writeTo}.</p>
+     *
+     * <p>Both state formats are read. With the {@link StateFormat#COMPACT compact} format, all entities of the
+     * cache key are stored together by {@link CompactStateFormat}, and the entities still stored in the JSON
+     * format are migrated on the next write. Switching back to {@link StateFormat#JSON} migrates them back.</p>
+     */
+    private final class RealmState {
+        private final Map<String, String> attributes;
+        private final String statePrefix = getCustomAttributeKey("");
+        private final String compactKey = getCompactAttributeKey();
+
+        // JSON format: encoded chunks by state key
+        private final Map<String, List<String>> chunks = new HashMap<>();
+        private final Map<String, Integer> writtenChunkCounts = new HashMap<>();
+
+        // compact format: encoded chunks of all entities, decoded on first read
+        private List<String> compactChunks = List.of();
+        private int writtenCompactChunkCount;
+        private final Set<String> compactKeys = new LinkedHashSet<>();
+        private boolean compactDecoded;
+
+        private final Map<String, List<String>> values = new HashMap<>();
+        private final Set<String> changedKeys = new LinkedHashSet<>();
+
+        private RealmState(Map<String, String> attributes) {
+            this.attributes = new HashMap<>(attributes);
+
+            Map<String, TreeMap<Integer, String>> numberedChunks = new HashMap<>();
+            attributes.forEach((name, value) -> {
+                if (!name.startsWith(STATE_ATTRIBUTE_PREFIX) && !name.startsWith(compactKey + CHUNK_SEPARATOR)) return;
+
+                int separatorIndex = name.lastIndexOf(CHUNK_SEPARATOR);
+                Integer chunkNumber = parseChunkNumber(name.substring(separatorIndex + 1));
+                if (chunkNumber == null) return;
+
+                numberedChunks.computeIfAbsent(name.substring(0, separatorIndex), key -> new TreeMap<>())
+                        .put(chunkNumber, value);
+            });
+
+            numberedChunks.forEach((key, numberedValues) -> {
+                // chunks are read from 0 on until the first gap, like they have been written
+                List<String> orderedValues = new ArrayList<>(numberedValues.size());
+                while (numberedValues.containsKey(orderedValues.size())) {
+                    orderedValues.add(numberedValues.get(orderedValues.size()));
+                }
+
+                if (key.equals(compactKey)) {
+                    compactChunks = orderedValues;
+                    writtenCompactChunkCount = numberedValues.lastKey() + 1;
+                } else {
+                    chunks.put(key, orderedValues);
+                    writtenChunkCounts.put(key, numberedValues.lastKey() + 1);
+                }
+            });
+        }
+
+        private synchronized List<String> getValues(String key) {
+            decodeCompactChunks();
+
+            List<String> cachedValues = values.get(key);
+            if (cachedValues != null) return cachedValues;
+
+            List<String> stateChunks = chunks.getOrDefault(key, List.of());
+            List<String> decodedValues = stateChunks.isEmpty()
+                    ? Collections.emptyList()
+                    : Collections.unmodifiableList(fromJson(decrypt(String.join("", stateChunks))));
+
+            values.put(key, decodedValues);
+            return decodedValues;
+        }
+
+        private synchronized void setValues(String key, List<String> newValues) {
+            values.put(key, Collections.unmodifiableList(new ArrayList<>(newValues)));
+            changedKeys.add(key);
+        }
+
+        /**
+         * Encodes the changed state values into the stored attributes and into the given realm attributes,
+         * removing chunks left over from longer previous values or from the other format.
+         */
+        private synchronized void writeTo(Map<String, String> realmAttributes) {
+            if (importConfigProperties.getRemoteState().getFormat() == StateFormat.COMPACT) {
+                writeCompactTo(realmAttributes);
+            } else {
+                writeJsonTo(realmAttributes);
+            }
+            changedKeys.clear();
+
+            realmAttributes.putAll(attributes);
+        }
+
+        private void writeJsonTo(Map<String, String> realmAttributes) {
+            if (!compactChunks.isEmpty()) {
+                decodeCompactChunks();
+                changedKeys.addAll(compactKeys);
+                compactKeys.clear();
+                compactChunks = List.of();
+            }
+            writtenCompactChunkCount = writeChunks(realmAttributes, compactKey, List.of(), writtenCompactChunkCount);
+
+            for (String key : changedKeys) {
+                // split value into multiple attributes to avoid max length limit
+                List<String> keyChunks = splitEqually(encrypt(toJson(values.get(key))));
+                chunks.put(key, keyChunks);
+                writtenChunkCounts.put(key, writeChunks(realmAttributes, key, keyChunks, writtenChunkCounts.getOrDefault(key, 0)));
+            }
+        }
+
+        private void writeCompactTo(Map<String, String> realmAttributes) {
+            List<String> jsonKeys = chunks.keySet().stream()
+                    .filter(key -> key.startsWith(statePrefix))
+                    .toList();
+            if (changedKeys.isEmpty() && jsonKeys.isEmpty()) return;
+
+            decodeCompactChunks();
+
+            Map<String, List<String>> entities = new LinkedHashMap<>();
+            Set<String> keys = new LinkedHashSet<>(compactKeys);
+            keys.addAll(jsonKeys);
+            keys.addAll(changedKeys);
+            for (String key : keys) {
+                entities.put(key.substring(statePrefix.length()), getValues(key));
+            }
+
+            for (String key : jsonKeys) {
+                chunks.remove(key);
+                writeChunks(realmAttributes, key, List.of(), writtenChunkCounts.getOrDefault(key, 0));
+                writtenChunkCounts.remove(key);
+            }
+
+            compactKeys.addAll(keys);
+            compactChunks = splitEqually(encrypt(CompactStateFormat.encode(entities)));
+            writtenCompactChunkCount = writeChunks(realmAttributes, compactKey, compactChunks, writtenCompactChunkCount);
+        }
+
+        private void decodeCompactChunks() {
+            if (compactDecoded || compactChunks.isEmpty()) return;
+
+            CompactStateFormat.decode(decrypt(String.join("", compactChunks))).forEach((entity, entityValues) -> {
+                String key = statePrefix + entity;
+                compactKeys.add(key);
+                // values set during this run take precedence
+                values.putIfAbsent(key, Collections.unmodifiableList(entityValues));
+            });
+            compactDecoded = true;
+        }
+
+        /**
+         * @return the number of chunks written
+         */
+        private int writeChunks(Map<String, String> realmAttributes, String key, List<String> keyChunks, int writtenChunkCount) {
+            for (int index = keyChunks.size(); index < writtenChunkCount; index++) {
+                attributes.remove(key + CHUNK_SEPARATOR + index);
+                realmAttributes.remove(key + CHUNK_SEPARATOR + index);
+            }
+            for (int index = 0; index < keyChunks.size(); index++) {
+                attributes.put(key + CHUNK_SEPARATOR + index, keyChunks.get(index));
+            }
+            return keyChunks.size();
+        }
 
-        customAttributes.entrySet()
-                .removeIf(attribute -> attribute.getKey().startsWith(getCustomAttributeKey(entity) + "-"));
+        private static Integer parseChunkNumber(String value) {
+            if (value.isEmpty() || value.length() > 9) return null;
 
-        // split value into multiple attributes to avoid max length limit
-        int index = 0;
-        for (String value : valueList) {
-            customAttributes.put(getCustomAttributeKey(entity) + "-" + index, value);
-            index++;
+            for (int index = 0; index < value.length(); index++) {
+                char digit = value.charAt(index);
+                if (digit < '0' || digit > '9') return null;
+            }
+            return Integer.valueOf(value);
         }
     }
 }
@@ -21,6 +21,9 @@
 package io.github.doriangrelu.keycloak.config.repository;
 
 import io.github.doriangrelu.keycloak.config.exception.KeycloakRepositoryException;
+import io.github.doriangrelu.keycloak.config.repository.cache.UserIndexCache;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import org.apache.commons.lang3.StringUtils;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UserResource;
@@ -31,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,15 +43,50 @@ import jakarta.ws.rs.core.Response;
 @Service
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
 public class UserRepository {
+    private static final String SERVICE_ACCOUNT_USERNAME_PREFIX = "service-account-";
 
     private final RealmRepository realmRepository;
+    private final UserIndexCache userIndexCache;
 
     @Autowired
-    public UserRepository(RealmRepository realmRepository) {
+    public UserRepository(RealmRepository realmRepository, UserIndexCache userIndexCache) {
         this.realmRepository = realmRepository;
+        this.userIndexCache = userIndexCache;
+    }
+
+    /**
+     * Reads all users of the realm page by page and serves the following lookups from an in-memory index,
+     * until {@link #evictPreloaded(String)} is called.
+     */
+    public void preload(String realmName, int pageSize) {
+        UsersResource usersResource = realmRepository.getResource(realmName).users();
+
+        List<UserRepresentation> users = new ArrayList<>();
+        List<UserRepresentation> page;
+        int first = 0;
+        do {
+            page = usersResource.list(first, pageSize);
+            users.addAll(page);
+            first += pageSize;
+        } while (page.size() == pageSize);
+
+        userIndexCache.load(realmName, users);
+    }
+
+    public void evictPreloaded(String realmName) {
+        userIndexCache.evict(realmName);
     }
 
     public Optional<UserRepresentation> search(String realmName, String username) {
+        if (userIndexCache.isLoaded(realmName)) {
+            Optional<UserRepresentation> user = userIndexCache.findByUsername(realmName, username);
+
+            // the users listing may omit service accounts, fall back to the exact search for them
+            if (user.isPresent() || !isServiceAccount(username)) {
+                return user.map(u -> withServiceAccountClientId(realmName, u));
+            }
+        }
+
         UsersResource usersResource = realmRepository.getResource(realmName).users();
         List<UserRepresentation> foundUsers = usersResource.search(username, true);
 
@@ -69,6 +108,13 @@ public class UserRepository {
     }
 
     public Optional<UserRepresentation> searchByAttributes(String realmName, String email, String firstname, String lastname) {
+        if (userIndexCache.isLoaded(realmName)) {
+            return userIndexCache.findByEmail(realmName, email).stream()
+                    .filter(user -> StringUtils.equalsIgnoreCase(firstname, user.getFirstName())
+                            && StringUtils.equalsIgnoreCase(lastname, user.getLastName()))
+                    .findFirst();
+        }
+
         UsersResource usersResource = realmRepository.getResource(realmName).users();
         List<UserRepresentation> foundUsers = usersResource.search("", firstname, lastname, email,
                 null, null, null, 0, 100, null, null);
@@ -115,18 +161,49 @@ public class UserRepository {
         RealmResource realmResource = realmRepository.getResource(realmName);
         UsersResource usersResource = realmResource.users();
 
+        String userId;
         try (Response response = usersResource.create(user)) {
-            CreatedResponseUtil.getCreatedId(response);
+            userId = CreatedResponseUtil.getCreatedId(response);
+        }
+
+        if (userIndexCache.isLoaded(realmName)) {
+            userIndexCache.put(realmName, usersResource.get(userId).toRepresentation());
         }
     }
 
-    public void updateUser(String realmName, UserRepresentation user) {
-        UserResource userResource = getResource(realmName, user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName());
-        userResource.update(user);
+    /**
+     * @param userId the id of the existing user, as returned by {@link #search(String, String)} or
+     *               {@link #searchByAttributes(String, String, String, String)}. The id of the representation is
+     *               not used, it may come from an export of another Keycloak instance.
+     */
+    public void updateUser(String realmName, String userId, UserRepresentation user) {
+        realmRepository.getResource(realmName).users().get(userId).update(user);
+
+        if (userIndexCache.isLoaded(realmName)) {
+            UserRepresentation indexedUser = CloneUtil.deepClone(user, "credentials");
+            indexedUser.setId(userId);
+            userIndexCache.put(realmName, indexedUser);
+        }
     }
 
     public List<GroupRepresentation> getGroups(String realmName, UserRepresentation user) {
         UserResource userResource = getResource(realmName, user.getUsername());
         return userResource.groups();
     }
+
+    private UserRepresentation withServiceAccountClientId(String realmName, UserRepresentation user) {
+        if (user.getServiceAccountClientId() != null || !isServiceAccount(user.getUsername())) {
+            return user;
+        }
+
+        UserRepresentation userRepresentation = realmRepository.getResource(realmName).users()
+                .get(user.getId())
+                .toRepresentation();
+        userIndexCache.put(realmName, userRepresentation);
+        return userRepresentation;
+    }
+
+    private static boolean isServiceAccount(String username) {
+        return username != null && username.startsWith(SERVICE_ACCOUNT_USERNAME_PREFIX);
+    }
 }
@@ -0,0 +1,129 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the generations, the load locks and the statistics of a keyed {@link ImportRunCache}. The cache itself
+ * only owns the storage of its values.
+ *
+ * <p>Every invalidation of a key increases its generation. A load that races with an invalidation of its key is
+ * returned to its caller, but not stored. Storing a load and invalidating a key are atomic per key. With
+ * {@code singleLoad}, concurrent lookups of the same key wait for a single load.</p>
+ *
+ * @param <K> the key the generations are tracked for. It may be coarser than the key of the stored values,
+ *            e.g. the realm name.
+ */
+final class CacheGuard<K> {
+    private final boolean singleLoad;
+
+    private final Map<K, Long> generations = new ConcurrentHashMap<>();
+    private final Map<K, Object> locks = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    CacheGuard() {
+        this(false);
+    }
+
+    CacheGuard(boolean singleLoad) {
+        this.singleLoad = singleLoad;
+    }
+
+    /**
+     * @param lookup returns the cached value, or {@code null} if it is not cached
+     * @param loader loads the value, {@code null} values are not stored
+     * @param store  stores the loaded value, only called if the key was not invalidated during the load
+     */
+    <V> V get(K key, Supplier<V> lookup, Supplier<V> loader, Consumer<V> store) {
+        V cached = lookup.get();
+        if (cached != null) {
+            statistics.recordHit();
+            return cached;
+        }
+
+        if (!singleLoad) {
+            return load(key, loader, store);
+        }
+
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            cached = lookup.get();
+            if (cached != null) {
+                statistics.recordHit();
+                return cached;
+            }
+
+            return load(key, loader, store);
+        }
+    }
+
+    /**
+     * @param removal removes the cached values of the key
+     */
+    void invalidate(K key, Runnable removal) {
+        generations.compute(key, (k, generation) -> {
+            removal.run();
+            return generation == null ? 1L : generation + 1;
+        });
+    }
+
+    /**
+     * Invalidates every key which was loaded before and matches the predicate.
+     */
+    void invalidateAll(Predicate<K> predicate, Consumer<K> removal) {
+        for (K key : generations.keySet()) {
+            if (predicate.test(key)) {
+                invalidate(key, () -> removal.accept(key));
+            }
+        }
+    }
+
+    CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    void clear() {
+        generations.clear();
+        locks.clear();
+        statistics.reset();
+    }
+
+    private <V> V load(K key, Supplier<V> loader, Consumer<V> store) {
+        statistics.recordMiss();
+        long generation = generations.computeIfAbsent(key, k -> 0L);
+        V loaded = loader.get();
+
+        if (loaded != null) {
+            generations.computeIfPresent(key, (k, current) -> {
+                if (current == generation) {
+                    store.accept(loaded);
+                }
+                return current;
+            });
+        }
+
+        return loaded;
+    }
+}
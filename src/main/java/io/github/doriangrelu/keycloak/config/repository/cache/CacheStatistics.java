@@ -0,0 +1,61 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe hit/miss counters of an {@link ImportRunCache}.
+ *
+ * <p>The counters are reset together with the cache at the beginning of each import run
+ * and reported by the {@link io.github.doriangrelu.keycloak.config.KeycloakConfigRunner} once the run is over.</p>
+ */
+public class CacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public void recordHit() {
+        this.hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        this.misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public void reset() {
+        this.hits.set(0);
+        this.misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d", getHits(), getMisses());
+    }
+}
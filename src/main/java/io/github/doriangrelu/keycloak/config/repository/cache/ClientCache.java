@@ -0,0 +1,138 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link ClientRepresentation} instances, keyed by realm name and clientId, with a reverse index
+ * from the internal id to the clientId.
+ *
+ * <p>Client ids never change during a run, but callers may modify the representation before sending it back
+ * to Keycloak. Like {@link RealmRepresentationCache}, every hit returns a deep clone of the stored snapshot.
+ * Unknown clients are not cached, so a client created outside of
+ * {@link io.github.doriangrelu.keycloak.config.repository.ClientRepository} is found by the next lookup.</p>
+ *
+ * <p>Every write which changes a client on the server must evict it. A load that races with an eviction in
+ * the same realm is returned to its caller, but not stored.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class ClientCache implements ImportRunCache {
+
+    private final Map<String, RealmClients> realms = new ConcurrentHashMap<>();
+    // generations are tracked per realm, an eviction by internal id does not know the clientId of a running load
+    private final CacheGuard<String> guard = new CacheGuard<>();
+
+    public Optional<ClientRepresentation> getByClientId(
+            String realmName,
+            String clientId,
+            Supplier<Optional<ClientRepresentation>> loader
+    ) {
+        return Optional.ofNullable(guard.get(
+                realmName,
+                () -> {
+                    ClientRepresentation cached = realmClients(realmName).byClientId.get(clientId);
+                    return cached == null ? null : CloneUtil.deepClone(cached);
+                },
+                () -> loader.get().orElse(null),
+                loaded -> realmClients(realmName).put(CloneUtil.deepClone(loaded))
+        ));
+    }
+
+    /**
+     * Returns the clientId of an already cached client, looked up by its internal id.
+     */
+    public Optional<String> findClientId(String realmName, String id) {
+        RealmClients realmClients = realms.get(realmName);
+        if (realmClients == null || id == null) return Optional.empty();
+
+        return Optional.ofNullable(realmClients.clientIdById.get(id));
+    }
+
+    public void evict(String realmName, String clientId, String id) {
+        guard.invalidate(realmName, () -> {
+            RealmClients realmClients = realms.get(realmName);
+            if (realmClients != null) {
+                realmClients.remove(clientId, id);
+            }
+        });
+    }
+
+    public void invalidate(String realmName) {
+        guard.invalidate(realmName, () -> realms.remove(realmName));
+    }
+
+    @Override
+    public String getName() {
+        return "clients";
+    }
+
+    @Override
+    public void clear() {
+        realms.clear();
+        guard.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return guard.getStatistics();
+    }
+
+    private RealmClients realmClients(String realmName) {
+        return realms.computeIfAbsent(realmName, key -> new RealmClients());
+    }
+
+    private static class RealmClients {
+        private final Map<String, ClientRepresentation> byClientId = new ConcurrentHashMap<>();
+        private final Map<String, String> clientIdById = new ConcurrentHashMap<>();
+
+        private void put(ClientRepresentation client) {
+            if (client.getClientId() == null || client.getId() == null) return;
+
+            byClientId.put(client.getClientId(), client);
+            clientIdById.put(client.getId(), client.getClientId());
+        }
+
+        private void remove(String clientId, String id) {
+            if (id != null) {
+                String cachedClientId = clientIdById.remove(id);
+                if (cachedClientId != null) {
+                    byClientId.remove(cachedClientId);
+                }
+            }
+            if (clientId != null) {
+                ClientRepresentation cached = byClientId.remove(clientId);
+                if (cached != null && cached.getId() != null) {
+                    clientIdById.remove(cached.getId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+/**
+ * A cache of Keycloak representations whose lifetime is bound to a single import run.
+ *
+ * <p>All beans implementing this interface are cleared by the
+ * {@link io.github.doriangrelu.keycloak.config.KeycloakConfigRunner} before the import starts,
+ * and their {@link CacheStatistics} are logged when the run is finished.</p>
+ */
+public interface ImportRunCache {
+
+    /**
+     * @return a short, human readable name used in the run summary
+     */
+    String getName();
+
+    /**
+     * Drops every cached entry and resets the statistics.
+     */
+    void clear();
+
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,201 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index from name to id of the resources a repository can only search by listing all of them.
+ *
+ * <p>An index exists per {@link Type}, realm and owner, where the owner is the parent of the resources, e.g. the
+ * alias of the identity provider of a mapper, or {@code null} for realm level resources. It is loaded lazily by
+ * the first lookup and afterward updated in place by the writes of the repository, so a name missing from a loaded
+ * index does not exist. Only ids are indexed, the representations are always fetched from Keycloak.</p>
+ *
+ * <p>Every write which creates, renames or deletes an indexed resource must update the index, every other write
+ * which may do it (e.g. a realm update) must call {@link #invalidate(String)}.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class NameIndexCache implements ImportRunCache {
+
+    public enum Type {
+        CLIENT_SCOPE,
+        GROUP,
+        IDENTITY_PROVIDER_MAPPER,
+    }
+
+    private final Map<IndexKey, Map<String, String>> indexes = new ConcurrentHashMap<>();
+    private final Map<IndexKey, Object> locks = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * @param loader lists all resources of the owner, used only if the index is not loaded yet
+     * @return the id of the resource with the given name
+     */
+    public <T> Optional<String> findId(
+            Type type,
+            String realmName,
+            String owner,
+            String name,
+            Supplier<Collection<T>> loader,
+            Function<T, String> nameMapper,
+            Function<T, String> idMapper
+    ) {
+        IndexKey key = new IndexKey(type, realmName, owner);
+
+        Map<String, String> index = indexes.get(key);
+        if (index != null) {
+            statistics.recordHit();
+        } else {
+            // writes wait for a running load, so they are never lost
+            synchronized (lockFor(key)) {
+                index = indexes.get(key);
+                if (index != null) {
+                    statistics.recordHit();
+                } else {
+                    statistics.recordMiss();
+                    index = load(loader.get(), nameMapper, idMapper);
+                    indexes.put(key, index);
+                }
+            }
+        }
+
+        if (name == null) return Optional.empty();
+        return Optional.ofNullable(index.get(name));
+    }
+
+    /**
+     * Adds a created resource to a loaded index.
+     */
+    public void put(Type type, String realmName, String owner, String name, String id) {
+        IndexKey key = new IndexKey(type, realmName, owner);
+
+        synchronized (lockFor(key)) {
+            Map<String, String> index = indexes.get(key);
+            if (index == null || name == null) return;
+
+            index.put(name, id);
+        }
+    }
+
+    /**
+     * Updates the name of a resource which is already in a loaded index. Resources which are not indexed, e.g. sub
+     * groups, are ignored.
+     */
+    public void rename(Type type, String realmName, String owner, String name, String id) {
+        IndexKey key = new IndexKey(type, realmName, owner);
+
+        synchronized (lockFor(key)) {
+            Map<String, String> index = indexes.get(key);
+            if (index == null || name == null || !index.values().remove(id)) return;
+
+            index.put(name, id);
+        }
+    }
+
+    public void remove(Type type, String realmName, String owner, String id) {
+        IndexKey key = new IndexKey(type, realmName, owner);
+
+        synchronized (lockFor(key)) {
+            Map<String, String> index = indexes.get(key);
+            if (index == null) return;
+
+            index.values().remove(id);
+        }
+    }
+
+    /**
+     * Drops the index of the given type, realm and owner.
+     */
+    public void invalidate(Type type, String realmName, String owner) {
+        IndexKey key = new IndexKey(type, realmName, owner);
+
+        synchronized (lockFor(key)) {
+            indexes.remove(key);
+        }
+    }
+
+    /**
+     * Drops every index of the given realm.
+     */
+    public void invalidate(String realmName) {
+        for (IndexKey key : locks.keySet()) {
+            if (key.realmName().equals(realmName)) {
+                invalidate(key.type(), key.realmName(), key.owner());
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "name-index";
+    }
+
+    @Override
+    public void clear() {
+        indexes.clear();
+        locks.clear();
+        statistics.reset();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Object lockFor(IndexKey key) {
+        return locks.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static <T> Map<String, String> load(
+            Collection<T> resources,
+            Function<T, String> nameMapper,
+            Function<T, String> idMapper
+    ) {
+        Map<String, String> index = new ConcurrentHashMap<>();
+
+        if (resources != null) {
+            for (T resource : resources) {
+                String name = nameMapper.apply(resource);
+                String id = idMapper.apply(resource);
+
+                // like a stream().filter(...).findFirst(), the first resource with a name wins
+                if (name != null && id != null) {
+                    index.putIfAbsent(name, id);
+                }
+            }
+        }
+
+        return index;
+    }
+
+    private record IndexKey(Type type, String realmName, String owner) {
+    }
+}
@@ -0,0 +1,153 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot cache of realm partial exports, keyed by realm name and export options.
+ *
+ * <p>A partial export is expensive on large realms, and several lookups only read a small part of it. The
+ * first lookup takes the export, and all following lookups share it until a write in a {@link Section}
+ * contained in the export happens. A lookup may also be served by a snapshot taken with more options
+ * than requested. Concurrent lookups of the same snapshot wait for a single export.</p>
+ *
+ * <p>Snapshots are shared and must not be modified by callers. Only the sections listed in {@link Section}
+ * are kept consistent. Every write which changes one of them must call {@link #invalidate(String, Section)}.
+ * The hits of the {@link CacheStatistics} are the exports which were avoided.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class PartialExportCache implements ImportRunCache {
+
+    /**
+     * The parts of a partial export which are read through this cache.
+     */
+    public enum Section {
+        /**
+         * Authentication flows, their executions and the authenticator configs. Contained in every export.
+         */
+        AUTHENTICATION(key -> true),
+        /**
+         * The clients. Only contained in exports with clients.
+         */
+        CLIENTS(ExportKey::clients),
+        /**
+         * Scope mappings and client scope mappings. Only contained in exports with groups and roles or with clients.
+         */
+        SCOPE_MAPPINGS(key -> key.groupsAndRoles() || key.clients());
+
+        private final Predicate<ExportKey> containedIn;
+
+        Section(Predicate<ExportKey> containedIn) {
+            this.containedIn = containedIn;
+        }
+    }
+
+    private final Map<ExportKey, RealmRepresentation> snapshots = new ConcurrentHashMap<>();
+    private final CacheGuard<ExportKey> guard = new CacheGuard<>(true);
+
+    public RealmRepresentation get(
+            String realmName,
+            boolean exportGroupsAndRoles,
+            boolean exportClients,
+            Supplier<RealmRepresentation> loader
+    ) {
+        ExportKey key = new ExportKey(realmName, exportGroupsAndRoles, exportClients);
+
+        return guard.get(key, () -> findSnapshot(key), loader, loaded -> snapshots.put(key, loaded));
+    }
+
+    /**
+     * Drops every snapshot of the given realm which contains the section.
+     */
+    public void invalidate(String realmName, Section section) {
+        invalidate(realmName, section.containedIn);
+    }
+
+    /**
+     * Drops every snapshot of the given realm.
+     */
+    public void invalidate(String realmName) {
+        invalidate(realmName, key -> true);
+    }
+
+    @Override
+    public String getName() {
+        return "partial-export";
+    }
+
+    @Override
+    public void clear() {
+        snapshots.clear();
+        guard.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return guard.getStatistics();
+    }
+
+    private void invalidate(String realmName, Predicate<ExportKey> predicate) {
+        for (ExportKey key : ExportKey.all(realmName)) {
+            if (predicate.test(key)) {
+                guard.invalidate(key, () -> snapshots.remove(key));
+            }
+        }
+    }
+
+    private RealmRepresentation findSnapshot(ExportKey key) {
+        RealmRepresentation snapshot = snapshots.get(key);
+        if (snapshot != null) return snapshot;
+
+        for (ExportKey candidate : ExportKey.all(key.realmName())) {
+            if (candidate.covers(key)) {
+                snapshot = snapshots.get(candidate);
+                if (snapshot != null) return snapshot;
+            }
+        }
+
+        return null;
+    }
+
+    private record ExportKey(String realmName, boolean groupsAndRoles, boolean clients) {
+        private static List<ExportKey> all(String realmName) {
+            return List.of(
+                    new ExportKey(realmName, false, false),
+                    new ExportKey(realmName, true, false),
+                    new ExportKey(realmName, false, true),
+                    new ExportKey(realmName, true, true)
+            );
+        }
+
+        private boolean covers(ExportKey other) {
+            return (groupsAndRoles || !other.groupsAndRoles) && (clients || !other.clients);
+        }
+    }
+}
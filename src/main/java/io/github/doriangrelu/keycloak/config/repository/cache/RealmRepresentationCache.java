@@ -0,0 +1,80 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Snapshot cache of {@link RealmRepresentation} instances, keyed by realm name.
+ *
+ * <p>Callers of {@link io.github.doriangrelu.keycloak.config.repository.RealmRepository#get(String)} usually
+ * modify the returned representation before sending it back to Keycloak. Therefore the cache never hands out
+ * the stored instance: every hit returns a deep clone of the snapshot.</p>
+ *
+ * <p>Every write which changes the realm representation on the server must call {@link #invalidate(String)}.
+ * A load that races with an invalidation is returned to its caller, but not stored.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class RealmRepresentationCache implements ImportRunCache {
+
+    private final Map<String, RealmRepresentation> realms = new ConcurrentHashMap<>();
+    private final CacheGuard<String> guard = new CacheGuard<>();
+
+    public RealmRepresentation get(String realmName, Function<String, RealmRepresentation> loader) {
+        return guard.get(
+                realmName,
+                () -> {
+                    RealmRepresentation cached = realms.get(realmName);
+                    return cached == null ? null : CloneUtil.deepClone(cached);
+                },
+                () -> loader.apply(realmName),
+                loaded -> realms.put(realmName, CloneUtil.deepClone(loaded))
+        );
+    }
+
+    public void invalidate(String realmName) {
+        guard.invalidate(realmName, () -> realms.remove(realmName));
+    }
+
+    @Override
+    public String getName() {
+        return "realm";
+    }
+
+    @Override
+    public void clear() {
+        realms.clear();
+        guard.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return guard.getStatistics();
+    }
+}
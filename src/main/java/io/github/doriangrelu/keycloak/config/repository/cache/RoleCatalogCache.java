@@ -0,0 +1,107 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.util.RoleIndex;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Catalog of the realm roles and the client roles of a realm, keyed by realm name and, for client roles,
+ * by the internal id of the client. Every container is held as a {@link RoleIndex}, so lookups by name need
+ * no further index.
+ *
+ * <p>Every role container is listed once and shared by the role import, the role composites, the user and
+ * group role mappings and the cleanup of the realm. Client roles are keyed by the internal id, so a client
+ * which is removed and created again never sees the roles of its predecessor. Concurrent lookups of the
+ * same container wait for a single listing.</p>
+ *
+ * <p>Roles are shared and must not be modified by callers. Every write which creates, updates or deletes
+ * a role, or changes its composites, must invalidate its container.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class RoleCatalogCache implements ImportRunCache {
+
+    private final Map<RolesKey, RoleIndex> roles = new ConcurrentHashMap<>();
+    private final CacheGuard<RolesKey> guard = new CacheGuard<>(true);
+
+    public RoleIndex getRealmRoles(String realmName, Supplier<List<RoleRepresentation>> loader) {
+        return get(new RolesKey(realmName, null), loader);
+    }
+
+    public RoleIndex getClientRoles(
+            String realmName,
+            String clientUuid,
+            Supplier<List<RoleRepresentation>> loader
+    ) {
+        return get(new RolesKey(realmName, Objects.requireNonNull(clientUuid)), loader);
+    }
+
+    public void invalidateRealmRoles(String realmName) {
+        invalidate(new RolesKey(realmName, null));
+    }
+
+    public void invalidateClientRoles(String realmName, String clientUuid) {
+        invalidate(new RolesKey(realmName, clientUuid));
+    }
+
+    /**
+     * Drops the realm roles and the client roles of the given realm.
+     */
+    public void invalidate(String realmName) {
+        guard.invalidateAll(key -> key.realmName().equals(realmName), roles::remove);
+    }
+
+    @Override
+    public String getName() {
+        return "role-catalog";
+    }
+
+    @Override
+    public void clear() {
+        roles.clear();
+        guard.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return guard.getStatistics();
+    }
+
+    private RoleIndex get(RolesKey key, Supplier<List<RoleRepresentation>> loader) {
+        return guard.get(key, () -> roles.get(key), () -> RoleIndex.of(loader.get()), loaded -> roles.put(key, loaded));
+    }
+
+    private void invalidate(RolesKey key) {
+        guard.invalidate(key, () -> roles.remove(key));
+    }
+
+    private record RolesKey(String realmName, String clientUuid) {
+    }
+}
@@ -0,0 +1,151 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the users of a realm, filled by a single paginated sweep over the users endpoint.
+ *
+ * <p>The index is only present while {@code import.users.preload} is enabled and the users of the realm
+ * are imported. Lookups are case-insensitive, like the exact username search of Keycloak. The index
+ * stores and returns deep clones, so callers may modify the representations they pass in or get back.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class UserIndexCache implements ImportRunCache {
+
+    private final Map<String, RealmUsers> realms = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public void load(String realmName, Collection<UserRepresentation> users) {
+        RealmUsers realmUsers = new RealmUsers();
+        users.forEach(user -> realmUsers.put(CloneUtil.deepClone(user)));
+        realms.put(realmName, realmUsers);
+    }
+
+    public boolean isLoaded(String realmName) {
+        return realms.containsKey(realmName);
+    }
+
+    public void evict(String realmName) {
+        realms.remove(realmName);
+    }
+
+    public Optional<UserRepresentation> findByUsername(String realmName, String username) {
+        RealmUsers realmUsers = realms.get(realmName);
+        if (realmUsers == null || username == null) return Optional.empty();
+
+        return record(Optional.ofNullable(realmUsers.byUsername.get(normalize(username))))
+                .map(CloneUtil::deepClone);
+    }
+
+    public List<UserRepresentation> findByEmail(String realmName, String email) {
+        RealmUsers realmUsers = realms.get(realmName);
+        if (realmUsers == null || email == null) return List.of();
+
+        List<UserRepresentation> users = realmUsers.byEmail.getOrDefault(normalize(email), Map.of()).values()
+                .stream()
+                .map(CloneUtil::deepClone)
+                .toList();
+
+        record(users.stream().findFirst());
+        return users;
+    }
+
+    /**
+     * Adds the user to the index or replaces the entry with the same id, even if the username has changed.
+     */
+    public void put(String realmName, UserRepresentation user) {
+        RealmUsers realmUsers = realms.get(realmName);
+        if (realmUsers == null) return;
+
+        realmUsers.put(CloneUtil.deepClone(user));
+    }
+
+    @Override
+    public String getName() {
+        return "users";
+    }
+
+    @Override
+    public void clear() {
+        realms.clear();
+        statistics.reset();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Optional<UserRepresentation> record(Optional<UserRepresentation> user) {
+        if (user.isPresent()) {
+            statistics.recordHit();
+        } else {
+            statistics.recordMiss();
+        }
+        return user;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class RealmUsers {
+        private final Map<String, UserRepresentation> byId = new ConcurrentHashMap<>();
+        private final Map<String, UserRepresentation> byUsername = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, UserRepresentation>> byEmail = new ConcurrentHashMap<>();
+
+        private synchronized void put(UserRepresentation user) {
+            UserRepresentation previous = byId.put(user.getId(), user);
+            if (previous != null) {
+                if (previous.getUsername() != null) {
+                    byUsername.remove(normalize(previous.getUsername()));
+                }
+                if (previous.getEmail() != null) {
+                    byEmail.computeIfPresent(normalize(previous.getEmail()), (key, users) -> {
+                        users.remove(previous.getId());
+                        return users.isEmpty() ? null : users;
+                    });
+                }
+            }
+
+            if (user.getUsername() != null) {
+                byUsername.put(normalize(user.getUsername()), user);
+            }
+            if (user.getEmail() != null) {
+                byEmail.computeIfAbsent(normalize(user.getEmail()), key -> new ConcurrentHashMap<>())
+                        .put(user.getId(), user);
+            }
+        }
+    }
+}
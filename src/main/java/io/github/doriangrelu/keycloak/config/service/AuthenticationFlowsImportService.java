@@ -112,6 +112,16 @@ public class AuthenticationFlowsImportService {
     private void setupFlowsInRealm(RealmImport realmImport) {
         RealmRepresentation realm = realmRepository.get(realmImport.getRealm());
 
+        if (isFlowBindingUnchanged(realm.getBrowserFlow(), realmImport.getBrowserFlow())
+                && isFlowBindingUnchanged(realm.getDirectGrantFlow(), realmImport.getDirectGrantFlow())
+                && isFlowBindingUnchanged(realm.getClientAuthenticationFlow(), realmImport.getClientAuthenticationFlow())
+                && isFlowBindingUnchanged(realm.getDockerAuthenticationFlow(), realmImport.getDockerAuthenticationFlow())
+                && isFlowBindingUnchanged(realm.getRegistrationFlow(), realmImport.getRegistrationFlow())
+                && isFlowBindingUnchanged(realm.getResetCredentialsFlow(), realmImport.getResetCredentialsFlow())) {
+            logger.debug("Flow bindings of realm '{}' are up-to-date", realmImport.getRealm());
+            return;
+        }
+
         realm.setBrowserFlow(realmImport.getBrowserFlow());
         realm.setDirectGrantFlow(realmImport.getDirectGrantFlow());
         realm.setClientAuthenticationFlow(realmImport.getClientAuthenticationFlow());
@@ -122,6 +132,13 @@ public class AuthenticationFlowsImportService {
         realmRepository.update(realm);
     }
 
+    /**
+     * A binding missing in the import is not changed by the realm update.
+     */
+    private static boolean isFlowBindingUnchanged(String existingFlow, String importedFlow) {
+        return importedFlow == null || importedFlow.equals(existingFlow);
+    }
+
     /**
      * creates or updates only the top-level flows and its executions or execution-flows
      */
@@ -29,6 +29,8 @@ import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
 import io.github.doriangrelu.keycloak.config.repository.GroupRepository;
 import io.github.doriangrelu.keycloak.config.repository.IdentityProviderRepository;
 import io.github.doriangrelu.keycloak.config.repository.RoleRepository;
+import io.github.doriangrelu.keycloak.config.service.clientauthorization.AuthorizationWorkingSet;
+import io.github.doriangrelu.keycloak.config.service.clientauthorization.CachingPermissionResolver;
 import io.github.doriangrelu.keycloak.config.service.clientauthorization.ClientPermissionResolver;
 import io.github.doriangrelu.keycloak.config.service.clientauthorization.GroupPermissionResolver;
 import io.github.doriangrelu.keycloak.config.service.clientauthorization.IdpPermissionResolver;
@@ -53,7 +55,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
@@ -143,12 +145,16 @@ public class ClientAuthorizationImportService {
     }
 
     public void doImport(RealmImport realmImport) {
+        doImport(realmImport, client -> true);
+    }
+
+    public void doImport(RealmImport realmImport, Predicate<ClientRepresentation> filter) {
         List<ClientRepresentation> clients = realmImport.getClients();
         if (clients == null) {
             return;
         }
 
-        updateClientAuthorizationSettings(realmImport, clients);
+        updateClientAuthorizationSettings(realmImport, clients.stream().filter(filter).toList());
     }
 
     /**
@@ -181,6 +187,9 @@ public class ClientAuthorizationImportService {
             logger.debug("Unable to determine FGAP V2 status in updateClientAuthorizationSettings: {}", e.getMessage());
         }
 
+        // shared by all clients of the realm, so each referenced object is resolved and enabled only once
+        Map<String, PermissionResolver> permissionResolvers = createPermissionResolvers(realmName);
+
         for (ClientRepresentation client : clientsWithAuthorization) {
             if (fgapV2Active && ADMIN_PERMISSIONS_CLIENT_ID.equals(client.getClientId())) {
                 logger.info("Skipping authorization settings for 'admin-permissions' client in realm '{}' - "
@@ -190,14 +199,24 @@ public class ClientAuthorizationImportService {
             }
 
             ClientRepresentation existingClient = getExistingClient(realmName, client);
-            updateAuthorization(realmName, existingClient, client.getAuthorizationSettings());
+            updateAuthorization(realmName, existingClient, client.getAuthorizationSettings(), permissionResolvers);
         }
     }
 
+    private Map<String, PermissionResolver> createPermissionResolvers(String realmName) {
+        Map<String, PermissionResolver> resolvers = new HashMap<>();
+        resolvers.put("client", new CachingPermissionResolver(new ClientPermissionResolver(realmName, clientRepository)));
+        resolvers.put("idp", new CachingPermissionResolver(new IdpPermissionResolver(realmName, identityProviderRepository)));
+        resolvers.put("role", new CachingPermissionResolver(new RolePermissionResolver(realmName, roleRepository)));
+        resolvers.put("group", new CachingPermissionResolver(new GroupPermissionResolver(realmName, groupRepository)));
+        return resolvers;
+    }
+
     private void updateAuthorization(
             String realmName,
             ClientRepresentation client,
-            ResourceServerRepresentation authorizationSettingsToImport
+            ResourceServerRepresentation authorizationSettingsToImport,
+            Map<String, PermissionResolver> permissionResolvers
     ) {
         // FGAP V2: admin-permissions client authorization handled via error handling
         // Cannot detect authorizationSchema (only in KC client lib 26.2+) - rely on runtime errors
@@ -220,7 +239,7 @@ public class ClientAuthorizationImportService {
             fgapV2 = false;
         }
 
-        RealmManagementPermissionsResolver realmManagementPermissionsResolver = new RealmManagementPermissionsResolver(realmName, fgapV2);
+        RealmManagementPermissionsResolver realmManagementPermissionsResolver = new RealmManagementPermissionsResolver(realmName, fgapV2, permissionResolvers);
         if (REALM_MANAGEMENT_CLIENT_ID.equals(client.getClientId())) {
             realmManagementPermissionsResolver.createFineGrantedPermissions(authorizationSettingsToImport);
         }
@@ -234,26 +253,98 @@ public class ClientAuthorizationImportService {
         final List<PolicyRepresentation> sanitizedAuthorizationPolicies = sanitizeAuthorizationPolicies(authorizationSettingsToImport,
                 realmManagementPermissionsResolver);
 
-        createOrUpdateAuthorizationResources(realmName, client, existingAuthorization.getResources(), sanitizedAuthorizationResources);
-        createOrUpdateAuthorizationScopes(realmName, client, existingAuthorization.getScopes(), authorizationSettingsToImport.getScopes());
+        AuthorizationWorkingSet workingSet = new AuthorizationWorkingSet(existingAuthorization);
+
+        boolean bulkImported = importConfigProperties.getBehaviors().isClientAuthorizationBulkImport()
+                && importAuthorizationSettings(realmName, client, workingSet, existingAuthorization, authorizationSettingsToImport,
+                sanitizedAuthorizationResources, sanitizedAuthorizationPolicies);
+
+        if (!bulkImported) {
+            createOrUpdateAuthorizationResources(realmName, client, workingSet, sanitizedAuthorizationResources);
+            createOrUpdateAuthorizationScopes(realmName, client, workingSet, authorizationSettingsToImport.getScopes());
+        }
 
         if (importConfigProperties.getManaged().getClientAuthorizationResources() == FULL) {
-            removeAuthorizationResources(realmName, client, existingAuthorization.getResources(), sanitizedAuthorizationResources);
+            removeAuthorizationResources(realmName, client, workingSet, sanitizedAuthorizationResources);
         }
 
         if (importConfigProperties.getManaged().getClientAuthorizationPolicies() == FULL) {
-            removeAuthorizationPolicies(realmName, client, existingAuthorization.getPolicies(), sanitizedAuthorizationPolicies);
+            removeAuthorizationPolicies(realmName, client, workingSet, sanitizedAuthorizationPolicies);
         }
 
         if (importConfigProperties.getManaged().getClientAuthorizationScopes() == FULL) {
-            removeAuthorizationScopes(realmName, client, existingAuthorization.getScopes(), authorizationSettingsToImport.getScopes());
+            removeAuthorizationScopes(realmName, client, workingSet, authorizationSettingsToImport.getScopes());
+        }
+
+        if (bulkImported) return;
+
+        if (workingSet.isPoliciesOutdated()) {
+            refreshAuthorizationPolicies(realmName, client, workingSet);
         }
 
-        // refresh existingAuthorization
+        createOrUpdateAuthorizationPolicies(realmName, client, workingSet, sanitizedAuthorizationPolicies);
+    }
+
+    /**
+     * Creates and updates all resources, scopes and policies with a single {@code importSettings} request, which
+     * is skipped if all of them are up-to-date. Removals are left to the caller, the import only adds and updates.
+     *
+     * @return {@code false} if the server rejected the request and the elements have to be imported one by one
+     */
+    private boolean importAuthorizationSettings(
+            String realmName,
+            ClientRepresentation client,
+            AuthorizationWorkingSet workingSet,
+            ResourceServerRepresentation existingAuthorization,
+            ResourceServerRepresentation authorizationSettingsToImport,
+            List<ResourceRepresentation> authorizationResourcesToImport,
+            List<PolicyRepresentation> authorizationPoliciesToImport
+    ) {
+        List<ScopeRepresentation> authorizationScopesToImport = authorizationSettingsToImport.getScopes();
+
+        boolean isUpToDate = authorizationResourcesToImport.stream().allMatch(resource -> workingSet.getResource(resource.getName()) != null
+                && isAuthorizationResourceUpToDate(workingSet.getResource(resource.getName()), resource))
+                && authorizationScopesToImport.stream().allMatch(scope -> workingSet.getScope(scope.getName()) != null
+                && CloneUtil.deepEquals(scope, workingSet.getScope(scope.getName()), "id"))
+                && authorizationPoliciesToImport.stream().allMatch(policy -> workingSet.getPolicy(policy.getName()) != null
+                && CloneUtil.deepEquals(policy, workingSet.getPolicy(policy.getName()), "id"));
+
+        if (isUpToDate) return true;
+
+        // https://github.com/adorsys/keycloak-config-cli/issues/589
+        authorizationResourcesToImport.forEach(this::setAuthorizationResourceOwner);
+
+        ResourceServerRepresentation targetAuthorization = CloneUtil.patch(
+                existingAuthorization, authorizationSettingsToImport, "resources", "scopes", "policies", "permissions"
+        );
+        targetAuthorization.setResources(authorizationResourcesToImport);
+        targetAuthorization.setScopes(authorizationScopesToImport);
+        targetAuthorization.setPolicies(authorizationPoliciesToImport);
+
+        logger.debug("Import {} authorization resources, {} scopes and {} policies for client '{}' in realm '{}'",
+                authorizationResourcesToImport.size(), authorizationScopesToImport.size(), authorizationPoliciesToImport.size(),
+                getClientIdentifier(client), realmName);
+
         try {
-            existingAuthorization = clientRepository.getAuthorizationConfigById(
+            clientRepository.importAuthorizationSettings(realmName, client.getId(), targetAuthorization);
+            return true;
+        } catch (WebApplicationException e) {
+            logger.warn("Cannot import authorization settings for client '{}' in realm '{}' with a single request (HTTP {}), "
+                            + "falling back to one request per element. {}",
+                    getClientIdentifier(client), realmName, e.getResponse().getStatus(), getFgapV2Message());
+            return false;
+        }
+    }
+
+    /**
+     * Only needed after writes which let Keycloak remove or change policies, see {@link AuthorizationWorkingSet}.
+     */
+    private void refreshAuthorizationPolicies(String realmName, ClientRepresentation client, AuthorizationWorkingSet workingSet) {
+        try {
+            ResourceServerRepresentation existingAuthorization = clientRepository.getAuthorizationConfigById(
                     realmName, client.getId()
             );
+            workingSet.refreshPolicies(existingAuthorization.getPolicies());
         } catch (NotFoundException | BadRequestException | ServerErrorException e) {
             int statusCode = e.getResponse().getStatus();
             if (statusCode == HTTP_NOT_FOUND || statusCode == HTTP_NOT_IMPLEMENTED || statusCode == 400) {
@@ -265,8 +356,6 @@ public class ClientAuthorizationImportService {
                 throw e;
             }
         }
-
-        createOrUpdateAuthorizationPolicies(realmName, client, existingAuthorization.getPolicies(), sanitizedAuthorizationPolicies);
     }
 
     private List<ResourceRepresentation> sanitizeAuthorizationResources(ResourceServerRepresentation authorizationSettings,
@@ -395,35 +484,31 @@ public class ClientAuthorizationImportService {
     private void createOrUpdateAuthorizationResources(
             String realmName,
             ClientRepresentation client,
-            List<ResourceRepresentation> existingClientAuthorizationResources,
+            AuthorizationWorkingSet workingSet,
             List<ResourceRepresentation> authorizationResourcesToImport
     ) {
-        Map<String, ResourceRepresentation> existingClientAuthorizationResourcesMap =
-                existingClientAuthorizationResources
-                        .stream()
-                        .collect(Collectors.toMap(ResourceRepresentation::getName, resource -> resource));
-
         for (ResourceRepresentation authorizationResourceToImport : authorizationResourcesToImport) {
-            createOrUpdateAuthorizationResource(realmName, client, existingClientAuthorizationResourcesMap, authorizationResourceToImport);
+            createOrUpdateAuthorizationResource(realmName, client, workingSet, authorizationResourceToImport);
         }
     }
 
     private void createOrUpdateAuthorizationResource(
             String realmName,
             ClientRepresentation client,
-            Map<String, ResourceRepresentation> existingClientAuthorizationResourcesMap,
+            AuthorizationWorkingSet workingSet,
             ResourceRepresentation authorizationResourceToImport
     ) {
-        if (!existingClientAuthorizationResourcesMap.containsKey(authorizationResourceToImport.getName())) {
-            createAuthorizationResource(realmName, client, authorizationResourceToImport);
+        if (workingSet.getResource(authorizationResourceToImport.getName()) == null) {
+            createAuthorizationResource(realmName, client, workingSet, authorizationResourceToImport);
         } else {
-            updateAuthorizationResource(realmName, client, existingClientAuthorizationResourcesMap, authorizationResourceToImport);
+            updateAuthorizationResource(realmName, client, workingSet, authorizationResourceToImport);
         }
     }
 
     private void createAuthorizationResource(
             String realmName,
             ClientRepresentation client,
+            AuthorizationWorkingSet workingSet,
             ResourceRepresentation authorizationResourceToImport
     ) {
         // https://github.com/adorsys/keycloak-config-cli/issues/589
@@ -433,7 +518,8 @@ public class ClientAuthorizationImportService {
                 authorizationResourceToImport.getName(), getClientIdentifier(client), realmName);
 
         try {
-            clientRepository.createAuthorizationResource(realmName, client.getId(), authorizationResourceToImport);
+            String id = clientRepository.createAuthorizationResource(realmName, client.getId(), authorizationResourceToImport);
+            workingSet.resourceCreated(authorizationResourceToImport, id);
         } catch (KeycloakRepositoryException e) {
             if (e.getMessage().contains("Authorization API not supported")) {
                 // V2 resource type definitions (Groups, Users, Clients, Roles) are auto-created by Keycloak
@@ -474,30 +560,12 @@ public class ClientAuthorizationImportService {
     private void updateAuthorizationResource(
             String realmName,
             ClientRepresentation client,
-            Map<String, ResourceRepresentation> existingClientAuthorizationResourcesMap,
+            AuthorizationWorkingSet workingSet,
             ResourceRepresentation authorizationResourceToImport
     ) {
-        ResourceRepresentation existingClientAuthorizationResource = existingClientAuthorizationResourcesMap
-                .get(authorizationResourceToImport.getName());
-
-        if (existingClientAuthorizationResource.getOwner() != null
-                && existingClientAuthorizationResource.getOwner().getId() == null
-                && Objects.equals(existingClientAuthorizationResource.getOwner().getName(), authorizationResourceToImport.getOwner().getId())) {
-            existingClientAuthorizationResource.getOwner().setId(authorizationResourceToImport.getOwner().getId());
-            existingClientAuthorizationResource.getOwner().setName(null);
-        }
-
-        if (existingClientAuthorizationResource.getAttributes() != null
-                && existingClientAuthorizationResource.getAttributes().isEmpty()
-                && authorizationResourceToImport.getAttributes() == null) {
-            existingClientAuthorizationResource.setAttributes(null);
-        }
+        ResourceRepresentation existingClientAuthorizationResource = workingSet.getResource(authorizationResourceToImport.getName());
 
-        boolean isEquals = CloneUtil.deepEquals(
-                authorizationResourceToImport, existingClientAuthorizationResource, "id", "_id"
-        );
-
-        if (isEquals) return;
+        if (isAuthorizationResourceUpToDate(existingClientAuthorizationResource, authorizationResourceToImport)) return;
 
         setAuthorizationResourceOwner(authorizationResourceToImport);
 
@@ -507,6 +575,7 @@ public class ClientAuthorizationImportService {
 
         try {
             clientRepository.updateAuthorizationResource(realmName, client.getId(), authorizationResourceToImport);
+            workingSet.resourceUpdated(authorizationResourceToImport);
         } catch (NotFoundException | ServerErrorException e) {
             if (isFgapV2Error(e.getResponse().getStatus())) {
                 logger.warn(FGAP_V2_RESOURCE_WARNING,
@@ -517,26 +586,49 @@ public class ClientAuthorizationImportService {
         }
     }
 
+    private boolean isAuthorizationResourceUpToDate(
+            ResourceRepresentation existingClientAuthorizationResource,
+            ResourceRepresentation authorizationResourceToImport
+    ) {
+        if (existingClientAuthorizationResource.getOwner() != null
+                && existingClientAuthorizationResource.getOwner().getId() == null
+                && Objects.equals(existingClientAuthorizationResource.getOwner().getName(), authorizationResourceToImport.getOwner().getId())) {
+            existingClientAuthorizationResource.getOwner().setId(authorizationResourceToImport.getOwner().getId());
+            existingClientAuthorizationResource.getOwner().setName(null);
+        }
+
+        if (existingClientAuthorizationResource.getAttributes() != null
+                && existingClientAuthorizationResource.getAttributes().isEmpty()
+                && authorizationResourceToImport.getAttributes() == null) {
+            existingClientAuthorizationResource.setAttributes(null);
+        }
+
+        return CloneUtil.deepEquals(
+                authorizationResourceToImport, existingClientAuthorizationResource, "id", "_id"
+        );
+    }
+
     private void removeAuthorizationResources(
             String realmName,
             ClientRepresentation client,
-            List<ResourceRepresentation> existingClientAuthorizationResources,
+            AuthorizationWorkingSet workingSet,
             List<ResourceRepresentation> authorizationResourcesToImport
     ) {
         List<String> authorizationResourceNamesToImport = authorizationResourcesToImport
                 .stream().map(ResourceRepresentation::getName)
                 .toList();
 
-        List<ResourceRepresentation> managedClientAuthorizationResources = getManagedClientResources(client, existingClientAuthorizationResources);
+        List<ResourceRepresentation> managedClientAuthorizationResources = getManagedClientResources(realmName, client, workingSet.getResources());
 
         managedClientAuthorizationResources.stream()
                 .filter(resource -> !authorizationResourceNamesToImport.contains(resource.getName()))
-                .forEach(resource -> removeAuthorizationResource(realmName, client, resource));
+                .forEach(resource -> removeAuthorizationResource(realmName, client, workingSet, resource));
     }
 
     private void removeAuthorizationResource(
             String realmName,
             ClientRepresentation client,
+            AuthorizationWorkingSet workingSet,
             ResourceRepresentation existingClientAuthorizationResource
     ) {
         logger.debug("Remove authorization resource '{}' for client '{}' in realm '{}'",
@@ -544,8 +636,9 @@ public class ClientAuthorizationImportService {
         );
         try {
             clientRepository.removeAuthorizationResource(
-                    realmName, client.getId(), existingClientAuthorizationResource.getName()
+                    realmName, client.getId(), existingClientAuthorizationResource
             );
+            workingSet.resourceRemoved(existingClientAuthorizationResource);
         } catch (NotFoundException | ServerErrorException e) {
             if (isFgapV2Error(e.getResponse().getStatus())) {
                 logger.warn(FGAP_V2_RESOURCE_WARNING,
@@ -559,16 +652,12 @@ public class ClientAuthorizationImportService {
     private void createOrUpdateAuthorizationScopes(
             String realmName,
             ClientRepresentation client,
-            List<ScopeRepresentation> existingClientAuthorizationScopes,
+            AuthorizationWorkingSet workingSet,
             List<ScopeRepresentation> authorizationScopesToImport
     ) {
-        Map<String, ScopeRepresentation> existingClientAuthorizationScopesMap = existingClientAuthorizationScopes
-                .stream()
-                .collect(Collectors.toMap(ScopeRepresentation::getName, scope -> scope));
-
         for (ScopeRepresentation authorizationScopeToImport : authorizationScopesToImport) {
             createOrUpdateAuthorizationScope(
-                    realmName, client, existingClientAuthorizationScopesMap, authorizationScopeToImport
+                    realmName, client, workingSet, authorizationScopeToImport
             );
         }
     }
@@ -576,17 +665,18 @@ public class ClientAuthorizationImportService {
     private void createOrUpdateAuthorizationScope(
             String realmName,
             ClientRepresentation client,
-            Map<String, ScopeRepresentation> existingClientAuthorizationScopesMap,
+            AuthorizationWorkingSet workingSet,
             ScopeRepresentation authorizationScopeToImport
     ) {
-        if (!existingClientAuthorizationScopesMap.containsKey(authorizationScopeToImport.getName())) {
+        if (workingSet.getScope(authorizationScopeToImport.getName()) == null) {
             logger.debug("Add authorization scope '{}' for client '{}' in realm '{}'",
                     authorizationScopeToImport.getName(), getClientIdentifier(client), realmName
             );
             try {
-                clientRepository.addAuthorizationScope(
+                String id = clientRepository.addAuthorizationScope(
                         realmName, client.getId(), authorizationScopeToImport
                 );
+                workingSet.scopeCreated(authorizationScopeToImport, id);
             } catch (KeycloakRepositoryException e) {
                 if (e.getMessage().contains("Authorization API not supported")) {
                     logger.warn(FGAP_V2_SCOPE_WARNING,
@@ -604,7 +694,7 @@ public class ClientAuthorizationImportService {
             }
         } else {
             updateAuthorizationScope(
-                    realmName, client, existingClientAuthorizationScopesMap,
+                    realmName, client, workingSet,
                     authorizationScopeToImport
             );
         }
@@ -613,11 +703,10 @@ public class ClientAuthorizationImportService {
     private void updateAuthorizationScope(
             String realmName,
             ClientRepresentation client,
-            Map<String, ScopeRepresentation> existingClientAuthorizationScopesMap,
+            AuthorizationWorkingSet workingSet,
             ScopeRepresentation authorizationScopeToImport
     ) {
-        ScopeRepresentation existingClientAuthorizationScope = existingClientAuthorizationScopesMap
-                .get(authorizationScopeToImport.getName());
+        ScopeRepresentation existingClientAuthorizationScope = workingSet.getScope(authorizationScopeToImport.getName());
 
         if (!CloneUtil.deepEquals(authorizationScopeToImport, existingClientAuthorizationScope, "id")) {
             authorizationScopeToImport.setId(existingClientAuthorizationScope.getId());
@@ -640,16 +729,16 @@ public class ClientAuthorizationImportService {
     private void removeAuthorizationScopes(
             String realmName,
             ClientRepresentation client,
-            List<ScopeRepresentation> existingClientAuthorizationScopes,
+            AuthorizationWorkingSet workingSet,
             List<ScopeRepresentation> authorizationScopesToImport
     ) {
         List<String> authorizationScopeNamesToImport = authorizationScopesToImport
                 .stream().map(ScopeRepresentation::getName)
                 .toList();
 
-        for (ScopeRepresentation existingClientAuthorizationScope : existingClientAuthorizationScopes) {
+        for (ScopeRepresentation existingClientAuthorizationScope : workingSet.getScopes()) {
             if (!authorizationScopeNamesToImport.contains(existingClientAuthorizationScope.getName())) {
-                removeAuthorizationScope(realmName, client, existingClientAuthorizationScope);
+                removeAuthorizationScope(realmName, client, workingSet, existingClientAuthorizationScope);
             }
         }
     }
@@ -657,13 +746,15 @@ public class ClientAuthorizationImportService {
     private void removeAuthorizationScope(
             String realmName,
             ClientRepresentation client,
+            AuthorizationWorkingSet workingSet,
             ScopeRepresentation existingClientAuthorizationScope
     ) {
         logger.debug("Remove authorization scope '{}' for client '{}' in realm '{}'",
                 existingClientAuthorizationScope.getName(), getClientIdentifier(client), realmName);
 
         try {
-            clientRepository.removeAuthorizationScope(realmName, client.getId(), existingClientAuthorizationScope.getName());
+            clientRepository.removeAuthorizationScope(realmName, client.getId(), existingClientAuthorizationScope);
+            workingSet.scopeRemoved(existingClientAuthorizationScope);
         } catch (NotFoundException | ServerErrorException e) {
             if (isFgapV2Error(e.getResponse().getStatus())) {
                 logger.warn(FGAP_V2_SCOPE_WARNING,
@@ -677,16 +768,12 @@ public class ClientAuthorizationImportService {
     private void createOrUpdateAuthorizationPolicies(
             String realmName,
             ClientRepresentation client,
-            List<PolicyRepresentation> existingClientAuthorizationPolicies,
+            AuthorizationWorkingSet workingSet,
             List<PolicyRepresentation> authorizationPoliciesToImport
     ) {
-        Map<String, PolicyRepresentation> existingClientAuthorizationPoliciesMap = existingClientAuthorizationPolicies
-                .stream()
-                .collect(Collectors.toMap(PolicyRepresentation::getName, resource -> resource));
-
         for (PolicyRepresentation authorizationPolicyToImport : authorizationPoliciesToImport) {
             createOrUpdateAuthorizationPolicy(
-                    realmName, client, existingClientAuthorizationPoliciesMap, authorizationPolicyToImport
+                    realmName, client, workingSet, authorizationPolicyToImport
             );
         }
     }
@@ -694,17 +781,18 @@ public class ClientAuthorizationImportService {
     private void createOrUpdateAuthorizationPolicy(
             String realmName,
             ClientRepresentation client,
-            Map<String, PolicyRepresentation> existingClientAuthorizationPoliciesMap,
+            AuthorizationWorkingSet workingSet,
             PolicyRepresentation authorizationPolicyToImport
     ) {
-        if (!existingClientAuthorizationPoliciesMap.containsKey(authorizationPolicyToImport.getName())) {
+        if (workingSet.getPolicy(authorizationPolicyToImport.getName()) == null) {
             logger.debug("Create authorization policy '{}' for client '{}' in realm '{}'",
                     authorizationPolicyToImport.getName(), getClientIdentifier(client), realmName);
 
             try {
-                clientRepository.createAuthorizationPolicy(
+                String id = clientRepository.createAuthorizationPolicy(
                         realmName, client.getId(), authorizationPolicyToImport
                 );
+                workingSet.policyCreated(authorizationPolicyToImport, id);
             } catch (KeycloakRepositoryException e) {
                 if (e.getMessage().contains("Authorization API not supported")) {
                     logger.warn(FGAP_V2_POLICY_WARNING,
@@ -722,7 +810,7 @@ public class ClientAuthorizationImportService {
             }
         } else {
             updateAuthorizationPolicy(
-                    realmName, client, existingClientAuthorizationPoliciesMap, authorizationPolicyToImport
+                    realmName, client, workingSet, authorizationPolicyToImport
             );
         }
     }
@@ -730,11 +818,10 @@ public class ClientAuthorizationImportService {
     private void updateAuthorizationPolicy(
             String realmName,
             ClientRepresentation client,
-            Map<String, PolicyRepresentation> existingClientAuthorizationPoliciesMap,
+            AuthorizationWorkingSet workingSet,
             PolicyRepresentation authorizationPolicyToImport
     ) {
-        PolicyRepresentation existingClientAuthorizationPolicy = existingClientAuthorizationPoliciesMap
-                .get(authorizationPolicyToImport.getName());
+        PolicyRepresentation existingClientAuthorizationPolicy = workingSet.getPolicy(authorizationPolicyToImport.getName());
 
         if (!CloneUtil.deepEquals(authorizationPolicyToImport, existingClientAuthorizationPolicy, "id")) {
             authorizationPolicyToImport.setId(existingClientAuthorizationPolicy.getId());
@@ -760,16 +847,16 @@ public class ClientAuthorizationImportService {
     private void removeAuthorizationPolicies(
             String realmName,
             ClientRepresentation client,
-            List<PolicyRepresentation> existingClientAuthorizationPolicies,
+            AuthorizationWorkingSet workingSet,
             List<PolicyRepresentation> authorizationPoliciesToImport
     ) {
         List<String> authorizationPolicyNamesToImport = authorizationPoliciesToImport
                 .stream().map(PolicyRepresentation::getName)
                 .toList();
 
-        for (PolicyRepresentation existingClientAuthorizationPolicy : existingClientAuthorizationPolicies) {
+        for (PolicyRepresentation existingClientAuthorizationPolicy : workingSet.getPolicies()) {
             if (!authorizationPolicyNamesToImport.contains(existingClientAuthorizationPolicy.getName())) {
-                removeAuthorizationPolicy(realmName, client, existingClientAuthorizationPolicy);
+                removeAuthorizationPolicy(realmName, client, workingSet, existingClientAuthorizationPolicy);
             }
         }
     }
@@ -777,6 +864,7 @@ public class ClientAuthorizationImportService {
     private void removeAuthorizationPolicy(
             String realmName,
             ClientRepresentation client,
+            AuthorizationWorkingSet workingSet,
             PolicyRepresentation existingClientAuthorizationPolicy
     ) {
         logger.debug(
@@ -786,10 +874,12 @@ public class ClientAuthorizationImportService {
 
         try {
             clientRepository.removeAuthorizationPolicy(
-                    realmName, client.getId(), existingClientAuthorizationPolicy.getName()
+                    realmName, client.getId(), existingClientAuthorizationPolicy
             );
+            workingSet.policyRemoved(existingClientAuthorizationPolicy);
         } catch (NotFoundException ignored) {
             // policies got deleted if linked resources are deleted, too.
+            workingSet.policyRemoved(existingClientAuthorizationPolicy);
         } catch (ServerErrorException e) {
             if (isFgapV2Error(e.getResponse().getStatus())) {
                 logger.warn(FGAP_V2_POLICY_WARNING,
@@ -845,10 +935,10 @@ public class ClientAuthorizationImportService {
         }
     }
 
-    private List<ResourceRepresentation> getManagedClientResources(ClientRepresentation client, List<ResourceRepresentation> existingResources) {
+    private List<ResourceRepresentation> getManagedClientResources(String realmName, ClientRepresentation client, List<ResourceRepresentation> existingResources) {
         if (importConfigProperties.getRemoteState().isEnabled()) {
             String clientKey = Objects.equals(client.getId(), client.getClientId()) ? "name:" + client.getName() : client.getClientId();
-            List<String> clientResourcesInState = stateService.getClientAuthorizationResources(clientKey);
+            List<String> clientResourcesInState = stateService.getClientAuthorizationResources(realmName, clientKey);
             // ignore all object there are not in state
             return existingResources.stream()
                     .filter(resource -> clientResourcesInState.contains(resource.getName()) || Objects.equals(resource.getName(), "Default Resource"))
@@ -859,7 +949,7 @@ public class ClientAuthorizationImportService {
     }
 
     /**
-     * Helper class that is scoped per realm per import, so it can keep a cache of certain objects
+     * Helper class that is scoped per client, its permission resolvers and their caches are shared by all clients of the realm
      */
     private class RealmManagementPermissionsResolver {
 
@@ -867,15 +957,10 @@ public class ClientAuthorizationImportService {
         private final Map<String, PermissionResolver> resolvers;
         private final boolean isFgapV2;
 
-        public RealmManagementPermissionsResolver(String realmName, boolean isFgapV2) {
+        public RealmManagementPermissionsResolver(String realmName, boolean isFgapV2, Map<String, PermissionResolver> resolvers) {
             this.isFgapV2 = isFgapV2;
             this.realmName = realmName;
-            this.resolvers = new HashMap<>();
-
-            resolvers.put("client", new ClientPermissionResolver(realmName, clientRepository));
-            resolvers.put("idp", new IdpPermissionResolver(realmName, identityProviderRepository));
-            resolvers.put("role", new RolePermissionResolver(realmName, roleRepository));
-            resolvers.put("group", new GroupPermissionResolver(realmName, groupRepository));
+            this.resolvers = resolvers;
         }
 
         public void createFineGrantedPermissions(ResourceServerRepresentation authorizationSettingsToImport) {
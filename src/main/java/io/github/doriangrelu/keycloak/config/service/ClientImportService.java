@@ -27,12 +27,14 @@ import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
 import io.github.doriangrelu.keycloak.config.repository.AuthenticationFlowRepository;
 import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
 import io.github.doriangrelu.keycloak.config.repository.ClientScopeRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.service.state.ExecutionContextHolder;
 import io.github.doriangrelu.keycloak.config.util.ClientScopeUtil;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.KeycloakUtil;
 import io.github.doriangrelu.keycloak.config.util.ProtocolMapperUtil;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
 import jakarta.ws.rs.WebApplicationException;
 import org.apache.commons.lang3.ArrayUtils;
 import org.keycloak.common.util.CollectionUtil;
@@ -44,6 +46,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +54,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static java.lang.Boolean.TRUE;
@@ -66,6 +70,12 @@ public class ClientImportService {
             "authorizationSettings",
     };
 
+    private static final String[] propertiesComparedSeparately = ArrayUtils.addAll(
+            propertiesWithDependencies, "id", "secret", "access", "protocolMappers", "defaultClientScopes", "optionalClientScopes"
+    );
+
+    private static final String MASKED_SECRET = "**********";
+
     public static final String REALM_MANAGEMENT_CLIENT_ID = "realm-management";
     public static final String ADMIN_PERMISSIONS_CLIENT_ID = "admin-permissions";
 
@@ -74,6 +84,7 @@ public class ClientImportService {
     private final AuthenticationFlowRepository authenticationFlowRepository;
     private final ImportConfigProperties importConfigProperties;
     private final KeycloakProvider keycloakProvider;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     @Autowired
     public ClientImportService(
@@ -81,12 +92,14 @@ public class ClientImportService {
             final ClientScopeRepository clientScopeRepository,
             final AuthenticationFlowRepository authenticationFlowRepository,
             final ImportConfigProperties importConfigProperties,
-            final KeycloakProvider keycloakProvider) {
+            final KeycloakProvider keycloakProvider,
+            final ParallelImportExecutor parallelImportExecutor) {
         this.clientRepository = clientRepository;
         this.clientScopeRepository = clientScopeRepository;
         this.authenticationFlowRepository = authenticationFlowRepository;
         this.importConfigProperties = importConfigProperties;
         this.keycloakProvider = keycloakProvider;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
     /**
@@ -99,9 +112,22 @@ public class ClientImportService {
      * @param realmImport the realm import configuration containing clients to import
      */
     public void doImport(final RealmImport realmImport) {
+        this.doImport(realmImport, client -> true);
+    }
+
+    /**
+     * Imports only the clients accepted by the given filter.
+     *
+     * <p>All clients of the import are still stored in the {@link io.github.doriangrelu.keycloak.config.service.state.ExecutionContext},
+     * so the cleanup phase does not remove clients which have been skipped.</p>
+     *
+     * @param realmImport the realm import configuration containing clients to import
+     * @param filter      selects the clients to create or update
+     */
+    public void doImport(final RealmImport realmImport, final Predicate<ClientRepresentation> filter) {
         final List<ClientRepresentation> clients = realmImport.getClients();
         if (null != clients) {
-            this.createOrUpdateClients(realmImport, clients);
+            this.createOrUpdateClients(realmImport, clients, filter);
         }
     }
 
@@ -114,32 +140,40 @@ public class ClientImportService {
      * @param realmImport the realm import configuration containing clients with dependencies
      */
     public void doImportDependencies(final RealmImport realmImport) {
+        this.doImportDependencies(realmImport, client -> true);
+    }
+
+    /**
+     * Imports the dependencies of the clients accepted by the given filter.
+     *
+     * @param realmImport the realm import configuration containing clients with dependencies
+     * @param filter      selects the clients to update
+     */
+    public void doImportDependencies(final RealmImport realmImport, final Predicate<ClientRepresentation> filter) {
         final List<ClientRepresentation> clients = realmImport.getClients();
         if (clients == null) {
             return;
         }
-        this.updateClientAuthenticationFlowBindingOverrides(realmImport, clients);
+        this.updateClientAuthenticationFlowBindingOverrides(realmImport, clients.stream().filter(filter).toList());
     }
 
     /**
      * Creates or updates all clients from the import and stores them in the
      * {@link io.github.doriangrelu.keycloak.config.service.state.ExecutionContext} for the given realm.
      *
-     * <p>When parallel import is enabled, clients are processed using a parallel stream.</p>
+     * <p>When parallel import is enabled, clients are processed by the {@link ParallelImportExecutor}.</p>
      *
      * @param realmImport the realm import configuration
-     * @param clients     the list of client representations to create or update
+     * @param clients     the list of client representations of the import
+     * @param filter      selects the clients to create or update
      */
     private void createOrUpdateClients(
             final RealmImport realmImport,
-            final List<ClientRepresentation> clients
+            final List<ClientRepresentation> clients,
+            final Predicate<ClientRepresentation> filter
     ) {
         final Consumer<ClientRepresentation> loop = client -> this.createOrUpdateClient(realmImport, client);
-        if (this.importConfigProperties.isParallel()) {
-            clients.parallelStream().forEach(loop);
-        } else {
-            clients.forEach(loop);
-        }
+        this.parallelImportExecutor.forEach(clients.stream().filter(filter).toList(), loop);
 
         ExecutionContextHolder.context().put(realmImport.getRealm(), ClientRepresentation.class, clients);
     }
@@ -251,7 +285,10 @@ public class ClientImportService {
         final String clientIdentifier = this.getClientIdentifier(clientToUpdate);
 
         if (!this.isClientEqual(realmName, existingClient, mergedClient)) {
-            logger.debug("Update client '{}' in realm '{}'", clientIdentifier, realmName);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Update client '{}' in realm '{}', changed properties: {}",
+                        clientIdentifier, realmName, this.getChangedProperties(realmName, existingClient, mergedClient));
+            }
             this.updateClient(realmName, mergedClient);
             this.updateClientDefaultOptionalClientScopes(realmName, mergedClient, existingClient);
         } else {
@@ -271,11 +308,7 @@ public class ClientImportService {
             final ClientRepresentation existingClient,
             final ClientRepresentation patchedClient
     ) {
-        final String[] propertiesToIgnore = ArrayUtils.addAll(
-                propertiesWithDependencies, "id", "secret", "access", "protocolMappers", "defaultClientScopes", "optionalClientScopes"
-        );
-
-        if (!CloneUtil.deepEquals(existingClient, patchedClient, propertiesToIgnore)) {
+        if (!CloneUtil.deepEquals(existingClient, patchedClient, propertiesComparedSeparately)) {
             return false;
         }
 
@@ -302,6 +335,42 @@ public class ClientImportService {
         return Objects.equals(clientSecret, patchedClientSecret);
     }
 
+    /**
+     * Reports the properties which make {@link #isClientEqual} fail, including the client scopes, protocol mappers
+     * and secret, which are compared separately. The values of the secret are masked.
+     */
+    List<PropertyChange> getChangedProperties(
+            final String realmName,
+            final ClientRepresentation existingClient,
+            final ClientRepresentation patchedClient
+    ) {
+        final List<PropertyChange> changes = new ArrayList<>(
+                CloneUtil.diff(existingClient, patchedClient, propertiesComparedSeparately)
+        );
+
+        if (!CollectionUtil.collectionEquals(patchedClient.getDefaultClientScopes(), existingClient.getDefaultClientScopes())) {
+            changes.add(new PropertyChange("defaultClientScopes",
+                    existingClient.getDefaultClientScopes(), patchedClient.getDefaultClientScopes()));
+        }
+        if (!CollectionUtil.collectionEquals(patchedClient.getOptionalClientScopes(), existingClient.getOptionalClientScopes())) {
+            changes.add(new PropertyChange("optionalClientScopes",
+                    existingClient.getOptionalClientScopes(), patchedClient.getOptionalClientScopes()));
+        }
+
+        changes.addAll(ProtocolMapperUtil.diffProtocolMappers(
+                patchedClient.getProtocolMappers(),
+                existingClient.getProtocolMappers()
+        ));
+
+        final String patchedClientSecret = patchedClient.getSecret();
+        if (patchedClientSecret != null
+                && !Objects.equals(this.clientRepository.getClientSecret(realmName, patchedClient.getClientId()), patchedClientSecret)) {
+            changes.add(new PropertyChange("secret", MASKED_SECRET, MASKED_SECRET));
+        }
+
+        return changes;
+    }
+
     private void updateClient(
             final String realmName,
             final ClientRepresentation patchedClient
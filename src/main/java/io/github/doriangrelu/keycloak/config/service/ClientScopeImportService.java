@@ -25,6 +25,7 @@ import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.repository.ClientScopeRepository;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.ProtocolMapperUtil;
 import org.keycloak.representations.idm.ClientScopeRepresentation;
@@ -48,14 +49,17 @@ public class ClientScopeImportService {
     private final ClientScopeRepository clientScopeRepository;
     private final ImportConfigProperties importConfigProperties;
     private final RealmRepository realmRepository;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     public ClientScopeImportService(
             ClientScopeRepository clientScopeRepository,
             ImportConfigProperties importConfigProperties,
-            RealmRepository realmRepository) {
+            RealmRepository realmRepository,
+            ParallelImportExecutor parallelImportExecutor) {
         this.clientScopeRepository = clientScopeRepository;
         this.importConfigProperties = importConfigProperties;
         this.realmRepository = realmRepository;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
     public void doImport(RealmImport realmImport) {
@@ -174,11 +178,7 @@ public class ClientScopeImportService {
             List<ClientScopeRepresentation> clientScopes
     ) {
         Consumer<ClientScopeRepresentation> loop = clientScope -> createOrUpdateClientScope(realmName, clientScope);
-        if (importConfigProperties.isParallel()) {
-            clientScopes.parallelStream().forEach(loop);
-        } else {
-            clientScopes.forEach(loop);
-        }
+        parallelImportExecutor.forEach(clientScopes, loop);
     }
 
     private void deleteClientScopesMissingInImport(
@@ -27,6 +27,7 @@ import io.github.doriangrelu.keycloak.config.repository.ComponentRepository;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
 import io.github.doriangrelu.keycloak.config.service.state.StateService;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.common.util.MultivaluedHashMap;
 import org.keycloak.representations.idm.ComponentExportRepresentation;
@@ -44,6 +45,8 @@ import java.util.*;
 public class ComponentImportService {
     private static final Logger logger = LoggerFactory.getLogger(ComponentImportService.class);
 
+    private static final String[] propertiesComparedSeparately = new String[]{"config"};
+
     private final ComponentRepository componentRepository;
     private final ImportConfigProperties importConfigProperties;
     private final StateService stateService;
@@ -142,12 +145,49 @@ public class ComponentImportService {
 
         ComponentRepresentation patchedComponent = CloneUtil.patch(existingComponent, componentToImport, "id");
         if (hasSubComponents || !isComponentEqual(realmName, existingComponent, patchedComponent)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Changed properties of component {}/{}: {}", existingComponent.getProviderType(),
+                        componentToImport.getName(), getChangedProperties(existingComponent, patchedComponent));
+            }
             updateComponent(realmName, providerType, componentToImport, patchedComponent);
         } else {
             logger.debug("No need to update component: {}/{}", existingComponent.getProviderType(), componentToImport.getName());
         }
     }
 
+    /**
+     * Reports the properties which make {@link #isComponentEqual} fail, including the config entries, which are
+     * compared separately and regardless of the order of their values.
+     */
+    List<PropertyChange> getChangedProperties(ComponentRepresentation existingComponent, ComponentRepresentation patchedComponent) {
+        List<PropertyChange> changes = new ArrayList<>(
+                CloneUtil.diff(existingComponent, patchedComponent, propertiesComparedSeparately)
+        );
+
+        MultivaluedHashMap<String, String> existingComponentConfig = Objects.requireNonNullElseGet(
+                existingComponent.getConfig(), MultivaluedHashMap::new);
+        MultivaluedHashMap<String, String> patchedComponentConfig = Objects.requireNonNullElseGet(
+                patchedComponent.getConfig(), MultivaluedHashMap::new);
+
+        Set<String> configKeys = new TreeSet<>(existingComponentConfig.keySet());
+        configKeys.addAll(patchedComponentConfig.keySet());
+
+        for (String configKey : configKeys) {
+            List<String> existingComponentConfigValue = existingComponentConfig.get(configKey);
+            List<String> patchedComponentConfigValue = patchedComponentConfig.get(configKey);
+
+            if (
+                    existingComponentConfigValue == null || patchedComponentConfigValue == null
+                            || !patchedComponentConfigValue.containsAll(existingComponentConfigValue)
+                            || !existingComponentConfigValue.containsAll(patchedComponentConfigValue)
+            ) {
+                changes.add(new PropertyChange("config." + configKey, existingComponentConfigValue, patchedComponentConfigValue));
+            }
+        }
+
+        return changes;
+    }
+
     private boolean isComponentEqual(String realmName, ComponentRepresentation existingComponent, ComponentRepresentation patchedComponent) {
         // compare component config
         MultivaluedHashMap<String, String> existingComponentConfig = existingComponent.getConfig();
@@ -156,7 +196,7 @@ public class ComponentImportService {
         // https://lists.jboss.org/pipermail/keycloak-user/2018-December/016706.html
         boolean isUserStorageProvider = Objects.equals(patchedComponent.getProviderType(), "org.keycloak.storage.ldap.mappers.UserStorageProvider");
 
-        boolean looksEquals = CloneUtil.deepEquals(existingComponent, patchedComponent, "config");
+        boolean looksEquals = CloneUtil.deepEquals(existingComponent, patchedComponent, propertiesComparedSeparately);
         boolean componentConfigHaveSameKeys = patchedComponentConfig.keySet().containsAll(existingComponentConfig.keySet())
                 && existingComponentConfig.keySet().containsAll(patchedComponentConfig.keySet());
 
@@ -268,7 +308,7 @@ public class ComponentImportService {
         String parentName = parentComponent != null ? parentComponent.getName() : null;
 
         // ignore all object there are not in state
-        return stateService.getComponents(existingComponents, parentName);
+        return stateService.getComponents(realmName, existingComponents, parentName);
     }
 
     private boolean checkIfComponentMissingImport(
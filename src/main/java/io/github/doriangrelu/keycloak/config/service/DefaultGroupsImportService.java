@@ -76,5 +76,7 @@ public class DefaultGroupsImportService {
                 }
             }
         }
+
+        realmRepository.invalidate(realmName);
     }
 }
@@ -25,8 +25,10 @@ import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException
 import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.repository.GroupRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.service.state.ExecutionContextHolder;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import io.github.doriangrelu.keycloak.config.util.SetUtil;
 import io.github.doriangrelu.keycloak.config.util.KeycloakUtil;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.slf4j.Logger;
@@ -35,7 +37,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -87,6 +88,7 @@ public class GroupImportService {
     private final GroupRepository groupRepository;
     private final ImportConfigProperties importConfigProperties;
     private final ThreadHelper threadHelper;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     /**
      * Constructs a new GroupImportService with required dependencies.
@@ -94,15 +96,18 @@ public class GroupImportService {
      * @param groupRepository        repository for group CRUD operations
      * @param importConfigProperties configuration properties for import behavior
      * @param threadHelper           helper for thread-related operations (sleep, etc.)
+     * @param parallelImportExecutor executor for the parallel processing of groups
      */
     public GroupImportService(
             final GroupRepository groupRepository,
             final ImportConfigProperties importConfigProperties,
-            final ThreadHelper threadHelper
+            final ThreadHelper threadHelper,
+            final ParallelImportExecutor parallelImportExecutor
     ) {
         this.groupRepository = groupRepository;
         this.importConfigProperties = importConfigProperties;
         this.threadHelper = threadHelper;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
     /**
@@ -138,11 +143,7 @@ public class GroupImportService {
      */
     public void createOrUpdateGroups(final List<GroupRepresentation> groups, final String realmName) {
         final Consumer<GroupRepresentation> loop = group -> this.createOrUpdateRealmGroup(realmName, group);
-        if (this.importConfigProperties.isParallel()) {
-            groups.parallelStream().forEach(loop);
-        } else {
-            groups.forEach(loop);
-        }
+        this.parallelImportExecutor.forEach(groups, loop);
     }
 
     /**
@@ -497,7 +498,10 @@ public class GroupImportService {
         if (this.isGroupEqual(existingGroup, patchedGroup)) {
             logger.debug("No need to update group '{}' in realm '{}'", groupName, realmName);
         } else {
-            logger.debug("Update group '{}' in realm '{}'", groupName, realmName);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Update group '{}' in realm '{}', changed properties: {}",
+                        groupName, realmName, CloneUtil.diff(existingGroup, patchedGroup, "subGroups"));
+            }
             this.updateGroup(realmName, group, patchedGroup);
         }
     }
@@ -579,15 +583,7 @@ public class GroupImportService {
             return Collections.emptyList();
         }
 
-        final List<String> realmRoleNamesToRemove = new ArrayList<>();
-
-        for (final String existingRealmRolesName : existingRealmRolesNames) {
-            if (!realmRoles.contains(existingRealmRolesName)) {
-                realmRoleNamesToRemove.add(existingRealmRolesName);
-            }
-        }
-
-        return realmRoleNamesToRemove;
+        return SetUtil.searchForMissing(existingRealmRolesNames, realmRoles);
     }
 
     private List<String> estimateRealmRolesToAdd(final List<String> realmRoles, final List<String> existingRealmRolesNames) {
@@ -595,15 +591,7 @@ public class GroupImportService {
             return realmRoles;
         }
 
-        final List<String> realmRoleNamesToAdd = new ArrayList<>();
-
-        for (final String realmRoleName : realmRoles) {
-            if (!existingRealmRolesNames.contains(realmRoleName)) {
-                realmRoleNamesToAdd.add(realmRoleName);
-            }
-        }
-
-        return realmRoleNamesToAdd;
+        return SetUtil.searchForMissing(realmRoles, existingRealmRolesNames);
     }
 
     private void updateGroupClientRoles(final String realmName, final String groupId, final Map<String, List<String>> groupClientRoles) {
@@ -661,15 +649,7 @@ public class GroupImportService {
             return Collections.emptyList();
         }
 
-        final List<String> clientRoleNamesToRemove = new ArrayList<>();
-
-        for (final String existingClientRoleNameForClient : existingClientRoleNamesForClient) {
-            if (!clientRoleNamesFromImport.contains(existingClientRoleNameForClient)) {
-                clientRoleNamesToRemove.add(existingClientRoleNameForClient);
-            }
-        }
-
-        return clientRoleNamesToRemove;
+        return SetUtil.searchForMissing(existingClientRoleNamesForClient, clientRoleNamesFromImport);
     }
 
     private List<String> estimateClientRolesToAdd(final List<String> existingClientRoleNamesForClient, final List<String> clientRoleNamesFromImport) {
@@ -677,15 +657,7 @@ public class GroupImportService {
             return clientRoleNamesFromImport;
         }
 
-        final List<String> clientRoleNamesToAdd = new ArrayList<>();
-
-        for (final String clientRoleName : clientRoleNamesFromImport) {
-            if (!existingClientRoleNamesForClient.contains(clientRoleName)) {
-                clientRoleNamesToAdd.add(clientRoleName);
-            }
-        }
-
-        return clientRoleNamesToAdd;
+        return SetUtil.searchForMissing(clientRoleNamesFromImport, existingClientRoleNamesForClient);
     }
 
     private void updateSubGroups(final String realmName, final String parentGroupId, final List<GroupRepresentation> subGroups) {
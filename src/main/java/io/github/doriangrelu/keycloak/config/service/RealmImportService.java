@@ -26,6 +26,10 @@ import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
 import io.github.doriangrelu.keycloak.config.service.checksum.ChecksumService;
+import io.github.doriangrelu.keycloak.config.service.checksum.ImportSection;
+import io.github.doriangrelu.keycloak.config.service.checksum.IncrementalImport;
+import io.github.doriangrelu.keycloak.config.service.phase.ImportPhaseScheduler;
+import io.github.doriangrelu.keycloak.config.service.phase.RealmImportPhase;
 import io.github.doriangrelu.keycloak.config.service.state.ExecutionContextHolder;
 import io.github.doriangrelu.keycloak.config.service.state.StateService;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
@@ -36,7 +40,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
 import static io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportManagedProperties.ImportManagedPropertiesValues.FULL;
+import static io.github.doriangrelu.keycloak.config.service.phase.RealmImportPhase.*;
 
 @Service
 @ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
@@ -96,6 +106,7 @@ public class RealmImportService {
 
     private final ChecksumService checksumService;
     private final StateService stateService;
+    private final ImportPhaseScheduler importPhaseScheduler;
 
     @Autowired
     public RealmImportService(
@@ -121,7 +132,8 @@ public class RealmImportService {
             MessageBundleImportService messageBundleImportService,
             OtpPolicyImportService otpPolicyImportService,
             ChecksumService checksumService,
-            StateService stateService) {
+            StateService stateService,
+            ImportPhaseScheduler importPhaseScheduler) {
         this.importProperties = importProperties;
         this.keycloakProvider = keycloakProvider;
         this.realmRepository = realmRepository;
@@ -145,11 +157,15 @@ public class RealmImportService {
         this.otpPolicyImportService = otpPolicyImportService;
         this.checksumService = checksumService;
         this.stateService = stateService;
+        this.importPhaseScheduler = importPhaseScheduler;
     }
 
     public void doImport(RealmImport realmImport) {
         ExecutionContextHolder.context().put(realmImport.getRealm(), ProtectedResource.class, realmImport.getProtectedResources());
 
+        // start each realm part from a fresh snapshot, the realm may have been changed outside of this run
+        realmRepository.invalidate(realmImport.getRealm());
+
         boolean realmExists = realmRepository.exists(realmImport.getRealm());
 
         if (realmExists) {
@@ -169,6 +185,10 @@ public class RealmImportService {
                     realmImport.getRealm(),
                     realmImport.getChecksum()
             );
+
+            if (checksumService.isIncremental()) {
+                ExecutionContextHolder.context().put(realmImport.getRealm(), ImportSection.class, EnumSet.allOf(ImportSection.class));
+            }
         }
     }
 
@@ -190,7 +210,7 @@ public class RealmImportService {
         keycloakProvider.refreshToken();
 
         stateService.loadState(realmImport);
-        configureRealm(realmImport, realm);
+        configureRealm(realmImport, realm, IncrementalImport.full());
     }
 
     private void updateRealm(RealmImport realmImport) {
@@ -206,10 +226,11 @@ public class RealmImportService {
 
         otpPolicyImportService.updateOtpPolicy(realmImport.getRealm(), realm);
         stateService.loadState(realm);
+        IncrementalImport incrementalImport = checksumService.getIncrementalImport(realmImport);
 
         realmRepository.update(realm);
 
-        configureRealm(realmImport, realm);
+        configureRealm(realmImport, realm, incrementalImport);
     }
 
     private void importOtpPolicy(RealmImport realmImport) {
@@ -222,32 +243,51 @@ public class RealmImportService {
         }
     }
 
-    private void configureRealm(RealmImport realmImport, RealmRepresentation existingRealm) {
-        importOtpPolicy(realmImport);
-        clientScopeImportService.doImport(realmImport);
-        clientScopeImportService.updateDefaultClientScopes(realmImport, existingRealm);
-        clientPoliciesImportService.doImport(realmImport);
-        clientImportService.doImport(realmImport);
-        roleImportService.doImport(realmImport);
-        groupImportService.importGroups(realmImport);
-        defaultGroupsImportService.doImport(realmImport);
-        componentImportService.doImport(realmImport);
-        userProfileImportService.doImport(realmImport);
-        userImportService.doImport(realmImport);
-        requiredActionsImportService.doImport(realmImport);
-        authenticationFlowsImportService.doImport(realmImport);
-        authenticatorConfigImportService.doImport(realmImport);
-        clientImportService.doImportDependencies(realmImport);
-        clientScopeImportService.updateDefaultClientScopes(realmImport, existingRealm);
-        identityProviderImportService.doImport(realmImport);
-        clientAuthorizationImportService.doImport(realmImport);
-        scopeMappingImportService.doImport(realmImport);
-        clientScopeMappingImportService.doImport(realmImport);
-        clientScopeImportService.doRemoveOrphan(realmImport);
-        messageBundleImportService.doImport(realmImport);
-
-        stateService.doImport(realmImport);
-        checksumService.doImport(realmImport);
+    private void configureRealm(RealmImport realmImport, RealmRepresentation existingRealm, IncrementalImport incrementalImport) {
+        Map<RealmImportPhase, Runnable> phases = new EnumMap<>(RealmImportPhase.class);
+        phases.put(OTP_POLICY, () -> importOtpPolicy(realmImport));
+        phases.put(CLIENT_SCOPES, () -> clientScopeImportService.doImport(realmImport));
+        phases.put(DEFAULT_CLIENT_SCOPES, () -> clientScopeImportService.updateDefaultClientScopes(realmImport, existingRealm));
+        phases.put(CLIENT_POLICIES, () -> clientPoliciesImportService.doImport(realmImport));
+        phases.put(CLIENTS, () -> clientImportService.doImport(realmImport, incrementalImport.clientFilter(CLIENTS)));
+        phases.put(ROLES, () -> roleImportService.doImport(realmImport));
+        phases.put(GROUPS, () -> groupImportService.importGroups(realmImport));
+        phases.put(DEFAULT_GROUPS, () -> defaultGroupsImportService.doImport(realmImport));
+        phases.put(COMPONENTS, () -> componentImportService.doImport(realmImport));
+        phases.put(USER_PROFILE, () -> userProfileImportService.doImport(realmImport));
+        phases.put(USERS, () -> userImportService.doImport(realmImport, incrementalImport.userFilter(USERS)));
+        phases.put(REQUIRED_ACTIONS, () -> requiredActionsImportService.doImport(realmImport));
+        phases.put(AUTHENTICATION_FLOWS, () -> authenticationFlowsImportService.doImport(realmImport));
+        phases.put(AUTHENTICATOR_CONFIGS, () -> authenticatorConfigImportService.doImport(realmImport));
+        phases.put(CLIENT_DEPENDENCIES, () -> clientImportService.doImportDependencies(realmImport, incrementalImport.clientFilter(CLIENT_DEPENDENCIES)));
+        phases.put(DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS, () -> clientScopeImportService.updateDefaultClientScopes(realmImport, existingRealm));
+        phases.put(IDENTITY_PROVIDERS, () -> identityProviderImportService.doImport(realmImport));
+        phases.put(CLIENT_AUTHORIZATION, () -> clientAuthorizationImportService.doImport(realmImport, incrementalImport.clientFilter(CLIENT_AUTHORIZATION)));
+        phases.put(SCOPE_MAPPINGS, () -> scopeMappingImportService.doImport(realmImport));
+        phases.put(CLIENT_SCOPE_MAPPINGS, () -> clientScopeMappingImportService.doImport(realmImport));
+        phases.put(ORPHAN_CLIENT_SCOPES, () -> clientScopeImportService.doRemoveOrphan(realmImport));
+        phases.put(MESSAGE_BUNDLES, () -> messageBundleImportService.doImport(realmImport));
+        phases.put(STATE, () -> stateService.doImport(realmImport));
+        phases.put(CHECKSUM, () -> checksumService.doImport(realmImport));
+
+        // phases without changed input are considered as done, see ImportPhaseScheduler
+        phases.keySet().removeIf(phase -> {
+            if (incrementalImport.shouldRun(phase)) return false;
+
+            logger.debug("Skip import phase '{}' for realm '{}', its sections are unchanged", phase, realmImport.getRealm());
+            return true;
+        });
+        ExecutionContextHolder.context().put(realmImport.getRealm(), ImportSection.class, incrementalImport.getSkippedSections());
+
+        try {
+            importPhaseScheduler.execute(realmImport.getRealm(), phases);
+        } catch (RuntimeException | Error e) {
+            realmRepository.discardPendingUpdates(realmImport.getRealm());
+            throw e;
+        }
+
+        // the state and checksum phases only stage their realm attributes, they are written with one realm update
+        realmRepository.flushPendingUpdates(realmImport.getRealm());
     }
 
     /**
@@ -257,16 +297,27 @@ public class RealmImportService {
      * {@link ClientImportService#deleteClientsMissingInImport(RealmImport)} to remove
      * any clients that exist in Keycloak but are absent from the import configuration.</p>
      *
+     * <p>Sections skipped by an incremental import of any part of the realm are not cleaned, since their imported
+     * elements are unknown in this run.</p>
+     *
      * @param realmImport the realm import configuration identifying the target realm
      */
     public void cleanRealm(final RealmImport realmImport) {
         if (importProperties.getManaged().getClient() == FULL) {
             logger.warn("Start cleaning realm import for realm part '{}'", realmImport.getRealm());
-            this.clientImportService.deleteClientsMissingInImport(realmImport);
-            this.roleImportService.deleteRealmRolesMissingInImport(realmImport);
-            this.roleImportService.deleteClientRolesMissingInImport(realmImport);
-            this.groupImportService.deleteRoleMappingMissingOnImport(realmImport);
-            this.groupImportService.deleteGroupsMissingInImport(realmImport);
+            Collection<ImportSection> skippedSections = ExecutionContextHolder.context().get(realmImport.getRealm(), ImportSection.class);
+
+            if (!skippedSections.contains(ImportSection.CLIENTS)) {
+                this.clientImportService.deleteClientsMissingInImport(realmImport);
+            }
+            if (!skippedSections.contains(ImportSection.ROLES)) {
+                this.roleImportService.deleteRealmRolesMissingInImport(realmImport);
+                this.roleImportService.deleteClientRolesMissingInImport(realmImport);
+            }
+            if (!skippedSections.contains(ImportSection.GROUPS)) {
+                this.groupImportService.deleteRoleMappingMissingOnImport(realmImport);
+                this.groupImportService.deleteGroupsMissingInImport(realmImport);
+            }
         }
     }
 
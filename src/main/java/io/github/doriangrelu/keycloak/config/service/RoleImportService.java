@@ -25,11 +25,13 @@ import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
 import io.github.doriangrelu.keycloak.config.repository.RoleRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.service.rolecomposites.client.ClientRoleCompositeImportService;
 import io.github.doriangrelu.keycloak.config.service.rolecomposites.realm.RealmRoleCompositeImportService;
 import io.github.doriangrelu.keycloak.config.service.state.ExecutionContextHolder;
 import io.github.doriangrelu.keycloak.config.service.state.StateService;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import io.github.doriangrelu.keycloak.config.util.RoleIndex;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.RolesRepresentation;
 import org.slf4j.Logger;
@@ -41,7 +43,6 @@ import org.springframework.stereotype.Service;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -61,19 +62,22 @@ public class RoleImportService {
     private final RoleRepository roleRepository;
     private final ImportConfigProperties importConfigProperties;
     private final StateService stateService;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     @Autowired
     public RoleImportService(
             final RealmRoleCompositeImportService realmRoleCompositeImportService,
             final ClientRoleCompositeImportService clientRoleCompositeImportService, final ClientRepository clientRepository,
             final RoleRepository roleRepository,
-            final ImportConfigProperties importConfigProperties, final StateService stateService) {
+            final ImportConfigProperties importConfigProperties, final StateService stateService,
+            final ParallelImportExecutor parallelImportExecutor) {
         this.realmRoleCompositeImport = realmRoleCompositeImportService;
         this.clientRoleCompositeImport = clientRoleCompositeImportService;
         this.clientRepository = clientRepository;
         this.roleRepository = roleRepository;
         this.importConfigProperties = importConfigProperties;
         this.stateService = stateService;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
     public void doImport(final RealmImport realmImport) {
@@ -87,14 +91,14 @@ public class RoleImportService {
         final boolean realmRoleInImport = roles.getRealm() != null;
         final boolean clientRoleInImport = roles.getClient() != null;
 
-        List<RoleRepresentation> existingRealmRoles = null;
-        Map<String, List<RoleRepresentation>> existingClientRoles = null;
+        RoleIndex existingRealmRoles = null;
+        Map<String, RoleIndex> existingClientRoles = null;
 
         if (realmRoleInImport) {
-            existingRealmRoles = this.roleRepository.getRealmRoles(realmName);
+            existingRealmRoles = this.roleRepository.getRealmRoleIndex(realmName);
         }
         if (clientRoleInImport) {
-            existingClientRoles = this.roleRepository.getClientRoles(realmName);
+            existingClientRoles = this.roleRepository.getClientRoleIndexes(realmName);
         }
 
         if (realmRoleInImport) {
@@ -117,27 +121,21 @@ public class RoleImportService {
     private void createOrUpdateRealmRoles(
             final String realmName,
             final List<RoleRepresentation> rolesToImport,
-            final List<RoleRepresentation> existingRealmRoles
+            final RoleIndex existingRoles
     ) {
-        final Consumer<RoleRepresentation> loop = role -> this.createOrUpdateRealmRole(realmName, role, existingRealmRoles);
-        if (this.importConfigProperties.isParallel()) {
-            rolesToImport.parallelStream().forEach(loop);
-        } else {
-            rolesToImport.forEach(loop);
-        }
+        final Consumer<RoleRepresentation> loop = role -> this.createOrUpdateRealmRole(realmName, role, existingRoles);
+        this.parallelImportExecutor.forEach(rolesToImport, loop);
         ExecutionContextHolder.context().put(realmName, RoleRepresentation.class, rolesToImport);
     }
 
     private void createOrUpdateRealmRole(
             final String realmName,
             final RoleRepresentation roleToImport,
-            final List<RoleRepresentation> existingRoles
+            final RoleIndex existingRoles
     ) {
         final String roleName = roleToImport.getName();
 
-        final RoleRepresentation existingRole = existingRoles.stream()
-                .filter(r -> Objects.equals(r.getName(), roleToImport.getName()))
-                .findFirst().orElse(null);
+        final RoleRepresentation existingRole = existingRoles.find(roleName).orElse(null);
 
         if (existingRole != null) {
             this.updateRoleIfNeeded(realmName, existingRole, roleToImport);
@@ -158,7 +156,7 @@ public class RoleImportService {
     private void createOrUpdateClientRoles(
             final String realmName,
             final Map<String, List<RoleRepresentation>> rolesToImport,
-            final Map<String, List<RoleRepresentation>> existingRoles
+            final Map<String, RoleIndex> existingRoles
     ) {
         for (final Map.Entry<String, List<RoleRepresentation>> client : rolesToImport.entrySet()) {
             final String clientId = client.getKey();
@@ -183,20 +181,19 @@ public class RoleImportService {
             final String realmName,
             final String clientId,
             final RoleRepresentation roleToImport,
-            final Map<String, List<RoleRepresentation>> existingRoles
+            final Map<String, RoleIndex> existingRoles
     ) {
         final String roleName = roleToImport.getName();
+        final RoleIndex existingClientRoles = existingRoles.get(clientId);
 
-        if (!existingRoles.containsKey(clientId)) {
+        if (existingClientRoles == null) {
             throw new ImportProcessingException(String.format(
                     "Can't create role '%s' for non existing client '%s' in realm '%s'!",
                     roleName, clientId, realmName
             ));
         }
 
-        final RoleRepresentation existingClientRole = existingRoles.get(clientId).stream()
-                .filter(r -> Objects.equals(r.getName(), roleToImport.getName()))
-                .findFirst().orElse(null);
+        final RoleRepresentation existingClientRole = existingClientRoles.find(roleName).orElse(null);
 
         if (existingClientRole != null) {
             this.updateClientRoleIfNecessary(realmName, clientId, existingClientRole, roleToImport);
@@ -28,9 +28,11 @@ import io.github.doriangrelu.keycloak.config.repository.GroupRepository;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
 import io.github.doriangrelu.keycloak.config.repository.RoleRepository;
 import io.github.doriangrelu.keycloak.config.repository.UserRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.util.CloneUtil;
 import io.github.doriangrelu.keycloak.config.util.KeycloakUtil;
 import io.github.doriangrelu.keycloak.config.util.ResponseUtil;
+import io.github.doriangrelu.keycloak.config.util.SetUtil;
 import org.keycloak.representations.idm.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,7 @@ import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import jakarta.ws.rs.BadRequestException;
@@ -49,7 +52,7 @@ import jakarta.ws.rs.BadRequestException;
 public class UserImportService {
     private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
 
-    private static final String[] IGNORED_PROPERTIES_FOR_UPDATE = {"realmRoles", "clientRoles", "serviceAccountClientId", "attributes"};
+    private static final String[] IGNORED_PROPERTIES_FOR_UPDATE = {"id", "realmRoles", "clientRoles", "serviceAccountClientId", "attributes"};
     private static final String USER_LABEL_FOR_INITIAL_CREDENTIAL = "initial";
 
     private final RealmRepository realmRepository;
@@ -59,12 +62,14 @@ public class UserImportService {
     private final ClientRepository clientRepository;
 
     private final ImportConfigProperties importConfigProperties;
+    private final ParallelImportExecutor parallelImportExecutor;
 
     public UserImportService(
             RealmRepository realmRepository, UserRepository userRepository,
             RoleRepository roleRepository,
             GroupRepository groupRepository,
-            ClientRepository clientRepository, ImportConfigProperties importConfigProperties
+            ClientRepository clientRepository, ImportConfigProperties importConfigProperties,
+            ParallelImportExecutor parallelImportExecutor
     ) {
         this.realmRepository = realmRepository;
         this.userRepository = userRepository;
@@ -72,25 +77,44 @@ public class UserImportService {
         this.groupRepository = groupRepository;
         this.clientRepository = clientRepository;
         this.importConfigProperties = importConfigProperties;
+        this.parallelImportExecutor = parallelImportExecutor;
     }
 
     public void doImport(RealmImport realmImport) {
-        List<UserRepresentation> users = realmImport.getUsers();
+        doImport(realmImport, user -> true);
+    }
+
+    public void doImport(RealmImport realmImport, Predicate<UserRepresentation> filter) {
+        List<UserRepresentation> importedUsers = realmImport.getUsers();
 
-        if (users == null) {
+        if (importedUsers == null) {
             return;
         }
 
-        if (users.isEmpty()) {
+        if (importedUsers.isEmpty()) {
             logger.warn("Purging users isn't supported in keycloak-config-cli!");
             return;
         }
 
-        Consumer<UserRepresentation> loop = user -> importUser(realmImport.getRealm(), user);
-        if (importConfigProperties.isParallel()) {
-            users.parallelStream().forEach(loop);
-        } else {
-            users.forEach(loop);
+        List<UserRepresentation> users = importedUsers.stream().filter(filter).toList();
+        if (users.isEmpty()) {
+            return;
+        }
+
+        String realmName = realmImport.getRealm();
+        boolean preload = importConfigProperties.getUsers().isPreload();
+        if (preload) {
+            userRepository.preload(realmName, importConfigProperties.getUsers().getPreloadPageSize());
+            logger.debug("Preloaded users of realm '{}'", realmName);
+        }
+
+        try {
+            Consumer<UserRepresentation> loop = user -> importUser(realmName, user);
+            parallelImportExecutor.forEach(users, loop);
+        } finally {
+            if (preload) {
+                userRepository.evictPreloaded(realmName);
+            }
         }
     }
 
@@ -197,10 +221,10 @@ public class UserImportService {
             if (!CloneUtil.deepEquals(existingUser, patchedUser, "access")) {
                 logger.debug("Update user '{}' in realm '{}'", userToImport.getUsername(), realmName);
                 try {
-                    userRepository.updateUser(realmName, patchedUser);
+                    userRepository.updateUser(realmName, existingUser.getId(), patchedUser);
                 } catch (BadRequestException e) {
                     if (hasPasswordUpdate) {
-                        tryToUpdateUserWithoutPassword(e, patchedUser);
+                        tryToUpdateUserWithoutPassword(e, existingUser.getId(), patchedUser);
                     } else {
                         throw e;
                     }
@@ -210,7 +234,7 @@ public class UserImportService {
             }
         }
 
-        private void tryToUpdateUserWithoutPassword(BadRequestException e, UserRepresentation patchedUser) {
+        private void tryToUpdateUserWithoutPassword(BadRequestException e, String userId, UserRepresentation patchedUser) {
             String errorMessage = ResponseUtil.getErrorMessage(e);
 
             if (isPasswordHistoryViolation(errorMessage)) {
@@ -221,7 +245,7 @@ public class UserImportService {
                 removePasswordFromCredentials(patchedUser);
 
                 try {
-                    userRepository.updateUser(realmName, patchedUser);
+                    userRepository.updateUser(realmName, userId, patchedUser);
                     logger.info("Successfully updated user '{}' in realm '{}'. "
                                     + "WARNING: Password was NOT updated due to policy violation, but all other attributes were applied.",
                             userToImport.getUsername(), realmName);
@@ -276,7 +300,7 @@ public class UserImportService {
                 List<String> userGroupsToUpdate,
                 List<String> existingUserGroupsToUpdate
         ) {
-            List<String> groupsToAdd = searchForMissing(userGroupsToUpdate, existingUserGroupsToUpdate);
+            List<String> groupsToAdd = SetUtil.searchForMissing(userGroupsToUpdate, existingUserGroupsToUpdate);
             if (groupsToAdd.isEmpty()) return;
 
             List<GroupRepresentation> groups = groupRepository.findGroupsByGroupPath(realmName, groupsToAdd);
@@ -291,7 +315,7 @@ public class UserImportService {
                 List<String> userGroupsToUpdate,
                 List<String> existingUserGroupsToUpdate
         ) {
-            List<String> groupsToDelete = searchForMissing(existingUserGroupsToUpdate, userGroupsToUpdate);
+            List<String> groupsToDelete = SetUtil.searchForMissing(existingUserGroupsToUpdate, userGroupsToUpdate);
             if (groupsToDelete.isEmpty()) return;
 
             List<GroupRepresentation> groups = groupRepository.findGroupsByGroupPath(realmName, groupsToDelete);
@@ -316,7 +340,7 @@ public class UserImportService {
         }
 
         private void handleRolesToBeAdded(List<String> usersRealmLevelRolesToUpdate, List<String> existingUsersRealmLevelRoles) {
-            List<String> rolesToAdd = searchForMissing(usersRealmLevelRolesToUpdate, existingUsersRealmLevelRoles);
+            List<String> rolesToAdd = SetUtil.searchForMissing(usersRealmLevelRolesToUpdate, existingUsersRealmLevelRoles);
             if (rolesToAdd.isEmpty()) return;
 
             List<RoleRepresentation> realmRoles = roleRepository.searchRealmRoles(realmName, rolesToAdd);
@@ -328,7 +352,7 @@ public class UserImportService {
         }
 
         private void handleRolesToBeRemoved(List<String> usersRealmLevelRolesToUpdate, List<String> existingUsersRealmLevelRoles) {
-            List<String> rolesToDelete = searchForMissing(existingUsersRealmLevelRoles, usersRealmLevelRolesToUpdate);
+            List<String> rolesToDelete = SetUtil.searchForMissing(existingUsersRealmLevelRoles, usersRealmLevelRolesToUpdate);
             if (!importConfigProperties.getBehaviors().isRemoveDefaultRoleFromUser()) {
                 rolesToDelete.remove("default-roles-" + realmName.toLowerCase());
             }
@@ -380,11 +404,6 @@ public class UserImportService {
             clientRoleImport.importClientRoles();
         }
 
-        @SuppressWarnings("java:S6204")
-        private List<String> searchForMissing(List<String> searchedFor, List<String> trawled) {
-            return searchedFor.stream().filter(role -> !trawled.contains(role)).collect(Collectors.toList());
-        }
-
         private class ClientRoleImport {
             private final String clientId;
             private final List<String> existingClientLevelRoles;
@@ -405,7 +424,7 @@ public class UserImportService {
             }
 
             private void handleClientRolesToBeAdded() {
-                List<String> clientRolesToAdd = searchForMissing(clientRolesToImport, existingClientLevelRoles);
+                List<String> clientRolesToAdd = SetUtil.searchForMissing(clientRolesToImport, existingClientLevelRoles);
                 if (clientRolesToAdd.isEmpty()) return;
 
                 List<RoleRepresentation> clientRoles = roleRepository
@@ -418,7 +437,7 @@ public class UserImportService {
             }
 
             private void handleClientRolesToBeRemoved() {
-                List<String> clientRolesToRemove = searchForMissing(existingClientLevelRoles, clientRolesToImport);
+                List<String> clientRolesToRemove = SetUtil.searchForMissing(existingClientLevelRoles, clientRolesToImport);
                 if (clientRolesToRemove.isEmpty()) return;
 
                 List<RoleRepresentation> clientRoles = roleRepository
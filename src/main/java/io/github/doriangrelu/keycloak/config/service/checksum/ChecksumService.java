@@ -25,6 +25,7 @@ import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportBehaviorsProperties.ChecksumChangedOption;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
+import io.github.doriangrelu.keycloak.config.repository.StateRepository;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.keycloak.representations.idm.RealmRepresentation;
@@ -35,6 +36,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -44,24 +46,27 @@ public class ChecksumService {
     private static final Logger logger = LoggerFactory.getLogger(ChecksumService.class);
 
     private final RealmRepository realmRepository;
+    private final StateRepository stateRepository;
     private final ImportConfigProperties importConfigProperties;
 
     @Autowired
-    public ChecksumService(RealmRepository realmRepository, ImportConfigProperties importConfigProperties) {
+    public ChecksumService(RealmRepository realmRepository, StateRepository stateRepository, ImportConfigProperties importConfigProperties) {
         this.realmRepository = realmRepository;
+        this.stateRepository = stateRepository;
         this.importConfigProperties = importConfigProperties;
     }
 
     public void doImport(RealmImport realmImport) {
-        RealmRepresentation existingRealm = realmRepository.get(realmImport.getRealm());
-        Map<String, String> customAttributes = existingRealm.getAttributes();
+        if (isIncremental()) {
+            stateRepository.setState(realmImport.getRealm(), getSectionsStateKey(realmImport), SectionChecksums.of(realmImport).toState());
+            stateRepository.update(realmImport);
+        }
 
         String importChecksum = realmImport.getChecksum();
         String attributeKey = getCustomAttributeKey(realmImport);
-        customAttributes.put(attributeKey, importChecksum);
-        realmRepository.update(existingRealm);
+        realmRepository.stageUpdate(realmImport.getRealm(), attributeKey, realm -> realm.getAttributes().put(attributeKey, importChecksum));
 
-        logger.debug("Updated import checksum of realm '{}' to '{}', attributeKey: '{}'", realmImport.getRealm(), importChecksum, attributeKey);
+        logger.debug("Staged import checksum of realm '{}' as '{}', attributeKey: '{}'", realmImport.getRealm(), importChecksum, attributeKey);
     }
 
     public boolean hasToBeUpdated(RealmImport realmImport) {
@@ -93,19 +98,48 @@ public class ChecksumService {
         }
     }
 
-    @SuppressWarnings("java:S4790")
-    private String getCustomAttributeKey(RealmImport realmImport) {
-        String attributeSuffix;
-        if (importConfigProperties.getBehaviors().isChecksumWithCacheKey()) {
-            attributeSuffix = importConfigProperties.getCache().getKey();
-        } else {
-            attributeSuffix = FilenameUtils.getName(realmImport.getSource()) + "_" + DigestUtils.md5Hex(realmImport.getSource());
+    /**
+     * Compares the section checksums of the import with the ones stored by the last import.
+     *
+     * <p>The state of the realm must have been loaded before. Without stored section checksums, or if
+     * {@code import.cache.incremental} is disabled, the whole import is applied.</p>
+     */
+    public IncrementalImport getIncrementalImport(RealmImport realmImport) {
+        if (!isIncremental()) {
+            return IncrementalImport.full();
+        }
+
+        List<String> state = stateRepository.getState(realmImport.getRealm(), getSectionsStateKey(realmImport));
+        SectionChecksums previous = SectionChecksums.fromState(state);
+        if (previous.isEmpty()) {
+            return IncrementalImport.full();
         }
 
+        return IncrementalImport.between(SectionChecksums.of(realmImport), previous);
+    }
+
+    public boolean isIncremental() {
+        return importConfigProperties.getCache().isEnabled() && importConfigProperties.getCache().isIncremental();
+    }
+
+    private String getCustomAttributeKey(RealmImport realmImport) {
         return MessageFormat.format(
                 ImportConfigProperties.REALM_CHECKSUM_ATTRIBUTE_PREFIX_KEY,
-                attributeSuffix
+                getAttributeSuffix(realmImport)
         );
     }
 
+    private String getSectionsStateKey(RealmImport realmImport) {
+        return "checksums-" + getAttributeSuffix(realmImport);
+    }
+
+    @SuppressWarnings("java:S4790")
+    private String getAttributeSuffix(RealmImport realmImport) {
+        if (importConfigProperties.getBehaviors().isChecksumWithCacheKey()) {
+            return importConfigProperties.getCache().getKey();
+        }
+
+        return FilenameUtils.getName(realmImport.getSource()) + "_" + DigestUtils.md5Hex(realmImport.getSource());
+    }
+
 }
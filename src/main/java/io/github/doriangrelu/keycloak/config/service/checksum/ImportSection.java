@@ -0,0 +1,167 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.checksum;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.doriangrelu.keycloak.config.service.phase.RealmImportPhase;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The sections of a realm import which are checksummed separately by {@link SectionChecksums}.
+ *
+ * <p>Each section lists the JSON properties it consists of and the {@link RealmImportPhase phases} which read it.
+ * A phase only needs to run if one of the sections feeding it has changed. Phases not fed by any section,
+ * like the cleanup of orphan client scopes and the state updates, always run. {@link #REALM} covers all
+ * properties not claimed by another section.</p>
+ *
+ * <p>Clients and users are also checksummed one by one, so the phases listed as entity phases can be limited
+ * to the clients or users which have changed.</p>
+ */
+public enum ImportSection {
+    // the user profile import reads the realm attributes
+    REALM(
+            List.of(),
+            Set.of(RealmImportPhase.OTP_POLICY, RealmImportPhase.USER_PROFILE)
+    ),
+    CLIENT_SCOPES(
+            List.of("clientScopes"),
+            Set.of(RealmImportPhase.CLIENT_SCOPES, RealmImportPhase.DEFAULT_CLIENT_SCOPES, RealmImportPhase.CLIENTS,
+                    RealmImportPhase.DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS)
+    ),
+    DEFAULT_CLIENT_SCOPES(
+            List.of("defaultDefaultClientScopes", "defaultOptionalClientScopes"),
+            Set.of(RealmImportPhase.DEFAULT_CLIENT_SCOPES, RealmImportPhase.DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS)
+    ),
+    CLIENT_POLICIES(
+            List.of("clientProfiles", "clientPolicies"),
+            Set.of(RealmImportPhase.CLIENT_POLICIES)
+    ),
+    CLIENTS(
+            List.of("clients"),
+            Set.of(RealmImportPhase.CLIENTS, RealmImportPhase.CLIENT_DEPENDENCIES, RealmImportPhase.CLIENT_AUTHORIZATION,
+                    RealmImportPhase.DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS),
+            Set.of(RealmImportPhase.CLIENTS, RealmImportPhase.CLIENT_DEPENDENCIES, RealmImportPhase.CLIENT_AUTHORIZATION)
+    ),
+    ROLES(
+            List.of("roles"),
+            Set.of(RealmImportPhase.ROLES)
+    ),
+    GROUPS(
+            List.of("groups"),
+            Set.of(RealmImportPhase.GROUPS)
+    ),
+    DEFAULT_GROUPS(
+            List.of("defaultGroups"),
+            Set.of(RealmImportPhase.DEFAULT_GROUPS)
+    ),
+    COMPONENTS(
+            List.of("components"),
+            Set.of(RealmImportPhase.COMPONENTS)
+    ),
+    USER_PROFILE(
+            List.of("userProfile"),
+            Set.of(RealmImportPhase.USER_PROFILE)
+    ),
+    USERS(
+            List.of("users"),
+            Set.of(RealmImportPhase.USERS),
+            Set.of(RealmImportPhase.USERS)
+    ),
+    REQUIRED_ACTIONS(
+            List.of("requiredActions"),
+            Set.of(RealmImportPhase.REQUIRED_ACTIONS)
+    ),
+    // flows may be recreated, which drops their authenticator configs and the bindings referencing them
+    AUTHENTICATION_FLOWS(
+            List.of("authenticationFlows", "browserFlow", "directGrantFlow", "clientAuthenticationFlow",
+                    "dockerAuthenticationFlow", "registrationFlow", "resetCredentialsFlow"),
+            Set.of(RealmImportPhase.AUTHENTICATION_FLOWS, RealmImportPhase.AUTHENTICATOR_CONFIGS,
+                    RealmImportPhase.CLIENT_DEPENDENCIES, RealmImportPhase.IDENTITY_PROVIDERS)
+    ),
+    AUTHENTICATOR_CONFIGS(
+            List.of("authenticatorConfig"),
+            Set.of(RealmImportPhase.AUTHENTICATOR_CONFIGS)
+    ),
+    IDENTITY_PROVIDERS(
+            List.of("identityProviders", "identityProviderMappers"),
+            Set.of(RealmImportPhase.IDENTITY_PROVIDERS)
+    ),
+    SCOPE_MAPPINGS(
+            List.of("scopeMappings"),
+            Set.of(RealmImportPhase.SCOPE_MAPPINGS)
+    ),
+    CLIENT_SCOPE_MAPPINGS(
+            List.of("clientScopeMappings"),
+            Set.of(RealmImportPhase.CLIENT_SCOPE_MAPPINGS)
+    ),
+    MESSAGE_BUNDLES(
+            List.of("messageBundles"),
+            Set.of(RealmImportPhase.MESSAGE_BUNDLES)
+    );
+
+    private final List<String> properties;
+    private final Set<RealmImportPhase> phases;
+    private final Set<RealmImportPhase> entityPhases;
+
+    ImportSection(List<String> properties, Set<RealmImportPhase> phases) {
+        this(properties, phases, Set.of());
+    }
+
+    ImportSection(List<String> properties, Set<RealmImportPhase> phases, Set<RealmImportPhase> entityPhases) {
+        this.properties = properties;
+        this.phases = phases;
+        this.entityPhases = entityPhases;
+    }
+
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    public Set<RealmImportPhase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return the phases which can be limited to the changed entities of this section
+     */
+    public Set<RealmImportPhase> getEntityPhases() {
+        return entityPhases;
+    }
+
+    public boolean hasEntities() {
+        return !entityPhases.isEmpty();
+    }
+
+    /**
+     * @return the key of an entity of this section, like the clientId of a client, or {@code null} if the entity has no key
+     */
+    public String getEntityKey(JsonNode entity) {
+        return switch (this) {
+            case CLIENTS -> entity.hasNonNull("clientId")
+                    ? entity.get("clientId").asText()
+                    : entity.hasNonNull("name") ? "name:" + entity.get("name").asText() : null;
+            case USERS -> entity.hasNonNull("username") ? entity.get("username").asText() : null;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.checksum;
+
+import io.github.doriangrelu.keycloak.config.service.phase.RealmImportPhase;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Describes which parts of a realm import have to be applied, based on the {@link SectionChecksums} of the
+ * current import and of the last successful import.
+ *
+ * <p>A phase runs if any of the {@link ImportSection sections} feeding it has changed. If the clients or users
+ * are the only changed input of a phase, the phase can be limited to the changed clients or users, see
+ * {@link #clientFilter(RealmImportPhase)} and {@link #userFilter(RealmImportPhase)}.</p>
+ */
+public final class IncrementalImport {
+    private static final IncrementalImport FULL = new IncrementalImport(EnumSet.allOf(ImportSection.class), Map.of());
+
+    private final Set<ImportSection> changedSections;
+
+    // only contains sections with entities, for which the changed entities are known
+    private final Map<ImportSection, Set<String>> changedEntities;
+
+    private IncrementalImport(Set<ImportSection> changedSections, Map<ImportSection, Set<String>> changedEntities) {
+        this.changedSections = changedSections;
+        this.changedEntities = changedEntities;
+    }
+
+    public static IncrementalImport full() {
+        return FULL;
+    }
+
+    public static IncrementalImport between(SectionChecksums current, SectionChecksums previous) {
+        Set<ImportSection> changedSections = EnumSet.noneOf(ImportSection.class);
+        Map<ImportSection, Set<String>> changedEntities = new EnumMap<>(ImportSection.class);
+
+        for (ImportSection section : ImportSection.values()) {
+            String previousChecksum = previous.getChecksum(section);
+            if (previousChecksum != null && previousChecksum.equals(current.getChecksum(section))) continue;
+
+            changedSections.add(section);
+
+            if (section.hasEntities() && previousChecksum != null) {
+                Map<String, String> previousEntities = previous.getEntityChecksums(section);
+                Set<String> changed = new HashSet<>();
+                current.getEntityChecksums(section).forEach((key, checksum) -> {
+                    if (!checksum.equals(previousEntities.get(key))) {
+                        changed.add(key);
+                    }
+                });
+                changedEntities.put(section, changed);
+            }
+        }
+
+        return new IncrementalImport(changedSections, changedEntities);
+    }
+
+    public boolean shouldRun(RealmImportPhase phase) {
+        boolean fed = false;
+        for (ImportSection section : ImportSection.values()) {
+            if (!section.getPhases().contains(phase)) continue;
+            if (changedSections.contains(section)) return true;
+            fed = true;
+        }
+
+        // phases which are not fed by any section, like state and checksum updates, always run
+        return !fed;
+    }
+
+    public Set<ImportSection> getSkippedSections() {
+        Set<ImportSection> skippedSections = EnumSet.allOf(ImportSection.class);
+        skippedSections.removeAll(changedSections);
+        return Collections.unmodifiableSet(skippedSections);
+    }
+
+    public Predicate<ClientRepresentation> clientFilter(RealmImportPhase phase) {
+        return entityFilter(ImportSection.CLIENTS, phase, client -> client.getClientId() != null
+                ? client.getClientId()
+                : client.getName() != null ? "name:" + client.getName() : null);
+    }
+
+    public Predicate<UserRepresentation> userFilter(RealmImportPhase phase) {
+        return entityFilter(ImportSection.USERS, phase, UserRepresentation::getUsername);
+    }
+
+    private <T> Predicate<T> entityFilter(ImportSection entitySection, RealmImportPhase phase, Function<T, String> keyFunction) {
+        Set<String> changed = changedEntities.get(entitySection);
+        if (changed == null || !entitySection.getEntityPhases().contains(phase)) {
+            return entity -> true;
+        }
+
+        boolean otherInputChanged = changedSections.stream()
+                .filter(section -> section != entitySection)
+                .anyMatch(section -> section.getPhases().contains(phase));
+        if (otherInputChanged) {
+            return entity -> true;
+        }
+
+        return entity -> {
+            String key = keyFunction.apply(entity);
+            return key == null || changed.contains(key);
+        };
+    }
+}
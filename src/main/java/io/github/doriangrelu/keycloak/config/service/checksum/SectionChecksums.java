@@ -0,0 +1,192 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.checksum;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checksums of the {@link ImportSection sections} of a realm import, and of the clients and users it contains.
+ *
+ * <p>The realm import is serialized with sorted properties and map keys and without null values, so the
+ * checksums do not depend on the order or formatting of the import file, but only on its content.</p>
+ *
+ * <p>In the remote state, each checksum is stored as {@code SECTION=checksum} and each entity checksum
+ * as {@code SECTION/key=checksum}.</p>
+ */
+public final class SectionChecksums {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .serializationInclusion(Include.NON_NULL)
+            .build();
+
+    private static final int CHECKSUM_LENGTH = 16;
+    private static final String ENTITY_SEPARATOR = "/";
+    private static final String VALUE_SEPARATOR = "=";
+
+    private final Map<ImportSection, String> sections;
+    private final Map<ImportSection, Map<String, String>> entities;
+
+    private SectionChecksums(Map<ImportSection, String> sections, Map<ImportSection, Map<String, String>> entities) {
+        this.sections = sections;
+        this.entities = entities;
+    }
+
+    public static SectionChecksums of(RealmImport realmImport) {
+        Map<ImportSection, String> sections = new EnumMap<>(ImportSection.class);
+        Map<ImportSection, Map<String, String>> entities = new EnumMap<>(ImportSection.class);
+
+        ObjectNode realm = MAPPER.valueToTree(realmImport);
+
+        for (ImportSection section : ImportSection.values()) {
+            if (section == ImportSection.REALM) continue;
+
+            ObjectNode sectionNode = MAPPER.createObjectNode();
+            for (String property : section.getProperties()) {
+                JsonNode value = realm.remove(property);
+                if (value != null) {
+                    sectionNode.set(property, value);
+                }
+            }
+            sections.put(section, checksum(sectionNode));
+
+            if (section.hasEntities()) {
+                entities.put(section, entityChecksums(section, sectionNode));
+            }
+        }
+
+        // the remaining properties are the realm settings
+        sections.put(ImportSection.REALM, checksum(realm));
+
+        return new SectionChecksums(sections, entities);
+    }
+
+    public static SectionChecksums fromState(Collection<String> state) {
+        Map<ImportSection, String> sections = new EnumMap<>(ImportSection.class);
+        Map<ImportSection, Map<String, String>> entities = new EnumMap<>(ImportSection.class);
+
+        for (String entry : state) {
+            int valueIndex = entry.lastIndexOf(VALUE_SEPARATOR);
+            if (valueIndex < 0) continue;
+
+            String name = entry.substring(0, valueIndex);
+            String checksum = entry.substring(valueIndex + 1);
+
+            int entityIndex = name.indexOf(ENTITY_SEPARATOR);
+            ImportSection section = parseSection(entityIndex < 0 ? name : name.substring(0, entityIndex));
+            if (section == null) continue;
+
+            if (entityIndex < 0) {
+                sections.put(section, checksum);
+            } else {
+                entities.computeIfAbsent(section, key -> new HashMap<>())
+                        .put(name.substring(entityIndex + 1), checksum);
+            }
+        }
+
+        return new SectionChecksums(sections, entities);
+    }
+
+    public List<String> toState() {
+        List<String> state = new ArrayList<>();
+
+        sections.forEach((section, checksum) -> state.add(section + VALUE_SEPARATOR + checksum));
+        entities.forEach((section, checksums) -> checksums.forEach((key, checksum) ->
+                state.add(section + ENTITY_SEPARATOR + key + VALUE_SEPARATOR + checksum)
+        ));
+
+        Collections.sort(state);
+        return state;
+    }
+
+    public boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    public String getChecksum(ImportSection section) {
+        return sections.get(section);
+    }
+
+    public Map<String, String> getEntityChecksums(ImportSection section) {
+        return entities.getOrDefault(section, Map.of());
+    }
+
+    private static Map<String, String> entityChecksums(ImportSection section, ObjectNode sectionNode) {
+        Map<String, String> checksums = new HashMap<>();
+
+        for (String property : section.getProperties()) {
+            JsonNode values = sectionNode.get(property);
+            if (values == null || !values.isArray()) continue;
+
+            for (JsonNode value : values) {
+                String key = section.getEntityKey(value);
+                if (key == null) continue;
+
+                // entities with the same key are imported one after another, so any change of them counts
+                checksums.merge(key, checksum(value), (previous, current) -> checksum(previous + current));
+            }
+        }
+
+        return checksums;
+    }
+
+    private static ImportSection parseSection(String name) {
+        for (ImportSection section : ImportSection.values()) {
+            if (section.name().equals(name)) return section;
+        }
+        return null;
+    }
+
+    private static String checksum(JsonNode node) {
+        try {
+            return checksum(MAPPER.writeValueAsBytes(node));
+        } catch (JsonProcessingException e) {
+            throw new ImportProcessingException(e);
+        }
+    }
+
+    private static String checksum(String value) {
+        return checksum(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String checksum(byte[] value) {
+        return DigestUtils.sha256Hex(value).substring(0, CHECKSUM_LENGTH);
+    }
+}
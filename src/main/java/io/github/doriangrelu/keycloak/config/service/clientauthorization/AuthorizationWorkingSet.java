@@ -0,0 +1,136 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.clientauthorization;
+
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import org.keycloak.representations.idm.authorization.PolicyRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceRepresentation;
+import org.keycloak.representations.idm.authorization.ResourceServerRepresentation;
+import org.keycloak.representations.idm.authorization.ScopeRepresentation;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The authorization resources, scopes and policies of a client by name, read once from the exported authorization
+ * settings and patched locally after each write of the import. Their ids are passed to the client repository, so
+ * nothing has to be searched by name again.
+ *
+ * <p>Keycloak removes or changes the policies of a resource or scope, when it is removed or the scopes of the resource
+ * are changed. After such a write the policies are {@link #isPoliciesOutdated() outdated} and have to be
+ * {@link #refreshPolicies(Collection) refreshed}.</p>
+ */
+public class AuthorizationWorkingSet {
+    private final Map<String, ResourceRepresentation> resources;
+    private final Map<String, ScopeRepresentation> scopes;
+    private Map<String, PolicyRepresentation> policies;
+    private boolean policiesOutdated;
+
+    public AuthorizationWorkingSet(ResourceServerRepresentation authorization) {
+        this.resources = byName(authorization.getResources(), ResourceRepresentation::getName);
+        this.scopes = byName(authorization.getScopes(), ScopeRepresentation::getName);
+        this.policies = byName(authorization.getPolicies(), PolicyRepresentation::getName);
+    }
+
+    public ResourceRepresentation getResource(String name) {
+        return resources.get(name);
+    }
+
+    public List<ResourceRepresentation> getResources() {
+        return List.copyOf(resources.values());
+    }
+
+    public void resourceCreated(ResourceRepresentation resource, String id) {
+        ResourceRepresentation created = CloneUtil.deepClone(resource);
+        created.setId(id);
+        resources.put(created.getName(), created);
+    }
+
+    public void resourceUpdated(ResourceRepresentation resource) {
+        resources.put(resource.getName(), resource);
+        policiesOutdated = true;
+    }
+
+    public void resourceRemoved(ResourceRepresentation resource) {
+        resources.remove(resource.getName());
+        policiesOutdated = true;
+    }
+
+    public ScopeRepresentation getScope(String name) {
+        return scopes.get(name);
+    }
+
+    public List<ScopeRepresentation> getScopes() {
+        return List.copyOf(scopes.values());
+    }
+
+    public void scopeCreated(ScopeRepresentation scope, String id) {
+        ScopeRepresentation created = CloneUtil.deepClone(scope);
+        created.setId(id);
+        scopes.put(created.getName(), created);
+    }
+
+    public void scopeRemoved(ScopeRepresentation scope) {
+        scopes.remove(scope.getName());
+        policiesOutdated = true;
+    }
+
+    public PolicyRepresentation getPolicy(String name) {
+        return policies.get(name);
+    }
+
+    public List<PolicyRepresentation> getPolicies() {
+        return List.copyOf(policies.values());
+    }
+
+    public void policyCreated(PolicyRepresentation policy, String id) {
+        PolicyRepresentation created = CloneUtil.deepClone(policy);
+        created.setId(id);
+        policies.put(created.getName(), created);
+    }
+
+    public void policyRemoved(PolicyRepresentation policy) {
+        policies.remove(policy.getName());
+    }
+
+    public boolean isPoliciesOutdated() {
+        return policiesOutdated;
+    }
+
+    public void refreshPolicies(Collection<PolicyRepresentation> refreshedPolicies) {
+        this.policies = byName(refreshedPolicies, PolicyRepresentation::getName);
+        this.policiesOutdated = false;
+    }
+
+    private static <T> Map<String, T> byName(Collection<T> elements, Function<T, String> nameFunction) {
+        Map<String, T> byName = new LinkedHashMap<>();
+        if (elements == null) return byName;
+
+        elements.stream()
+                .filter(Objects::nonNull)
+                .forEach(element -> byName.put(nameFunction.apply(element), element));
+        return byName;
+    }
+}
@@ -0,0 +1,60 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.clientauthorization;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers resolved object ids and the objects whose permissions are already enabled, so every object is looked
+ * up and enabled at most once, however many authorization resources and policies reference it.
+ *
+ * <p>Failed lookups are not remembered. An instance must only be used for a single realm and thread.</p>
+ */
+public class CachingPermissionResolver implements PermissionResolver {
+    private final PermissionResolver delegate;
+    private final Map<String, String> objectIds = new HashMap<>();
+    private final Set<String> enabledIds = new HashSet<>();
+
+    public CachingPermissionResolver(PermissionResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String resolveObjectId(String placeholder, String authzName) {
+        String id = objectIds.get(placeholder);
+        if (id == null) {
+            id = delegate.resolveObjectId(placeholder, authzName);
+            objectIds.put(placeholder, id);
+        }
+        return id;
+    }
+
+    @Override
+    public void enablePermissions(String id) {
+        if (enabledIds.contains(id)) return;
+
+        delegate.enablePermissions(id);
+        enabledIds.add(id);
+    }
+}
@@ -0,0 +1,112 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.parallel;
+
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a task per element on a dedicated pool of at most {@code maxConcurrency} daemon threads and waits until
+ * all tasks are done. Used by the callers which need a private, bounded pool, like the concurrent realm import
+ * and the concurrent reading of import files.
+ *
+ * <p>After a failure no further task is started. Once the pool is finished, the exception of the first failed
+ * element in iteration order is rethrown unchanged, so errors stay deterministic.</p>
+ */
+public class BoundedPool {
+    private BoundedPool() {
+    }
+
+    /**
+     * @param threadName prefix of the names of the pool threads, followed by a counter
+     * @return the results in iteration order
+     */
+    public static <T, R> List<R> map(
+            Collection<T> elements,
+            int maxConcurrency,
+            String threadName,
+            Function<? super T, ? extends R> task
+    ) {
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<R>> futures = new ArrayList<>(elements.size());
+
+        int threads = Math.max(1, Math.min(maxConcurrency, elements.size()));
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory(threadName))) {
+            for (T element : elements) {
+                futures.add(executor.submit(() -> {
+                    if (failed.get()) return null;
+
+                    try {
+                        return task.apply(element);
+                    } catch (RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }));
+            }
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ImportProcessingException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+                if (cause instanceof Error error) throw error;
+                throw new ImportProcessingException(cause);
+            }
+        }
+
+        return results;
+    }
+
+    public static <T> void forEach(Collection<T> elements, int maxConcurrency, String threadName, Consumer<? super T> task) {
+        map(elements, maxConcurrency, threadName, element -> {
+            task.accept(element);
+            return null;
+        });
+    }
+
+    private static ThreadFactory threadFactory(String threadName) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,133 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.parallel;
+
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Shared executor for the fan-outs of {@code import.parallel}.
+ *
+ * <p>Each element is processed on its own virtual thread. A single semaphore, shared by all fan-outs of
+ * the application, limits the number of elements processed at the same time to
+ * {@code import.parallel-max-concurrency}, independently of the number of CPU cores.</p>
+ *
+ * <p>A fan-out started from an element of another fan-out runs sequentially on the calling thread, so
+ * nested fan-outs cannot exhaust the permits and block each other.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class ParallelImportExecutor implements AutoCloseable {
+    private static final ScopedValue<Boolean> IN_FAN_OUT = ScopedValue.newInstance();
+
+    private final ImportConfigProperties importConfigProperties;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ParallelImportExecutor(ImportConfigProperties importConfigProperties) {
+        this.importConfigProperties = importConfigProperties;
+        this.permits = new Semaphore(importConfigProperties.getParallelMaxConcurrency(), true);
+    }
+
+    /**
+     * Applies the action on all elements, concurrently if {@code import.parallel} is enabled, and waits
+     * until all elements are processed.
+     *
+     * <p>After a failure no further element is started. The exception of the first failed element in
+     * iteration order is rethrown unchanged.</p>
+     */
+    public <T> void forEach(Collection<T> elements, Consumer<? super T> action) {
+        if (!importConfigProperties.isParallel() || elements.size() <= 1 || IN_FAN_OUT.isBound()) {
+            elements.forEach(action);
+            return;
+        }
+
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<?>> futures = new ArrayList<>(elements.size());
+
+        for (T element : elements) {
+            futures.add(executor.submit(() -> process(element, action, failed)));
+        }
+
+        awaitAll(futures);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> void process(T element, Consumer<? super T> action, AtomicBoolean failed) {
+        if (failed.get()) return;
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportProcessingException(e);
+        }
+
+        try {
+            if (failed.get()) return;
+
+            ScopedValue.where(IN_FAN_OUT, Boolean.TRUE).run(() -> action.accept(element));
+        } catch (RuntimeException | Error e) {
+            failed.set(true);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        Throwable failure = null;
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ImportProcessingException(e);
+            } catch (ExecutionException e) {
+                if (failure == null) failure = e.getCause();
+            }
+        }
+
+        if (failure instanceof RuntimeException runtimeException) throw runtimeException;
+        if (failure instanceof Error error) throw error;
+        if (failure != null) throw new ImportProcessingException(failure);
+    }
+}
@@ -0,0 +1,141 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.phase;
+
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the {@link RealmImportPhase phases} of a realm import.
+ *
+ * <p>With {@code import.phases.max-concurrency=1} (the default) every phase runs on the calling thread in
+ * declaration order. With a higher value, each phase is started as soon as all its dependencies are done,
+ * on a bounded pool of at most {@code max-concurrency} threads.</p>
+ *
+ * <p>After a failure no further phase is started. Once all running phases are finished, the exception of
+ * the first failed phase in declaration order is rethrown unchanged, so errors stay deterministic.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "run", name = "operation", havingValue = "IMPORT", matchIfMissing = true)
+public class ImportPhaseScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ImportPhaseScheduler.class);
+
+    private final ImportConfigProperties importConfigProperties;
+
+    @Autowired
+    public ImportPhaseScheduler(ImportConfigProperties importConfigProperties) {
+        this.importConfigProperties = importConfigProperties;
+    }
+
+    /**
+     * @param realmName the realm the phases belong to, used for logging only
+     * @param phases    the action of each phase. Phases without action are considered as done immediately.
+     */
+    public void execute(String realmName, Map<RealmImportPhase, Runnable> phases) {
+        int maxConcurrency = importConfigProperties.getPhases().getMaxConcurrency();
+
+        if (maxConcurrency <= 1) {
+            for (RealmImportPhase phase : RealmImportPhase.values()) {
+                runPhase(realmName, phase, phases.get(phase));
+            }
+            return;
+        }
+
+        executeConcurrently(realmName, phases, maxConcurrency);
+    }
+
+    private void executeConcurrently(String realmName, Map<RealmImportPhase, Runnable> phases, int maxConcurrency) {
+        Map<RealmImportPhase, CompletableFuture<Void>> futures = new EnumMap<>(RealmImportPhase.class);
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, threadFactory(realmName))) {
+            for (RealmImportPhase phase : RealmImportPhase.values()) {
+                CompletableFuture<?>[] dependencies = phase.getDependencies().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+
+                Runnable action = phases.get(phase);
+                futures.put(phase, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    if (failed.get()) return;
+
+                    try {
+                        runPhase(realmName, phase, action);
+                    } catch (RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }, executor));
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .exceptionally(e -> null)
+                    .join();
+        }
+
+        for (CompletableFuture<Void> future : futures.values()) {
+            if (future.isCompletedExceptionally()) {
+                rethrow(future);
+            }
+        }
+    }
+
+    private static void runPhase(String realmName, RealmImportPhase phase, Runnable action) {
+        if (action == null) return;
+
+        logger.trace("Run import phase '{}' for realm '{}'", phase, realmName);
+        action.run();
+    }
+
+    private static void rethrow(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new ImportProcessingException(cause);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String realmName) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "import-phase-" + realmName + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,73 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.phase;
+
+import java.util.Set;
+
+/**
+ * The phases of {@link io.github.doriangrelu.keycloak.config.service.RealmImportService#doImport}, declared as a DAG.
+ *
+ * <p>A phase may only depend on phases declared before it, so the declaration order is always a valid
+ * topological order. With {@code import.phases.max-concurrency=1} phases are executed exactly in that order.</p>
+ *
+ * <p>Phases which send the whole realm representation back to Keycloak ({@code PUT /realms/{realm}}) or change
+ * realm level settings are chained, because concurrent realm updates would overwrite each other.</p>
+ */
+public enum RealmImportPhase {
+    OTP_POLICY,
+    CLIENT_SCOPES,
+    DEFAULT_CLIENT_SCOPES(OTP_POLICY, CLIENT_SCOPES),
+    CLIENT_POLICIES(DEFAULT_CLIENT_SCOPES),
+    CLIENTS(CLIENT_SCOPES, CLIENT_POLICIES),
+    ROLES(CLIENTS),
+    GROUPS(CLIENTS, ROLES),
+    DEFAULT_GROUPS(CLIENT_POLICIES, GROUPS),
+    COMPONENTS(ROLES, GROUPS),
+    USER_PROFILE(COMPONENTS),
+    USERS(CLIENTS, ROLES, GROUPS, COMPONENTS, USER_PROFILE),
+    REQUIRED_ACTIONS,
+    AUTHENTICATION_FLOWS(CLIENT_SCOPES, DEFAULT_GROUPS, REQUIRED_ACTIONS),
+    AUTHENTICATOR_CONFIGS(AUTHENTICATION_FLOWS),
+    CLIENT_DEPENDENCIES(CLIENTS, AUTHENTICATION_FLOWS, AUTHENTICATOR_CONFIGS),
+    DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS(AUTHENTICATION_FLOWS, CLIENT_DEPENDENCIES),
+    IDENTITY_PROVIDERS(CLIENTS, ROLES, GROUPS, AUTHENTICATION_FLOWS),
+    CLIENT_AUTHORIZATION(CLIENT_SCOPES, CLIENT_DEPENDENCIES, ROLES, GROUPS, USERS, IDENTITY_PROVIDERS),
+    SCOPE_MAPPINGS(CLIENT_SCOPES, CLIENTS, ROLES),
+    CLIENT_SCOPE_MAPPINGS(CLIENT_SCOPES, CLIENTS, ROLES),
+    ORPHAN_CLIENT_SCOPES(DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS, CLIENT_AUTHORIZATION, SCOPE_MAPPINGS, CLIENT_SCOPE_MAPPINGS),
+    MESSAGE_BUNDLES,
+    STATE(OTP_POLICY, CLIENT_SCOPES, DEFAULT_CLIENT_SCOPES, CLIENT_POLICIES, CLIENTS, ROLES, GROUPS, DEFAULT_GROUPS,
+            COMPONENTS, USER_PROFILE, USERS, REQUIRED_ACTIONS, AUTHENTICATION_FLOWS, AUTHENTICATOR_CONFIGS,
+            CLIENT_DEPENDENCIES, DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS, IDENTITY_PROVIDERS, CLIENT_AUTHORIZATION,
+            SCOPE_MAPPINGS, CLIENT_SCOPE_MAPPINGS, ORPHAN_CLIENT_SCOPES, MESSAGE_BUNDLES),
+    CHECKSUM(STATE);
+
+    private final Set<RealmImportPhase> dependencies;
+
+    RealmImportPhase(RealmImportPhase... dependencies) {
+        // EnumSet cannot be used here, the enum constants are not available while the enum is initialized
+        this.dependencies = Set.of(dependencies);
+    }
+
+    public Set<RealmImportPhase> getDependencies() {
+        return dependencies;
+    }
+}
@@ -22,6 +22,7 @@ package io.github.doriangrelu.keycloak.config.service.rolecomposites.realm;
 
 import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
 import io.github.doriangrelu.keycloak.config.repository.RoleCompositeRepository;
+import io.github.doriangrelu.keycloak.config.util.SetUtil;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -94,9 +95,7 @@ public class ClientCompositeImport {
             Collection<String> existingClientCompositeNames,
             Collection<String> clientCompositesByClient
     ) {
-        Set<String> clientRoleCompositesToRemove = existingClientCompositeNames.stream()
-                .filter(name -> !clientCompositesByClient.contains(name))
-                .collect(Collectors.toSet());
+        Set<String> clientRoleCompositesToRemove = new HashSet<>(SetUtil.searchForMissing(existingClientCompositeNames, clientCompositesByClient));
 
         roleCompositeRepository.removeRealmRoleClientComposites(realmName, realmRole, clientId, clientRoleCompositesToRemove);
     }
@@ -124,9 +123,7 @@ public class ClientCompositeImport {
             Collection<String> existingClientCompositeNames,
             Collection<String> clientCompositesByClient
     ) {
-        Set<String> clientRoleCompositesToAdd = clientCompositesByClient.stream()
-                .filter(name -> !existingClientCompositeNames.contains(name))
-                .collect(Collectors.toSet());
+        Set<String> clientRoleCompositesToAdd = new HashSet<>(SetUtil.searchForMissing(clientCompositesByClient, existingClientCompositeNames));
 
         roleCompositeRepository.addRealmRoleClientComposites(realmName, realmRole, clientId, clientRoleCompositesToAdd);
     }
@@ -81,8 +81,8 @@ public class StateService {
         logger.debug("Updated states of realm '{}'", realmImport.getRealm());
     }
 
-    public List<String> getRealmRoles() {
-        return stateRepository.getState("roles-realm");
+    public List<String> getRealmRoles(String realmName) {
+        return stateRepository.getState(realmName, "roles-realm");
     }
 
     private void setRealmRoles(RealmImport realmImport) {
@@ -97,7 +97,7 @@ public class StateService {
                 .map(RoleRepresentation::getName)
                 .toList();
 
-        stateRepository.setState("roles-realm", state);
+        stateRepository.setState(realmImport.getRealm(), "roles-realm", state);
     }
 
     private void setClientRoles(RealmImport realmImport) {
@@ -113,7 +113,7 @@ public class StateService {
                     .map(RoleRepresentation::getName)
                     .toList();
 
-            stateRepository.setState("roles-client-" + client.getKey(), state);
+            stateRepository.setState(realmImport.getRealm(), "roles-client-" + client.getKey(), state);
         }
     }
 
@@ -131,16 +131,16 @@ public class StateService {
                     .map(ResourceRepresentation::getName)
                     .toList();
 
-            stateRepository.setState("resources-client-" + clientKey, resourceNames);
+            stateRepository.setState(realmImport.getRealm(), "resources-client-" + clientKey, resourceNames);
         }
     }
 
-    public List<String> getClientRoles(String client) {
-        return stateRepository.getState("roles-client-" + client);
+    public List<String> getClientRoles(String realmName, String client) {
+        return stateRepository.getState(realmName, "roles-client-" + client);
     }
 
-    public List<String> getClientAuthorizationResources(String client) {
-        return stateRepository.getState("resources-client-" + client);
+    public List<String> getClientAuthorizationResources(String realmName, String client) {
+        return stateRepository.getState(realmName, "resources-client-" + client);
     }
 
     private void setClients(RealmImport realmImport) {
@@ -156,15 +156,15 @@ public class StateService {
             }
         }
 
-        stateRepository.setState("clients", state);
+        stateRepository.setState(realmImport.getRealm(), "clients", state);
     }
 
-    public List<String> getRequiredActions() {
-        return stateRepository.getState("required-actions");
+    public List<String> getRequiredActions(String realmName) {
+        return stateRepository.getState(realmName, "required-actions");
     }
 
-    public List<String> getClients() {
-        return stateRepository.getState("clients");
+    public List<String> getClients(String realmName) {
+        return stateRepository.getState(realmName, "clients");
     }
 
     private void setRequiredActions(RealmImport realmImport) {
@@ -175,13 +175,13 @@ public class StateService {
                 .map(RequiredActionProviderRepresentation::getAlias)
                 .toList();
 
-        stateRepository.setState("required-actions", state);
+        stateRepository.setState(realmImport.getRealm(), "required-actions", state);
     }
 
-    public List<ComponentRepresentation> getComponents(List<ComponentRepresentation> components, String parentComponentName) {
+    public List<ComponentRepresentation> getComponents(String realmName, List<ComponentRepresentation> components, String parentComponentName) {
         List<String> componentsFromState = (parentComponentName != null)
-                ? stateRepository.getState("sub-components-" + parentComponentName)
-                : stateRepository.getState("components");
+                ? stateRepository.getState(realmName, "sub-components-" + parentComponentName)
+                : stateRepository.getState(realmName, "components");
 
         return components.stream()
                 .filter(component -> componentsFromState.contains(component.getName()))
@@ -199,14 +199,14 @@ public class StateService {
                 String componentName = component.getName();
                 state.add(componentName);
 
-                setSubComponents(component);
+                setSubComponents(realmImport.getRealm(), component);
             }
         }
 
-        stateRepository.setState("components", state);
+        stateRepository.setState(realmImport.getRealm(), "components", state);
     }
 
-    private void setSubComponents(ComponentExportRepresentation component) {
+    private void setSubComponents(String realmName, ComponentExportRepresentation component) {
         MultivaluedHashMap<String, ComponentExportRepresentation> subComponents = component.getSubComponents();
         if (subComponents.isEmpty()) {
             return;
@@ -221,7 +221,7 @@ public class StateService {
             state.addAll(nameOfSubComponents);
         }
 
-        stateRepository.setState("sub-components-" + component.getName(), state);
+        stateRepository.setState(realmName, "sub-components-" + component.getName(), state);
     }
 
 
@@ -231,10 +231,10 @@ public class StateService {
 
         List<String> state = new ArrayList<>(messageBundles.keySet());
 
-        stateRepository.setState("message-bundles", state);
+        stateRepository.setState(realmImport.getRealm(), "message-bundles", state);
     }
 
-    public List<String> getMessageBundles() {
-        return stateRepository.getState("message-bundles");
+    public List<String> getMessageBundles(String realmName) {
+        return stateRepository.getState(realmName, "message-bundles");
     }
 }
@@ -24,19 +24,35 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanComparator;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanCopier;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanIntrospector;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
+import io.github.doriangrelu.keycloak.config.util.bean.UnsupportedBeanException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
+/**
+ * Deep clone, patch and compare representations.
+ *
+ * <p>Representations are handled property by property with precomputed accessors (see {@link BeanCopier} and
+ * {@link BeanComparator}). Values the reflective engine does not support are handled like before, by a round-trip
+ * through a Jackson tree. Both give the same results.</p>
+ */
 public class CloneUtil {
     private static final Logger logger = LoggerFactory.getLogger(CloneUtil.class);
 
     private static final ObjectMapper nonNullMapper;
     private static final ObjectMapper nonFailingMapper;
 
+    private static final BeanCopier beanCopier;
+    private static final BeanComparator beanComparator;
+
     static {
         nonNullMapper = new ObjectMapper();
         nonNullMapper.setSerializationInclusion(Include.NON_NULL);
@@ -44,6 +60,10 @@ public class CloneUtil {
 
         nonFailingMapper = new ObjectMapper();
         nonFailingMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        BeanIntrospector beanIntrospector = new BeanIntrospector(nonNullMapper, nonFailingMapper);
+        beanCopier = new BeanCopier(beanIntrospector);
+        beanComparator = new BeanComparator(beanIntrospector);
     }
 
     private CloneUtil() {
@@ -56,16 +76,14 @@ public class CloneUtil {
     public static <T, S> T deepClone(S object, Class<T> targetClass, String... ignoredProperties) {
         if (object == null) return null;
 
-        JsonNode jsonNode = nonNullMapper.valueToTree(object);
-        removeIgnoredProperties(jsonNode, ignoredProperties);
-
-        Class<?> clazz = targetClass != null ? targetClass : object.getClass();
-        JavaType javaType = nonFailingMapper.constructType(clazz);
+        @SuppressWarnings("unchecked")
+        Class<T> clazz = targetClass != null ? targetClass : (Class<T>) object.getClass();
 
         try {
-            return nonFailingMapper.treeToValue(jsonNode, javaType);
-        } catch (IOException e) {
-            throw new ImportProcessingException(e);
+            return beanCopier.copy(object, clazz, ignoredProperties);
+        } catch (UnsupportedBeanException e) {
+            logger.trace("objects.deepClone: fall back to json tree: {}", e.getMessage());
+            return jsonDeepClone(object, clazz, ignoredProperties);
         }
     }
 
@@ -77,8 +95,70 @@ public class CloneUtil {
         if (origin == null) return null;
         if (patch == null) return origin;
 
-        S clonedOrigin = deepClone(origin);
-        T clonedPatch = deepClone(patch, ignoredProperties);
+        try {
+            return beanCopier.patch(origin, patch, ignoredProperties);
+        } catch (UnsupportedBeanException e) {
+            logger.trace("objects.patch: fall back to json tree: {}", e.getMessage());
+            return jsonPatch(origin, patch, ignoredProperties);
+        }
+    }
+
+    public static <S, T> boolean deepEquals(S origin, T other, String... ignoredProperties) {
+        if (origin == null && other == null) return true;
+        if (origin == null || other == null) return false;
+
+        boolean ret;
+        try {
+            ret = beanComparator.equals(origin, other, ignoredProperties);
+        } catch (UnsupportedBeanException e) {
+            logger.trace("objects.deepEquals: fall back to json tree: {}", e.getMessage());
+            return jsonDeepEquals(origin, other, ignoredProperties);
+        }
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("objects.deepEquals: ret: {} | origin: {} | other: {} | ignoredProperties: {}",
+                    ret, nonNullMapper.valueToTree(origin), nonNullMapper.valueToTree(other), ignoredProperties
+            );
+        }
+
+        return ret;
+    }
+
+    /**
+     * Same comparison as {@link #deepEquals}, but reports every differing property instead of stopping at the
+     * first one. Nested objects and maps are compared property by property, lists as a whole.
+     *
+     * @return the differing properties, empty if both objects are deep equal
+     */
+    public static <S, T> List<PropertyChange> diff(S origin, T other, String... ignoredProperties) {
+        if (origin == null && other == null) return List.of();
+        if (origin == null || other == null) return List.of(new PropertyChange("", origin, other));
+
+        try {
+            return beanComparator.diff(origin, other, ignoredProperties);
+        } catch (UnsupportedBeanException e) {
+            logger.trace("objects.diff: fall back to json tree: {}", e.getMessage());
+            return jsonDiff(origin, other, ignoredProperties);
+        }
+    }
+
+    static <T, S> T jsonDeepClone(S object, Class<T> targetClass, String... ignoredProperties) {
+        JsonNode jsonNode = nonNullMapper.valueToTree(object);
+        removeIgnoredProperties(jsonNode, ignoredProperties);
+
+        JavaType javaType = nonFailingMapper.constructType(targetClass);
+
+        try {
+            return nonFailingMapper.treeToValue(jsonNode, javaType);
+        } catch (IOException e) {
+            throw new ImportProcessingException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, S> S jsonPatch(S origin, T patch, String... ignoredProperties) {
+        S clonedOrigin = jsonDeepClone(origin, (Class<S>) origin.getClass());
+        T clonedPatch = jsonDeepClone(patch, (Class<T>) patch.getClass(), ignoredProperties);
 
         ObjectReader objectReader = nonFailingMapper.readerForUpdating(clonedOrigin);
         JsonNode patchAsNode = nonNullMapper.valueToTree(clonedPatch);
@@ -90,10 +170,7 @@ public class CloneUtil {
         }
     }
 
-    public static <S, T> boolean deepEquals(S origin, T other, String... ignoredProperties) {
-        if (origin == null && other == null) return true;
-        if (origin == null || other == null) return false;
-
+    static <S, T> boolean jsonDeepEquals(S origin, T other, String... ignoredProperties) {
         JsonNode originJsonNode = nonNullMapper.valueToTree(origin);
         JsonNode otherJsonNode = nonNullMapper.valueToTree(other);
 
@@ -112,6 +189,19 @@ public class CloneUtil {
         return ret;
     }
 
+    static <S, T> List<PropertyChange> jsonDiff(S origin, T other, String... ignoredProperties) {
+        JsonNode originJsonNode = nonNullMapper.valueToTree(origin);
+        JsonNode otherJsonNode = nonNullMapper.valueToTree(other);
+
+        removeIgnoredProperties(originJsonNode, ignoredProperties);
+        removeIgnoredProperties(otherJsonNode, ignoredProperties);
+
+        handleEmptyCredentials(originJsonNode);
+        handleEmptyCredentials(otherJsonNode);
+
+        return BeanComparator.diff(originJsonNode, otherJsonNode);
+    }
+
     private static void handleEmptyCredentials(JsonNode jsonNode) {
         if (jsonNode.has("credentials") && jsonNode.get("credentials").isEmpty()) {
             ((ObjectNode) jsonNode).remove("credentials");
@@ -21,16 +21,30 @@
 package io.github.doriangrelu.keycloak.config.util;
 
 import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CryptoUtil {
+    // deriving the AES key from password and salt is expensive (PBKDF2), the encryptors are thread-safe
+    private static final Map<EncryptorKey, TextEncryptor> encryptors = new ConcurrentHashMap<>();
+
     private CryptoUtil() {
     }
 
     public static String encrypt(String data, String key, String salt) {
-        return Encryptors.text(key, salt).encrypt(data);
+        return encryptor(key, salt).encrypt(data);
     }
 
     public static String decrypt(String data, String key, String salt) {
-        return Encryptors.text(key, salt).decrypt(data);
+        return encryptor(key, salt).decrypt(data);
+    }
+
+    static TextEncryptor encryptor(String key, String salt) {
+        return encryptors.computeIfAbsent(new EncryptorKey(key, salt), encryptorKey -> Encryptors.text(key, salt));
+    }
+
+    private record EncryptorKey(String key, String salt) {
     }
 }
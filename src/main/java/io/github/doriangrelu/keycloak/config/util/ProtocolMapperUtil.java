@@ -20,12 +20,15 @@
 
 package io.github.doriangrelu.keycloak.config.util;
 
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
 import org.keycloak.representations.idm.ProtocolMapperRepresentation;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class ProtocolMapperUtil {
+    private static final String PROTOCOL_MAPPERS = "protocolMappers";
+
     private ProtocolMapperUtil() {
     }
 
@@ -122,4 +125,47 @@ public class ProtocolMapperUtil {
 
         return true;
     }
+
+    /**
+     * Reports the differences which make {@link #areProtocolMappersEqual} fail. Mappers are matched by name, a
+     * missing or additional mapper is reported as {@code protocolMappers.<name>}, a changed property of a mapper as
+     * {@code protocolMappers.<name>.<path>}.
+     */
+    public static List<PropertyChange> diffProtocolMappers(
+            List<ProtocolMapperRepresentation> protocolMappers,
+            List<ProtocolMapperRepresentation> existingProtocolMappers
+    ) {
+        if (areProtocolMappersEqual(protocolMappers, existingProtocolMappers)) return List.of();
+
+        PropertyChange wholeListChange = new PropertyChange(PROTOCOL_MAPPERS, existingProtocolMappers, protocolMappers);
+        if (protocolMappers == null || protocolMappers.isEmpty() || existingProtocolMappers == null) {
+            return List.of(wholeListChange);
+        }
+
+        List<PropertyChange> changes = new ArrayList<>();
+
+        for (ProtocolMapperRepresentation protocolMapper : estimateProtocolMappersToRemove(protocolMappers, existingProtocolMappers)) {
+            changes.add(new PropertyChange(PROTOCOL_MAPPERS + '.' + protocolMapper.getName(), protocolMapper, null));
+        }
+
+        for (ProtocolMapperRepresentation protocolMapper : protocolMappers) {
+            String path = PROTOCOL_MAPPERS + '.' + protocolMapper.getName();
+            ProtocolMapperRepresentation existingProtocolMapper = existingProtocolMappers.stream()
+                    .filter(em -> Objects.equals(em.getName(), protocolMapper.getName()))
+                    .findFirst().orElse(null);
+
+            if (existingProtocolMapper == null) {
+                changes.add(new PropertyChange(path, null, protocolMapper));
+                continue;
+            }
+
+            ProtocolMapperRepresentation patchedProtocolMapper = CloneUtil.patch(existingProtocolMapper, protocolMapper);
+            for (PropertyChange change : CloneUtil.diff(existingProtocolMapper, patchedProtocolMapper, "id")) {
+                changes.add(new PropertyChange(path + '.' + change.path(), change.origin(), change.other()));
+            }
+        }
+
+        // mappers with the same name on one side only differ in number
+        return changes.isEmpty() ? List.of(wholeListChange) : changes;
+    }
 }
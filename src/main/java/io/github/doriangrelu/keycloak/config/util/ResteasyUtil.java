@@ -20,48 +20,247 @@
 
 package io.github.doriangrelu.keycloak.config.util;
 
+import io.github.doriangrelu.keycloak.config.exception.KeycloakProviderException;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties.HttpEngine;
 import io.github.doriangrelu.keycloak.config.util.resteasy.CookieClientFilter;
+import io.github.doriangrelu.keycloak.config.util.resteasy.JdkHttpClientEngine;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
 import org.jboss.resteasy.client.jaxrs.ResteasyClient;
 import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
 import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.Socket;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
 
 public class ResteasyUtil {
+    private static final int COMPRESS_REQUESTS_THRESHOLD = 1024;
+
     private ResteasyUtil() {
     }
 
-    public static ResteasyClient getClient(boolean sslVerification, URL httpProxy, Duration connectTimeout, Duration readTimeout) {
-        ResteasyClientBuilder clientBuilder = new ResteasyClientBuilderImpl();
-        clientBuilder
-                .connectionPoolSize(10)
-                .connectTimeout(connectTimeout.get(ChronoUnit.NANOS), TimeUnit.NANOSECONDS)
-                .readTimeout(readTimeout.get(ChronoUnit.NANOS), TimeUnit.NANOSECONDS);
+    /**
+     * Creates the connection pool used by {@link #getClient}. The pool is closed together with the client.
+     */
+    public static PoolingHttpClientConnectionManager createConnectionManager(boolean sslVerification, KeycloakHttpProperties http) {
+        Duration connectionTtl = http.getConnectionTtl();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", createSslSocketFactory(sslVerification))
+                        .build(),
+                null, null, null,
+                connectionTtl != null ? connectionTtl.toMillis() : -1, TimeUnit.MILLISECONDS
+        );
+        connectionManager.setMaxTotal(http.getPoolSize());
+        connectionManager.setDefaultMaxPerRoute(http.getMaxPerRoute());
+
+        return connectionManager;
+    }
+
+    /**
+     * @param connectionManager the connection pool of the {@link HttpEngine#APACHE} engine, ignored by the {@link HttpEngine#JDK} engine
+     */
+    public static ResteasyClient getClient(
+            boolean sslVerification,
+            URL httpProxy,
+            Duration connectTimeout,
+            Duration readTimeout,
+            KeycloakHttpProperties http,
+            PoolingHttpClientConnectionManager connectionManager
+    ) {
+        ClientHttpEngine engine = http.getEngine() == HttpEngine.JDK
+                ? createJdkEngine(sslVerification, httpProxy, connectTimeout, readTimeout, http)
+                : createApacheEngine(httpProxy, connectTimeout, readTimeout, http, connectionManager);
+
+        ResteasyClientBuilder clientBuilder = new ResteasyClientBuilderImpl()
+                .httpEngine(engine);
+
+        clientBuilder.register(CookieClientFilter.class);
 
-        if (sslVerification) {
-            clientBuilder
-                    .disableTrustManager()
-                    .hostnameVerification(ResteasyClientBuilder.HostnameVerificationPolicy.ANY);
+        return clientBuilder.build();
+    }
+
+    private static ClientHttpEngine createApacheEngine(
+            URL httpProxy,
+            Duration connectTimeout,
+            Duration readTimeout,
+            KeycloakHttpProperties http,
+            PoolingHttpClientConnectionManager connectionManager
+    ) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(toMillis(connectTimeout))
+                .setSocketTimeout(toMillis(readTimeout))
+                .build();
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableContentCompression()
+                .evictExpiredConnections();
+
+        if (http.getIdleTimeout() != null) {
+            httpClientBuilder.evictIdleConnections(http.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
         }
 
-        if (httpProxy != null) {
-            clientBuilder.defaultProxy(
-                    httpProxy.getHost(),
-                    httpProxy.getPort(),
-                    httpProxy.getProtocol()
-            );
-        } else {
-            clientBuilder.defaultProxy(
-                    System.getProperty("http.proxyHost"),
-                    Integer.parseInt(System.getProperty("http.proxyPort", "0"))
+        if (http.getKeepAlive() != null) {
+            long keepAlive = http.getKeepAlive().toMillis();
+            httpClientBuilder.setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+            });
+        }
+
+        HttpHost proxy = getProxy(httpProxy);
+        if (proxy != null) {
+            httpClientBuilder.setProxy(proxy);
+        }
+
+        return new ApacheHttpClient43Engine(httpClientBuilder.build(), true);
+    }
+
+    private static ClientHttpEngine createJdkEngine(
+            boolean sslVerification,
+            URL httpProxy,
+            Duration connectTimeout,
+            Duration readTimeout,
+            KeycloakHttpProperties http
+    ) {
+        SSLContext sslContext = createSslContext(sslVerification);
+
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .sslContext(sslContext);
+
+        int connectTimeoutMillis = toMillis(connectTimeout);
+        if (connectTimeoutMillis > 0) {
+            httpClientBuilder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        }
+
+        HttpHost proxy = getProxy(httpProxy);
+        if (proxy != null) {
+            httpClientBuilder.proxy(ProxySelector.of(new InetSocketAddress(proxy.getHostName(), proxy.getPort())));
+        }
+
+        int readTimeoutMillis = toMillis(readTimeout);
+
+        return new JdkHttpClientEngine(
+                httpClientBuilder.build(),
+                sslContext,
+                readTimeoutMillis > 0 ? Duration.ofMillis(readTimeoutMillis) : null,
+                http.isCompressRequests() ? COMPRESS_REQUESTS_THRESHOLD : -1
+        );
+    }
+
+    private static SSLConnectionSocketFactory createSslSocketFactory(boolean sslVerification) {
+        if (!sslVerification) {
+            return new SSLConnectionSocketFactory(SSLContexts.createDefault(), SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+        }
+
+        try {
+            return new SSLConnectionSocketFactory(
+                    SSLContextBuilder.create().loadTrustMaterial(TrustAllStrategy.INSTANCE).build(),
+                    NoopHostnameVerifier.INSTANCE
             );
+        } catch (GeneralSecurityException e) {
+            throw new KeycloakProviderException(e);
         }
+    }
 
-        clientBuilder.register(CookieClientFilter.class);
+    private static SSLContext createSslContext(boolean sslVerification) {
+        try {
+            if (!sslVerification) {
+                return SSLContext.getDefault();
+            }
 
-        return clientBuilder.build();
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{new TrustAllTrustManager()}, null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new KeycloakProviderException(e);
+        }
+    }
+
+    private static HttpHost getProxy(URL httpProxy) {
+        if (httpProxy != null) {
+            return new HttpHost(httpProxy.getHost(), httpProxy.getPort(), httpProxy.getProtocol());
+        }
+
+        String proxyHost = System.getProperty("http.proxyHost");
+        if (proxyHost == null) return null;
+
+        return new HttpHost(proxyHost, Integer.parseInt(System.getProperty("http.proxyPort", "0")));
+    }
+
+    private static int toMillis(Duration timeout) {
+        return (int) TimeUnit.NANOSECONDS.toMillis(timeout.get(ChronoUnit.NANOS));
+    }
+
+    /**
+     * Trusts all certificates. As an {@link X509ExtendedTrustManager}, it also skips the hostname verification.
+     */
+    private static class TrustAllTrustManager extends X509ExtendedTrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            // trust all
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            // trust all
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            // trust all
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            // trust all
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            // trust all
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            // trust all
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
     }
 }
@@ -0,0 +1,71 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util;
+
+import org.keycloak.representations.idm.RoleRepresentation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Name-keyed lookup of the roles of a single role container, the realm or a client.
+ *
+ * <p>The index is built once from the roles fetched from Keycloak and is read-only afterward, so it can be
+ * cached for the whole import run and shared by parallel imports. If a name is present more than once, the
+ * first role wins, like a {@code stream().filter(...).findFirst()} over the source list.</p>
+ */
+public final class RoleIndex {
+    private final List<RoleRepresentation> roles;
+    private final Map<String, RoleRepresentation> rolesByName;
+
+    private RoleIndex(List<RoleRepresentation> roles, Map<String, RoleRepresentation> rolesByName) {
+        this.roles = roles;
+        this.rolesByName = rolesByName;
+    }
+
+    /**
+     * @param roles the roles of the container, may be null
+     */
+    public static RoleIndex of(Collection<RoleRepresentation> roles) {
+        if (roles == null) return new RoleIndex(List.of(), Map.of());
+
+        Map<String, RoleRepresentation> rolesByName = new HashMap<>();
+        for (RoleRepresentation role : roles) {
+            rolesByName.putIfAbsent(role.getName(), role);
+        }
+
+        return new RoleIndex(List.copyOf(roles), rolesByName);
+    }
+
+    /**
+     * Returns the roles in the order of the source list. The roles are shared and must not be modified.
+     */
+    public List<RoleRepresentation> getRoles() {
+        return roles;
+    }
+
+    public Optional<RoleRepresentation> find(String roleName) {
+        return Optional.ofNullable(rolesByName.get(roleName));
+    }
+}
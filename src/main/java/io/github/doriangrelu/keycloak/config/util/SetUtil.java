@@ -0,0 +1,69 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SetUtil {
+    private SetUtil() {
+    }
+
+    /**
+     * Returns the elements of {@code searchedFor} which are not contained in {@code trawled}, in their original order.
+     *
+     * <p>{@code trawled} is hashed once, so the cost is linear in the size of both collections instead of
+     * {@code List.contains} for every element. The returned list is mutable.</p>
+     */
+    public static <T> List<T> searchForMissing(Collection<T> searchedFor, Collection<T> trawled) {
+        if (searchedFor == null || searchedFor.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<T> trawledSet = toSet(trawled);
+        List<T> missing = new ArrayList<>();
+
+        for (T element : searchedFor) {
+            if (!trawledSet.contains(element)) {
+                missing.add(element);
+            }
+        }
+
+        return missing;
+    }
+
+    /**
+     * Returns the collection itself if it is already a {@link Set}, otherwise a hashed copy of it.
+     */
+    public static <T> Set<T> toSet(Collection<T> collection) {
+        if (collection == null) {
+            return Collections.emptySet();
+        }
+        if (collection instanceof Set<T> set) {
+            return set;
+        }
+        return new HashSet<>(collection);
+    }
+}
@@ -0,0 +1,343 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.ReadableProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares beans property by property, with the same result as comparing the JSON trees written by a
+ * {@code NON_NULL} mapper, but without building them.
+ *
+ * <p>{@link #diff} reports every differing property. Beans and maps are compared property by property,
+ * other values (scalars, lists) are reported as a whole. {@link #equals} stops at the first difference.</p>
+ *
+ * <p>Whenever Jackson would write two values of different types in a way that could still produce equal
+ * trees, an {@link UnsupportedBeanException} is thrown and the caller has to fall back to Jackson.</p>
+ */
+public class BeanComparator {
+    private static final String CREDENTIALS = "credentials";
+    private static final String[] NO_IGNORED_PROPERTIES = new String[0];
+
+    private final BeanIntrospector introspector;
+
+    public BeanComparator(BeanIntrospector introspector) {
+        this.introspector = introspector;
+    }
+
+    /**
+     * @param ignoredProperties top level properties which are not compared. Empty {@code credentials} are
+     *                          considered as absent.
+     */
+    public boolean equals(Object origin, Object other, String... ignoredProperties) {
+        return compare(origin, other, ignoredProperties, 1).isEmpty();
+    }
+
+    /**
+     * @param ignoredProperties top level properties which are not compared. Empty {@code credentials} are
+     *                          considered as absent.
+     * @return the differing properties, in the order of the properties of the origin
+     */
+    public List<PropertyChange> diff(Object origin, Object other, String... ignoredProperties) {
+        return compare(origin, other, ignoredProperties, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compares two JSON trees like {@link #diff} compares beans.
+     */
+    public static List<PropertyChange> diff(JsonNode origin, JsonNode other) {
+        Differences differences = new Differences(Integer.MAX_VALUE);
+        compareNodes(origin, other, differences);
+        return differences.changes;
+    }
+
+    private List<PropertyChange> compare(Object origin, Object other, String[] ignoredProperties, int limit) {
+        if (!BeanIntrospector.isBeanType(origin.getClass()) || !BeanIntrospector.isBeanType(other.getClass())) {
+            throw new UnsupportedBeanException("only beans can be compared");
+        }
+
+        Differences differences = new Differences(limit);
+        compareBeans(origin, other, ignoredProperties, true, differences);
+        return differences.changes;
+    }
+
+    private void compareBeans(Object origin, Object other, String[] ignoredProperties, boolean root, Differences differences) {
+        BeanMetadata originMetadata = introspector.getMetadata(origin.getClass());
+
+        if (origin.getClass() == other.getClass()) {
+            for (ReadableProperty property : originMetadata.getReadableProperties()) {
+                if (differences.isComplete()) return;
+
+                Object value = propertyValue(origin, property, ignoredProperties, root);
+                Object otherValue = propertyValue(other, property, ignoredProperties, root);
+                compareProperty(property.name(), value, otherValue, differences);
+            }
+            return;
+        }
+
+        BeanMetadata otherMetadata = introspector.getMetadata(other.getClass());
+
+        for (ReadableProperty property : originMetadata.getReadableProperties()) {
+            if (differences.isComplete()) return;
+
+            ReadableProperty otherProperty = otherMetadata.findReadableProperty(property.name());
+            Object value = propertyValue(origin, property, ignoredProperties, root);
+            Object otherValue = otherProperty == null ? null : propertyValue(other, otherProperty, ignoredProperties, root);
+            compareProperty(property.name(), value, otherValue, differences);
+        }
+
+        for (ReadableProperty property : otherMetadata.getReadableProperties()) {
+            if (differences.isComplete()) return;
+            if (originMetadata.findReadableProperty(property.name()) != null) continue;
+
+            compareProperty(property.name(), null, propertyValue(other, property, ignoredProperties, root), differences);
+        }
+    }
+
+    private void compareMaps(Map<?, ?> origin, Map<?, ?> other, Differences differences) {
+        for (Map.Entry<?, ?> entry : origin.entrySet()) {
+            if (differences.isComplete()) return;
+            if (entry.getValue() == null) continue;
+
+            String key = BeanIntrospector.toKey(entry.getKey());
+            compareProperty(key, entry.getValue(), other.get(key), differences);
+        }
+
+        for (Map.Entry<?, ?> entry : other.entrySet()) {
+            if (differences.isComplete()) return;
+
+            String key = BeanIntrospector.toKey(entry.getKey());
+            if (entry.getValue() == null || origin.get(key) != null) continue;
+
+            compareProperty(key, null, entry.getValue(), differences);
+        }
+    }
+
+    private void compareProperty(String name, Object value, Object otherValue, Differences differences) {
+        if (value == null && otherValue == null) return;
+
+        differences.enter(name);
+        if (value == null || otherValue == null) {
+            differences.add(value, otherValue);
+        } else {
+            ValueKind kind = commonKind(value, otherValue);
+
+            if (kind == ValueKind.NODE) {
+                compareNodes((JsonNode) value, (JsonNode) otherValue, differences);
+            } else if (kind == ValueKind.MAP) {
+                compareMaps((Map<?, ?>) value, (Map<?, ?>) otherValue, differences);
+            } else if (kind == ValueKind.BEAN) {
+                compareBeans(value, otherValue, NO_IGNORED_PROPERTIES, false, differences);
+            } else if (kind == null || !valueEquals(value, otherValue)) {
+                differences.add(value, otherValue);
+            }
+        }
+        differences.leave();
+    }
+
+    private static void compareNodes(JsonNode origin, JsonNode other, Differences differences) {
+        if (!origin.isObject() || !other.isObject()) {
+            if (!origin.equals(other)) differences.add(origin, other);
+            return;
+        }
+
+        for (Map.Entry<String, JsonNode> field : origin.properties()) {
+            if (differences.isComplete()) return;
+
+            JsonNode otherField = other.get(field.getKey());
+            differences.enter(field.getKey());
+            if (otherField == null) {
+                differences.add(field.getValue(), null);
+            } else {
+                compareNodes(field.getValue(), otherField, differences);
+            }
+            differences.leave();
+        }
+
+        for (Map.Entry<String, JsonNode> field : other.properties()) {
+            if (differences.isComplete()) return;
+            if (origin.has(field.getKey())) continue;
+
+            differences.enter(field.getKey());
+            differences.add(null, field.getValue());
+            differences.leave();
+        }
+    }
+
+    /**
+     * @return the value as it would appear in the JSON tree, {@code null} if the property would be absent
+     */
+    private Object propertyValue(Object bean, ReadableProperty property, String[] ignoredProperties, boolean root) {
+        if (!root) return property.get(bean);
+        if (BeanIntrospector.isIgnored(property.name(), ignoredProperties)) return null;
+
+        Object value = property.get(bean);
+        if (value != null && CREDENTIALS.equals(property.name()) && isEmptyNode(value)) return null;
+
+        return value;
+    }
+
+    private boolean valueEquals(Object origin, Object other) {
+        ValueKind kind = commonKind(origin, other);
+        if (kind == null) return false;
+
+        return switch (kind) {
+            case LEAF -> leafEquals(origin, other);
+            case BINARY -> Arrays.equals((byte[]) origin, (byte[]) other);
+            case NODE -> origin.equals(other);
+            case ARRAY -> arrayEquals(origin, other);
+            case MAP -> {
+                Differences differences = new Differences(1);
+                compareMaps((Map<?, ?>) origin, (Map<?, ?>) other, differences);
+                yield differences.changes.isEmpty();
+            }
+            case BEAN -> {
+                Differences differences = new Differences(1);
+                compareBeans(origin, other, NO_IGNORED_PROPERTIES, false, differences);
+                yield differences.changes.isEmpty();
+            }
+        };
+    }
+
+    /**
+     * @return the kind of both values, {@code null} if they are written as different JSON types
+     */
+    private ValueKind commonKind(Object origin, Object other) {
+        ValueKind kind = kindOf(origin);
+        ValueKind otherKind = kindOf(other);
+
+        if (kind == otherKind) return kind;
+
+        // a bean and a map are both written as JSON object
+        if (kind.isObject() && otherKind.isObject()) {
+            throw new UnsupportedBeanException("%s and %s are both written as object", origin.getClass().getName(), other.getClass().getName());
+        }
+        return null;
+    }
+
+    private static boolean leafEquals(Object origin, Object other) {
+        Class<?> type = origin instanceof Enum<?> enumValue ? enumValue.getDeclaringClass() : origin.getClass();
+        Class<?> otherType = other instanceof Enum<?> enumValue ? enumValue.getDeclaringClass() : other.getClass();
+
+        if (type != otherType) {
+            throw new UnsupportedBeanException("%s and %s are written as JSON scalars", type.getName(), otherType.getName());
+        }
+
+        // DecimalNode compares numerically
+        if (origin instanceof BigDecimal decimal) return decimal.compareTo((BigDecimal) other) == 0;
+
+        return origin.equals(other);
+    }
+
+    private boolean arrayEquals(Object origin, Object other) {
+        Iterator<?> originIterator = elements(origin);
+        Iterator<?> otherIterator = elements(other);
+
+        while (originIterator.hasNext() && otherIterator.hasNext()) {
+            Object value = originIterator.next();
+            Object otherValue = otherIterator.next();
+
+            if (value == null || otherValue == null) {
+                if (value != otherValue) return false;
+            } else if (!valueEquals(value, otherValue)) {
+                return false;
+            }
+        }
+
+        return !originIterator.hasNext() && !otherIterator.hasNext();
+    }
+
+    private boolean isEmptyNode(Object value) {
+        return switch (kindOf(value)) {
+            case LEAF, BINARY -> true;
+            case NODE -> ((JsonNode) value).isEmpty();
+            case ARRAY -> !elements(value).hasNext();
+            case MAP -> ((Map<?, ?>) value).values().stream().allMatch(Objects::isNull);
+            case BEAN -> introspector.getMetadata(value.getClass()).getReadableProperties().stream()
+                    .allMatch(property -> property.get(value) == null);
+        };
+    }
+
+    private ValueKind kindOf(Object value) {
+        if (value instanceof JsonNode) return ValueKind.NODE;
+        if (BeanIntrospector.isLeafValue(value)) return ValueKind.LEAF;
+        if (value instanceof byte[]) return ValueKind.BINARY;
+        if (value instanceof Object[]) return ValueKind.ARRAY;
+
+        Class<?> type = value.getClass();
+        if ((value instanceof Collection<?> || value instanceof Map<?, ?>) && introspector.isPlainContainer(type)) {
+            return value instanceof Map<?, ?> ? ValueKind.MAP : ValueKind.ARRAY;
+        }
+        if (BeanIntrospector.isBeanType(type)) return ValueKind.BEAN;
+
+        throw new UnsupportedBeanException("%s is not supported", type.getName());
+    }
+
+    private static Iterator<?> elements(Object value) {
+        if (value instanceof Object[] array) return Arrays.asList(array).iterator();
+        return ((Collection<?>) value).iterator();
+    }
+
+    private static final class Differences {
+        private final int limit;
+        private final List<PropertyChange> changes = new ArrayList<>();
+        private final Deque<String> path = new ArrayDeque<>();
+
+        private Differences(int limit) {
+            this.limit = limit;
+        }
+
+        private void enter(String name) {
+            path.addLast(name);
+        }
+
+        private void leave() {
+            path.removeLast();
+        }
+
+        private void add(Object origin, Object other) {
+            changes.add(new PropertyChange(String.join(".", path), origin, other));
+        }
+
+        private boolean isComplete() {
+            return changes.size() >= limit;
+        }
+    }
+
+    private enum ValueKind {
+        LEAF, BINARY, NODE, ARRAY, MAP, BEAN;
+
+        private boolean isObject() {
+            return this == MAP || this == BEAN;
+        }
+    }
+}
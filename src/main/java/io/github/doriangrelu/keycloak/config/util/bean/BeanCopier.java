@@ -0,0 +1,275 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.ReadableProperty;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.WritableProperty;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deep copies beans property by property, with the same result as writing them with a {@code NON_NULL}
+ * mapper and reading the JSON back into the target class, but without building an intermediate tree.
+ *
+ * <p>Null values are skipped, so the target keeps its defaults. Properties unknown to the target class are
+ * ignored. Whenever a value would need a conversion Jackson performs implicitly, an
+ * {@link UnsupportedBeanException} is thrown and the caller has to fall back to Jackson.</p>
+ */
+public class BeanCopier {
+    private static final String[] NO_IGNORED_PROPERTIES = new String[0];
+
+    private final BeanIntrospector introspector;
+
+    public BeanCopier(BeanIntrospector introspector) {
+        this.introspector = introspector;
+    }
+
+    /**
+     * @param ignoredProperties top level properties of the source which are not copied
+     */
+    public <T> T copy(Object source, Class<T> targetClass, String... ignoredProperties) {
+        return targetClass.cast(copyBean(source, targetClass, ignoredProperties));
+    }
+
+    /**
+     * Copies the origin and overwrites every top level property which is set in a copy of the patch. Like
+     * with Jackson, properties of the patch which are {@code null} or ignored are therefore still applied
+     * if the patch class initializes them with a default value. Nested beans, lists and maps are replaced,
+     * not merged.
+     *
+     * @param ignoredProperties top level properties of the patch which are not copied
+     */
+    public <S> S patch(S origin, Object patch, String... ignoredProperties) {
+        @SuppressWarnings("unchecked")
+        S patched = (S) copyBean(origin, origin.getClass(), NO_IGNORED_PROPERTIES);
+        Object copiedPatch = copyBean(patch, patch.getClass(), ignoredProperties);
+
+        BeanMetadata originMetadata = introspector.getMetadata(origin.getClass());
+        BeanMetadata patchMetadata = introspector.getMetadata(patch.getClass());
+
+        for (ReadableProperty property : patchMetadata.getReadableProperties()) {
+            Object value = property.get(copiedPatch);
+            if (value == null) continue;
+
+            WritableProperty targetProperty = originMetadata.findWritableProperty(property.name());
+            if (targetProperty == null) continue;
+
+            targetProperty.set(patched, copyValue(value, targetProperty.type()));
+        }
+
+        return patched;
+    }
+
+    private Object copyBean(Object source, Class<?> targetClass, String[] ignoredProperties) {
+        if (!BeanIntrospector.isBeanType(source.getClass())) {
+            throw new UnsupportedBeanException("%s can not be copied into the bean %s", source.getClass().getName(), targetClass.getName());
+        }
+
+        BeanMetadata sourceMetadata = introspector.getMetadata(source.getClass());
+        BeanMetadata targetMetadata = introspector.getMetadata(targetClass);
+
+        Object target = targetMetadata.newInstance();
+
+        for (ReadableProperty property : sourceMetadata.getReadableProperties()) {
+            if (BeanIntrospector.isIgnored(property.name(), ignoredProperties)) continue;
+
+            Object value = property.get(source);
+            if (value == null) continue;
+
+            WritableProperty targetProperty = targetMetadata.findWritableProperty(property.name());
+            if (targetProperty == null) continue;
+
+            targetProperty.set(target, copyValue(value, targetProperty.type()));
+        }
+
+        return target;
+    }
+
+    private Object copyValue(Object value, JavaType type) {
+        Class<?> rawType = type.getRawClass();
+
+        if (rawType == Object.class) return copyUntyped(value);
+        if (JsonNode.class.isAssignableFrom(rawType)) return copyNode(value, rawType);
+        if (type.isArrayType()) return copyArray(value, type);
+        if (type.isCollectionLikeType()) return copyCollection(value, type);
+        if (type.isMapLikeType()) return copyMap(value, type);
+        if (BeanIntrospector.isLeafType(rawType)) return copyLeaf(value, rawType);
+
+        return copyBean(value, rawType, NO_IGNORED_PROPERTIES);
+    }
+
+    private static Object copyLeaf(Object value, Class<?> type) {
+        Class<?> boxedType = type.isPrimitive() ? ClassUtil.wrapperType(type) : type;
+        if (!boxedType.isInstance(value) || !BeanIntrospector.isLeafValue(value)) {
+            throw new UnsupportedBeanException("%s would be converted to %s", value.getClass().getName(), type.getName());
+        }
+
+        if (value instanceof Date date) return new Date(date.getTime());
+
+        return value;
+    }
+
+    private static Object copyNode(Object value, Class<?> type) {
+        if (!type.isInstance(value)) {
+            throw new UnsupportedBeanException("%s would be converted to %s", value.getClass().getName(), type.getName());
+        }
+
+        return ((JsonNode) value).deepCopy();
+    }
+
+    /**
+     * Jackson reads values of untyped properties as maps, lists and the natural JSON scalar types.
+     */
+    private Object copyUntyped(Object value) {
+        if (value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+
+        if (value instanceof Map<?, ?> map && introspector.isPlainContainer(map.getClass())) {
+            Map<String, Object> copy = new LinkedHashMap<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() == null) continue;
+                copy.put(BeanIntrospector.toKey(entry.getKey()), copyUntyped(entry.getValue()));
+            }
+            return copy;
+        }
+
+        if (value instanceof Collection<?> || value instanceof Object[]) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : elements(value)) {
+                copy.add(element == null ? null : copyUntyped(element));
+            }
+            return copy;
+        }
+
+        throw new UnsupportedBeanException("%s would be converted to an untyped value", value.getClass().getName());
+    }
+
+    private Object copyArray(Object value, JavaType type) {
+        Class<?> componentType = type.getContentType().getRawClass();
+
+        if (componentType.isPrimitive()) {
+            if (value.getClass() != type.getRawClass()) {
+                throw new UnsupportedBeanException("%s would be converted to %s", value.getClass().getName(), type.getRawClass().getName());
+            }
+
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(componentType, length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+
+        List<Object> elements = elements(value);
+        Object copy = Array.newInstance(componentType, elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            Object element = elements.get(i);
+            Array.set(copy, i, element == null ? null : copyValue(element, type.getContentType()));
+        }
+        return copy;
+    }
+
+    private Object copyCollection(Object value, JavaType type) {
+        Collection<Object> copy = newCollection(type.getRawClass());
+        for (Object element : elements(value)) {
+            copy.add(element == null ? null : copyValue(element, type.getContentType()));
+        }
+        return copy;
+    }
+
+    private Object copyMap(Object value, JavaType type) {
+        if (!(value instanceof Map<?, ?> map) || !introspector.isPlainContainer(map.getClass())) {
+            throw new UnsupportedBeanException("%s would be converted to %s", value.getClass().getName(), type.getRawClass().getName());
+        }
+
+        Class<?> keyType = type.getKeyType().getRawClass();
+        if (keyType != String.class && keyType != Object.class) {
+            throw new UnsupportedBeanException("map keys would be converted to %s", keyType.getName());
+        }
+
+        Map<Object, Object> copy = newMap(type.getRawClass());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getValue() == null) continue;
+            copy.put(BeanIntrospector.toKey(entry.getKey()), copyValue(entry.getValue(), type.getContentType()));
+        }
+        return copy;
+    }
+
+    private List<Object> elements(Object value) {
+        if (value instanceof Object[] array) return Arrays.asList(array);
+        if (value instanceof Collection<?> collection && introspector.isPlainContainer(collection.getClass())) {
+            return new ArrayList<>(collection);
+        }
+
+        throw new UnsupportedBeanException("%s would be converted to an array", value.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> newCollection(Class<?> type) {
+        if (type == Collection.class || type == List.class) return new ArrayList<>();
+        if (type == Set.class) return new HashSet<>();
+        if (type == SortedSet.class || type == NavigableSet.class) return new TreeSet<>();
+
+        return (Collection<Object>) newContainer(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> newMap(Class<?> type) {
+        if (type == Map.class) return new LinkedHashMap<>();
+        if (type == SortedMap.class || type == NavigableMap.class) return new TreeMap<>();
+        if (type == ConcurrentMap.class) return new ConcurrentHashMap<>();
+
+        return (Map<Object, Object>) newContainer(type);
+    }
+
+    private Object newContainer(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || !introspector.isPlainContainer(type)) {
+            throw new UnsupportedBeanException("%s can not be instantiated like Jackson does", type.getName());
+        }
+
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedBeanException("%s has no public default constructor", type.getName());
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonKey;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonMerge;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeId;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonAppend;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.ReadableProperty;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.WritableProperty;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Resolves and caches the {@link BeanMetadata} of classes, based on the bean introspection of the given
+ * Jackson mappers. Property names, visibility, {@code @JsonIgnore} and {@code @JsonProperty} are therefore
+ * resolved exactly like Jackson does.
+ */
+public class BeanIntrospector {
+    private static final List<Class<? extends Annotation>> UNSUPPORTED_CLASS_ANNOTATIONS = List.of(
+            JsonSerialize.class, JsonDeserialize.class, JsonTypeInfo.class, JsonSubTypes.class, JsonIdentityInfo.class,
+            JsonFilter.class, JsonFormat.class, JsonIncludeProperties.class, JsonAppend.class
+    );
+
+    private static final List<Class<? extends Annotation>> UNSUPPORTED_PROPERTY_ANNOTATIONS = List.of(
+            JsonSerialize.class, JsonUnwrapped.class, JsonFormat.class, JsonRawValue.class, JsonTypeInfo.class,
+            JsonSubTypes.class, JsonTypeId.class, JsonManagedReference.class, JsonBackReference.class,
+            JsonIdentityInfo.class, JsonIdentityReference.class, JsonView.class, JsonMerge.class, JsonKey.class,
+            JsonValue.class, JsonAnyGetter.class, JsonAnySetter.class, JsonFilter.class
+    );
+
+    private static final Set<JsonInclude.Include> SUPPORTED_INCLUSIONS = EnumSet.of(
+            JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_ABSENT, JsonInclude.Include.USE_DEFAULTS
+    );
+
+    // Keycloak deserializers which only add leniency for hand written JSON (single value instead of a list)
+    private static final Set<String> LENIENT_DESERIALIZERS = Set.of(
+            "org.keycloak.json.StringListMapDeserializer",
+            "org.keycloak.json.StringOrArrayDeserializer"
+    );
+
+    private static final Set<Class<?>> LEAF_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Integer.class, Long.class, Short.class, Byte.class,
+            Double.class, Float.class, BigInteger.class, BigDecimal.class, UUID.class, Date.class
+    );
+
+    private final ObjectMapper serializationMapper;
+    private final ObjectMapper deserializationMapper;
+
+    private final Map<Class<?>, BeanMetadata> metadata = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Boolean> plainContainers = new ConcurrentHashMap<>();
+
+    /**
+     * @param serializationMapper   the mapper which would write the beans, defines the readable properties
+     * @param deserializationMapper the mapper which would read the beans, defines the writable properties
+     */
+    public BeanIntrospector(ObjectMapper serializationMapper, ObjectMapper deserializationMapper) {
+        this.serializationMapper = serializationMapper;
+        this.deserializationMapper = deserializationMapper;
+    }
+
+    public BeanMetadata getMetadata(Class<?> type) {
+        return metadata.computeIfAbsent(type, this::introspect);
+    }
+
+    /**
+     * Leaf values are immutable scalars (or {@link Date}), which Jackson writes as a single JSON value.
+     */
+    public static boolean isLeafValue(Object value) {
+        return value instanceof Enum<?> || LEAF_TYPES.contains(value.getClass());
+    }
+
+    public static boolean isLeafType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || LEAF_TYPES.contains(type);
+    }
+
+    /**
+     * Bean types are the classes Jackson (de)serializes property by property, as opposed to scalars,
+     * containers and JDK classes with dedicated (de)serializers.
+     */
+    public static boolean isBeanType(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isArray()
+                && !Enum.class.isAssignableFrom(type)
+                && !isJdkType(type)
+                && !Iterable.class.isAssignableFrom(type)
+                && !Map.class.isAssignableFrom(type)
+                && !JsonSerializable.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Checks if a {@link Map} or {@link Collection} class is handled by the default Jackson container
+     * (de)serializers. JDK containers always are, others only if they are not customized by annotations.
+     */
+    public boolean isPlainContainer(Class<?> type) {
+        if (isJdkType(type)) return true;
+
+        return plainContainers.computeIfAbsent(type, containerType -> Stream.of(containerType.getAnnotations())
+                .noneMatch(annotation -> annotation.annotationType().getPackageName().startsWith("com.fasterxml.jackson")));
+    }
+
+    static boolean isIgnored(String name, String[] ignoredProperties) {
+        for (String ignoredProperty : ignoredProperties) {
+            if (ignoredProperty.equals(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Jackson writes map keys as strings, only string keys are read back unchanged.
+     */
+    static String toKey(Object key) {
+        if (key instanceof String stringKey) return stringKey;
+
+        throw new UnsupportedBeanException("map key %s would be converted to a string", key == null ? null : key.getClass().getName());
+    }
+
+    private BeanMetadata introspect(Class<?> type) {
+        List<ReadableProperty> readableProperties = new ArrayList<>();
+        Map<String, WritableProperty> writableProperties = new LinkedHashMap<>();
+        AnnotatedConstructor[] constructor = new AnnotatedConstructor[1];
+
+        String candidateError = isBeanType(type) ? null : describe(type, "is not a bean");
+        String readableError = candidateError != null ? candidateError : introspectReadable(type, readableProperties);
+        String writableError = candidateError != null ? candidateError : introspectWritable(type, writableProperties, constructor);
+
+        if (readableError != null) readableProperties.clear();
+        if (writableError != null) writableProperties.clear();
+
+        return new BeanMetadata(type, readableProperties, readableError, writableProperties, constructor[0], writableError);
+    }
+
+    private String introspectReadable(Class<?> type, List<ReadableProperty> properties) {
+        SerializationConfig config = serializationMapper.getSerializationConfig();
+        BeanDescription description = config.introspect(config.constructType(type));
+
+        String error = checkClass(description);
+        if (error != null) return error;
+        if (description.findJsonValueAccessor() != null) return describe(type, "has a @JsonValue accessor");
+        if (description.findAnyGetter() != null) return describe(type, "has a @JsonAnyGetter accessor");
+
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (!property.couldSerialize()) continue;
+
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor == null) continue;
+
+            error = checkProperty(type, property);
+            if (error != null) return error;
+
+            accessor.fixAccess(true);
+            properties.add(new ReadableProperty(property.getName(), accessor));
+        }
+
+        // Jackson fails on beans without properties
+        if (properties.isEmpty()) return describe(type, "has no serializable properties");
+
+        return null;
+    }
+
+    private String introspectWritable(Class<?> type, Map<String, WritableProperty> properties, AnnotatedConstructor[] constructor) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) return describe(type, "is abstract");
+        if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) return describe(type, "is an inner class");
+
+        DeserializationConfig config = deserializationMapper.getDeserializationConfig();
+        BeanDescription description = config.introspect(config.constructType(type));
+
+        String error = checkClass(description);
+        if (error != null) return error;
+        if (description.findAnySetterAccessor() != null) return describe(type, "has a @JsonAnySetter accessor");
+
+        boolean hasCreator = Stream.concat(description.getConstructors().stream(), description.getFactoryMethods().stream())
+                .anyMatch(creator -> creator.hasAnnotation(JsonCreator.class));
+        if (hasCreator) return describe(type, "has a @JsonCreator");
+
+        constructor[0] = description.findDefaultConstructor();
+        if (constructor[0] == null) return describe(type, "has no default constructor");
+        constructor[0].fixAccess(true);
+
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.hasConstructorParameter()) {
+                return describe(type, "has the creator property '" + property.getName() + "'");
+            }
+
+            AnnotatedMember mutator = property.hasSetter() ? property.getSetter() : property.getField();
+            if (mutator == null) {
+                // Jackson would deserialize into the collection returned by the getter
+                if (property.hasGetter() && isContainerType(property.getGetter().getType())) {
+                    return describe(type, "has the setterless property '" + property.getName() + "'");
+                }
+                continue;
+            }
+
+            error = checkProperty(type, property);
+            if (error != null) return error;
+
+            JavaType propertyType = mutator instanceof AnnotatedMethod setter ? setter.getParameterType(0) : mutator.getType();
+
+            mutator.fixAccess(true);
+            properties.put(property.getName(), new WritableProperty(property.getName(), mutator, propertyType));
+        }
+
+        return null;
+    }
+
+    private String checkClass(BeanDescription description) {
+        AnnotatedClass classInfo = description.getClassInfo();
+        Class<?> type = classInfo.getRawType();
+
+        for (Class<? extends Annotation> annotation : UNSUPPORTED_CLASS_ANNOTATIONS) {
+            if (classInfo.hasAnnotation(annotation)) {
+                return describe(type, "is annotated with @" + annotation.getSimpleName());
+            }
+        }
+
+        JsonIgnoreProperties ignoreProperties = classInfo.getAnnotation(JsonIgnoreProperties.class);
+        if (ignoreProperties != null && ignoreProperties.value().length > 0) {
+            return describe(type, "ignores properties with @JsonIgnoreProperties");
+        }
+
+        if (!isSupportedInclusion(classInfo.getAnnotation(JsonInclude.class), false)) {
+            return describe(type, "has an unsupported @JsonInclude");
+        }
+
+        return null;
+    }
+
+    private String checkProperty(Class<?> type, BeanPropertyDefinition property) {
+        if (property.getRawPrimaryType().isAnnotationPresent(JsonIgnoreType.class)) {
+            return describe(type, "has the ignored type property '" + property.getName() + "'");
+        }
+
+        List<Annotated> members = Stream.of(property.getGetter(), property.getSetter(), property.getField())
+                .filter(Objects::nonNull)
+                .map(Annotated.class::cast)
+                .toList();
+
+        for (Annotated member : members) {
+            for (Class<? extends Annotation> annotation : UNSUPPORTED_PROPERTY_ANNOTATIONS) {
+                if (member.hasAnnotation(annotation)) {
+                    return describe(type, "has the property '" + property.getName() + "' annotated with @" + annotation.getSimpleName());
+                }
+            }
+
+            if (!isSupportedInclusion(member.getAnnotation(JsonInclude.class), Map.class.isAssignableFrom(property.getRawPrimaryType()))) {
+                return describe(type, "has the property '" + property.getName() + "' with an unsupported @JsonInclude");
+            }
+
+            if (!isLenientDeserializer(member.getAnnotation(JsonDeserialize.class))) {
+                return describe(type, "has the property '" + property.getName() + "' annotated with @JsonDeserialize");
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The content inclusion only applies to maps, and only if declared on the property itself.
+     */
+    private static boolean isSupportedInclusion(JsonInclude inclusion, boolean checkContent) {
+        if (inclusion == null) return true;
+
+        return SUPPORTED_INCLUSIONS.contains(inclusion.value())
+                && (!checkContent || SUPPORTED_INCLUSIONS.contains(inclusion.content()));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static boolean isLenientDeserializer(JsonDeserialize deserialize) {
+        if (deserialize == null) return true;
+
+        Class<? extends JsonDeserializer> using = deserialize.using();
+        return LENIENT_DESERIALIZERS.contains(using.getName())
+                && deserialize.contentUsing() == JsonDeserializer.None.class
+                && deserialize.keyUsing() == KeyDeserializer.None.class
+                && deserialize.as() == Void.class
+                && deserialize.contentAs() == Void.class
+                && deserialize.keyAs() == Void.class;
+    }
+
+    private static boolean isContainerType(JavaType type) {
+        return type.isCollectionLikeType() || type.isMapLikeType();
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static String describe(Class<?> type, String reason) {
+        return type.getName() + " " + reason;
+    }
+}
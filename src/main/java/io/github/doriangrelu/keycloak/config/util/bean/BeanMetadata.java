@@ -0,0 +1,112 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed property accessors of a class, as Jackson would use them to serialize (readable properties)
+ * and to deserialize (writable properties) an instance of it.
+ *
+ * <p>If Jackson would handle one of both directions in a way the reflective engine does not reproduce,
+ * the reason is kept instead of the properties and accessing them throws an {@link UnsupportedBeanException}.</p>
+ */
+public final class BeanMetadata {
+    private final Class<?> type;
+
+    private final List<ReadableProperty> readableProperties;
+    private final Map<String, ReadableProperty> readablePropertiesByName;
+    private final String readableError;
+
+    private final Map<String, WritableProperty> writableProperties;
+    private final AnnotatedConstructor constructor;
+    private final String writableError;
+
+    BeanMetadata(
+            Class<?> type,
+            List<ReadableProperty> readableProperties,
+            String readableError,
+            Map<String, WritableProperty> writableProperties,
+            AnnotatedConstructor constructor,
+            String writableError
+    ) {
+        this.type = type;
+        this.readableProperties = List.copyOf(readableProperties);
+        this.readablePropertiesByName = Map.copyOf(readableProperties.stream()
+                .collect(Collectors.toMap(ReadableProperty::name, Function.identity())));
+        this.readableError = readableError;
+        this.writableProperties = Map.copyOf(writableProperties);
+        this.constructor = constructor;
+        this.writableError = writableError;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the serializable properties, in the order Jackson would write them
+     */
+    public List<ReadableProperty> getReadableProperties() {
+        if (readableError != null) throw new UnsupportedBeanException(readableError);
+        return readableProperties;
+    }
+
+    public ReadableProperty findReadableProperty(String name) {
+        if (readableError != null) throw new UnsupportedBeanException(readableError);
+        return readablePropertiesByName.get(name);
+    }
+
+    public WritableProperty findWritableProperty(String name) {
+        if (writableError != null) throw new UnsupportedBeanException(writableError);
+        return writableProperties.get(name);
+    }
+
+    public Object newInstance() {
+        if (writableError != null) throw new UnsupportedBeanException(writableError);
+
+        try {
+            return constructor.call();
+        } catch (Exception e) {
+            throw new ImportProcessingException("Unable to create an instance of " + type.getName(), e);
+        }
+    }
+
+    public record ReadableProperty(String name, AnnotatedMember accessor) {
+        public Object get(Object bean) {
+            return accessor.getValue(bean);
+        }
+    }
+
+    public record WritableProperty(String name, AnnotatedMember mutator, JavaType type) {
+        public void set(Object bean, Object value) {
+            mutator.setValue(bean, value);
+        }
+    }
+}
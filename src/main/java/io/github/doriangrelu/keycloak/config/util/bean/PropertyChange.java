@@ -0,0 +1,38 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+/**
+ * A property which differs between two beans.
+ *
+ * @param path   dot separated path of the property, map keys are used like property names
+ * @param origin the value in the origin, {@code null} if the property is absent
+ * @param other  the value in the other bean, {@code null} if the property is absent
+ */
+public record PropertyChange(String path, Object origin, Object other) {
+    /**
+     * Only the path, as the values may contain secrets.
+     */
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,38 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+/**
+ * Signals that a value cannot be handled by the reflective engine, because Jackson would treat it in a
+ * way the engine does not reproduce (custom serializers, type information, creators, ...).
+ *
+ * <p>Callers are expected to fall back to the Jackson tree based implementation. The exception does not
+ * capture a stack trace, so it is cheap to throw.</p>
+ */
+public class UnsupportedBeanException extends RuntimeException {
+    public UnsupportedBeanException(String message) {
+        super(message, null, false, false);
+    }
+
+    public UnsupportedBeanException(String format, Object... args) {
+        this(String.format(format, args));
+    }
+}
@@ -0,0 +1,222 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.resteasy;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.client.jaxrs.internal.FinalizedClientResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+/**
+ * RESTEasy client engine based on {@link HttpClient java.net.http.HttpClient}.
+ *
+ * <p>The engine negotiates HTTP/2 if the server supports it and falls back to HTTP/1.1 otherwise. Responses are
+ * requested with {@code Accept-Encoding: gzip} and decompressed transparently. Request bodies larger than
+ * {@code compressRequestsThreshold} bytes are sent gzip compressed, if enabled.</p>
+ */
+public class JdkHttpClientEngine implements ClientHttpEngine {
+    private static final String GZIP = "gzip";
+
+    // headers managed by java.net.http.HttpClient, which cannot be set on a request
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+    private final SSLContext sslContext;
+    private final Duration readTimeout;
+    private final int compressRequestsThreshold;
+
+    /**
+     * @param readTimeout               timeout of a single request, no timeout if {@code null}
+     * @param compressRequestsThreshold minimum size in bytes of a request body to be compressed, no compression if negative
+     */
+    public JdkHttpClientEngine(HttpClient httpClient, SSLContext sslContext, Duration readTimeout, int compressRequestsThreshold) {
+        this.httpClient = httpClient;
+        this.sslContext = sslContext;
+        this.readTimeout = readTimeout;
+        this.compressRequestsThreshold = compressRequestsThreshold;
+    }
+
+    @Override
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+    @Override
+    public HostnameVerifier getHostnameVerifier() {
+        return null;
+    }
+
+    @Override
+    public Response invoke(Invocation invocation) {
+        ClientInvocation request = (ClientInvocation) invocation;
+
+        HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = httpClient.send(createRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new ProcessingException("Unable to invoke request: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Unable to invoke request: " + e, e);
+        }
+
+        return createResponse(request, httpResponse);
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private HttpRequest createRequest(ClientInvocation request) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        boolean compressed = false;
+
+        if (request.getEntity() != null) {
+            ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            request.getDelegatingOutputStream().setDelegate(entity);
+            request.writeRequestBody(request.getEntityStream());
+
+            byte[] bytes = entity.toByteArray();
+            if (compressRequestsThreshold >= 0 && bytes.length >= compressRequestsThreshold) {
+                bytes = gzip(bytes);
+                compressed = true;
+            }
+            body = HttpRequest.BodyPublishers.ofByteArray(bytes);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri())
+                .method(request.getMethod(), body);
+
+        if (readTimeout != null) {
+            builder.timeout(readTimeout);
+        }
+
+        boolean acceptEncoding = false;
+        for (Map.Entry<String, List<String>> header : request.getHeaders().asMap().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (RESTRICTED_HEADERS.contains(name)) continue;
+            if (compressed && name.equals("content-encoding")) continue;
+
+            acceptEncoding |= name.equals("accept-encoding");
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+
+        if (!acceptEncoding) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        if (compressed) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        return builder.build();
+    }
+
+    private static ClientResponse createResponse(ClientInvocation request, HttpResponse<InputStream> httpResponse) {
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        httpResponse.headers().map().forEach(headers::addAll);
+
+        boolean gzipped = httpResponse.statusCode() != Response.Status.NO_CONTENT.getStatusCode()
+                && !request.getMethod().equals("HEAD")
+                && httpResponse.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map(GZIP::equalsIgnoreCase)
+                .orElse(false);
+        if (gzipped) {
+            // the entity is decompressed below, so the headers must describe the decompressed entity
+            headers.keySet().removeIf(name -> name.equalsIgnoreCase(HttpHeaders.CONTENT_ENCODING)
+                    || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH));
+        }
+
+        ClientResponse response = new FinalizedClientResponse(request.getClientConfiguration(), request.getTracingLogger()) {
+            private InputStream stream;
+
+            @Override
+            protected InputStream getInputStream() {
+                if (stream == null) {
+                    try {
+                        stream = gzipped ? new GZIPInputStream(httpResponse.body()) : httpResponse.body();
+                    } catch (IOException e) {
+                        throw new ProcessingException("Unable to read response: " + e, e);
+                    }
+                }
+                return stream;
+            }
+
+            @Override
+            protected void setInputStream(InputStream is) {
+                stream = is;
+                resetEntity();
+            }
+
+            @Override
+            public void releaseConnection() throws IOException {
+                releaseConnection(false);
+            }
+
+            @Override
+            public void releaseConnection(boolean consumeInputStream) throws IOException {
+                // closing the body returns the connection to the pool of the HttpClient
+                InputStream is = stream != null ? stream : httpResponse.body();
+                if (consumeInputStream) {
+                    is.transferTo(OutputStream.nullOutputStream());
+                }
+                is.close();
+            }
+        };
+
+        response.setStatus(httpResponse.statusCode());
+        response.setHeaders(headers);
+        return response;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
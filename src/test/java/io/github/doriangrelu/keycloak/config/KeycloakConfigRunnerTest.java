@@ -0,0 +1,122 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config;
+
+import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.model.KeycloakImport;
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportFilesProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRealmsProperties;
+import io.github.doriangrelu.keycloak.config.provider.KeycloakImportProvider;
+import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.service.RealmImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class KeycloakConfigRunnerTest {
+
+    private final KeycloakImportProvider keycloakImportProvider = mock(KeycloakImportProvider.class);
+    private final RealmImportService realmImportService = mock(RealmImportService.class);
+    private final ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+    private final KeycloakProvider keycloakProvider = mock(KeycloakProvider.class);
+
+    private final List<String> imported = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> cleaned = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        ImportFilesProperties files = mock(ImportFilesProperties.class);
+        when(files.getLocations()).thenReturn(List.of("location"));
+        when(importConfigProperties.getFiles()).thenReturn(files);
+        when(importConfigProperties.getRealms()).thenReturn(new ImportRealmsProperties(4));
+        when(keycloakProvider.getConnectionPoolStatistics()).thenReturn(Optional.empty());
+
+        Map<String, List<RealmImport>> realmImports = new LinkedHashMap<>();
+        realmImports.put("a-1.json", List.of(realmPart("a", "a-1")));
+        realmImports.put("b.json", List.of(realmPart("b", "b")));
+        realmImports.put("a-2.json", List.of(realmPart("a", "a-2"), realmPart("a", "a-3")));
+        realmImports.put("c.json", List.of(realmPart("c", "c")));
+        when(keycloakImportProvider.readFromLocations(ArgumentMatchers.<Collection<String>>any()))
+                .thenReturn(new KeycloakImport(Map.of("location", realmImports)));
+
+        doAnswer(invocation -> imported.add(invocation.<RealmImport>getArgument(0).getSource()))
+                .when(realmImportService).doImport(any());
+        doAnswer(invocation -> cleaned.add(invocation.<RealmImport>getArgument(0).getSource()))
+                .when(realmImportService).cleanRealm(any());
+    }
+
+    @Test
+    void shouldImportRealmsConcurrentlyAndKeepOrderOfParts() {
+        KeycloakConfigRunner runner = new KeycloakConfigRunner(keycloakImportProvider, realmImportService, importConfigProperties, List.of(), keycloakProvider);
+
+        runner.run();
+
+        assertThat(runner.getExitCode(), is(0));
+        assertThat(imported, containsInAnyOrder("a-1", "a-2", "a-3", "b", "c"));
+        assertThat(imported.stream().filter(part -> part.startsWith("a")).toList(), contains("a-1", "a-2", "a-3"));
+        assertThat(cleaned, containsInAnyOrder("a-1", "a-2", "a-3", "b", "c"));
+    }
+
+    @Test
+    void shouldRethrowFailureOfRealm() {
+        doThrow(new InvalidImportException("b failed"))
+                .when(realmImportService).doImport(ArgumentMatchers.argThat(part -> "b".equals(part.getRealm())));
+        KeycloakConfigRunner runner = new KeycloakConfigRunner(keycloakImportProvider, realmImportService, importConfigProperties, List.of(), keycloakProvider);
+
+        // debug logging is enabled for tests, so the runner rethrows the import error
+        InvalidImportException exception = assertThrows(InvalidImportException.class, runner::run);
+
+        assertThat(exception.getMessage(), is("b failed"));
+        assertThat(runner.getExitCode(), is(1));
+        assertThat(cleaned.contains("b"), is(false));
+    }
+
+    private static RealmImport realmPart(String realm, String source) {
+        RealmImport realmImport = new RealmImport();
+        realmImport.setRealm(realm);
+        realmImport.setSource(source);
+        return realmImport;
+    }
+}
@@ -23,6 +23,7 @@ package io.github.doriangrelu.keycloak.config.properties;
 import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportManagedProperties.ImportManagedPropertiesValues;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportBehaviorsProperties.ChecksumChangedOption;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties.StateFormat;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,10 +44,13 @@ import static org.hamcrest.Matchers.is;
         "spring.main.log-startup-info=false",
 
         "import.parallel=true",
+        "import.parallel-max-concurrency=32",
         "import.validate=false",
         "import.files.locations=other",
         "import.files.include-hidden-files=true",
         "import.files.excludes=exclude1,exclude2",
+        "import.files.streaming=true",
+        "import.files.max-concurrency=4",
         "import.var-substitution.enabled=true",
         "import.var-substitution.nested=false",
         "import.var-substitution.undefined-is-error=false",
@@ -54,9 +58,11 @@ import static org.hamcrest.Matchers.is;
         "import.var-substitution.suffix=}",
         "import.cache.enabled=false",
         "import.cache.key=custom",
+        "import.cache.incremental=true",
         "import.remote-state.enabled=false",
         "import.remote-state.encryption-key=password",
         "import.remote-state.encryption-salt=0123456789ABCDEFabcdef",
+        "import.remote-state.format=compact",
         "import.managed.authentication-flow=no-delete",
         "import.managed.group=no-delete",
         "import.managed.required-action=no-delete",
@@ -74,7 +80,12 @@ import static org.hamcrest.Matchers.is;
         "import.behaviors.remove-default-role-from-user=true",
         "import.behaviors.skip-attributes-for-federated-user=true",
         "import.behaviors.checksum-with-cache-key=true",
-        "import.behaviors.checksum-changed=fail"
+        "import.behaviors.checksum-changed=fail",
+        "import.behaviors.client-authorization-bulk-import=true",
+        "import.users.preload=true",
+        "import.users.preload-page-size=1000",
+        "import.phases.max-concurrency=4",
+        "import.realms.max-concurrency=8"
 })
 class ImportConfigPropertiesTest {
 
@@ -86,9 +97,12 @@ class ImportConfigPropertiesTest {
     void shouldPopulateConfigurationProperties() {
         assertThat(properties.isValidate(), is(false));
         assertThat(properties.isParallel(), is(true));
+        assertThat(properties.getParallelMaxConcurrency(), is(32));
         assertThat(properties.getFiles().getLocations(), contains("other"));
         assertThat(properties.getFiles().getExcludes(), contains("exclude1", "exclude2"));
         assertThat(properties.getFiles().isIncludeHiddenFiles(), is(true));
+        assertThat(properties.getFiles().isStreaming(), is(true));
+        assertThat(properties.getFiles().getMaxConcurrency(), is(4));
         assertThat(properties.getVarSubstitution().isEnabled(), is(true));
         assertThat(properties.getVarSubstitution().isNested(), is(false));
         assertThat(properties.getVarSubstitution().isUndefinedIsError(), is(false));
@@ -96,9 +110,11 @@ class ImportConfigPropertiesTest {
         assertThat(properties.getVarSubstitution().getSuffix(), is("}"));
         assertThat(properties.getCache().isEnabled(), is(false));
         assertThat(properties.getCache().getKey(), is("custom"));
+        assertThat(properties.getCache().isIncremental(), is(true));
         assertThat(properties.getRemoteState().isEnabled(), is(false));
         assertThat(properties.getRemoteState().getEncryptionKey(), is("password"));
         assertThat(properties.getRemoteState().getEncryptionSalt(), is("0123456789ABCDEFabcdef"));
+        assertThat(properties.getRemoteState().getFormat(), is(StateFormat.COMPACT));
         assertThat(properties.getManaged().getAuthenticationFlow(), is(ImportManagedPropertiesValues.NO_DELETE));
         assertThat(properties.getManaged().getGroup(), is(ImportManagedPropertiesValues.NO_DELETE));
         assertThat(properties.getManaged().getRequiredAction(), is(ImportManagedPropertiesValues.NO_DELETE));
@@ -117,6 +133,11 @@ class ImportConfigPropertiesTest {
         assertThat(properties.getBehaviors().isSkipAttributesForFederatedUser(), is(true));
         assertThat(properties.getBehaviors().isChecksumWithCacheKey(), is(true));
         assertThat(properties.getBehaviors().getChecksumChanged(), is(ChecksumChangedOption.FAIL));
+        assertThat(properties.getBehaviors().isClientAuthorizationBulkImport(), is(true));
+        assertThat(properties.getUsers().isPreload(), is(true));
+        assertThat(properties.getUsers().getPreloadPageSize(), is(1000));
+        assertThat(properties.getPhases().getMaxConcurrency(), is(4));
+        assertThat(properties.getRealms().getMaxConcurrency(), is(8));
     }
 
     @EnableConfigurationProperties(ImportConfigProperties.class)
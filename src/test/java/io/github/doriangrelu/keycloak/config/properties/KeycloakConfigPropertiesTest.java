@@ -21,6 +21,7 @@
 package io.github.doriangrelu.keycloak.config.properties;
 
 import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties;
 import java.net.URI;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,7 +55,14 @@ import static org.hamcrest.core.Is.is;
         "keycloak.read-timeout=20s",
         "keycloak.availability-check.enabled=true",
         "keycloak.availability-check.timeout=60s",
-        "keycloak.availability-check.retry-delay=10s"
+        "keycloak.availability-check.retry-delay=10s",
+        "keycloak.http.engine=JDK",
+        "keycloak.http.compress-requests=true",
+        "keycloak.http.pool-size=50",
+        "keycloak.http.max-per-route=25",
+        "keycloak.http.connection-ttl=5m",
+        "keycloak.http.idle-timeout=30s",
+        "keycloak.http.keep-alive=1m"
 })
 class KeycloakConfigPropertiesTest {
 
@@ -75,6 +83,13 @@ class KeycloakConfigPropertiesTest {
         assertThat(properties.getAvailabilityCheck().isEnabled(), is(true));
         assertThat(properties.getAvailabilityCheck().getTimeout(), is(Duration.ofSeconds(60L)));
         assertThat(properties.getAvailabilityCheck().getRetryDelay(), is(Duration.ofSeconds(10L)));
+        assertThat(properties.getHttp().getEngine(), is(KeycloakHttpProperties.HttpEngine.JDK));
+        assertThat(properties.getHttp().isCompressRequests(), is(true));
+        assertThat(properties.getHttp().getPoolSize(), is(50));
+        assertThat(properties.getHttp().getMaxPerRoute(), is(25));
+        assertThat(properties.getHttp().getConnectionTtl(), is(Duration.ofMinutes(5)));
+        assertThat(properties.getHttp().getIdleTimeout(), is(Duration.ofSeconds(30)));
+        assertThat(properties.getHttp().getKeepAlive(), is(Duration.ofMinutes(1)));
     }
 
     @EnableConfigurationProperties(KeycloakConfigProperties.class)
@@ -0,0 +1,71 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.provider;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(GithubActionsExtension.class)
+class AliasRejectingParserTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    @Test
+    void shouldReadAnchorsWithoutAliases() throws IOException {
+        try (JsonParser parser = parser("first: &value 1\nsecond: 2\n")) {
+            assertThat(OBJECT_MAPPER.readValue(parser, Map.class), is(Map.of("first", 1, "second", 2)));
+        }
+    }
+
+    @Test
+    void shouldFailOnAlias() throws IOException {
+        try (JsonParser parser = parser("first: &value secret\nsecond: *value\n")) {
+            JsonParseException exception = assertThrows(JsonParseException.class, () -> OBJECT_MAPPER.readValue(parser, Map.class));
+
+            assertThat(exception.getMessage(), containsString("found alias '*value'"));
+        }
+    }
+
+    @Test
+    void shouldFailOnMergeKey() throws IOException {
+        try (JsonParser parser = parser("first: &value\n  a: 1\nsecond:\n  <<: *value\n")) {
+            assertThrows(JsonParseException.class, () -> OBJECT_MAPPER.readValue(parser, Map.class));
+        }
+    }
+
+    private static JsonParser parser(String content) throws IOException {
+        return new AliasRejectingParser((YAMLParser) OBJECT_MAPPER.getFactory().createParser(content));
+    }
+}
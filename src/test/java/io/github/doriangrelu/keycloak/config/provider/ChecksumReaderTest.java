@@ -0,0 +1,72 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.provider;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith(GithubActionsExtension.class)
+class ChecksumReaderTest {
+
+    @Test
+    void shouldComputeChecksumOfContent() throws IOException {
+        String content = "realm: test\ndisplayName: \"Test 😀\"\n";
+
+        ChecksumReader reader = new ChecksumReader(new StringReader(content));
+
+        assertThat(IOUtils.toString(reader), is(content));
+        assertThat(reader.getChecksum(), is(DigestUtils.sha256Hex(content)));
+    }
+
+    @Test
+    void shouldComputeChecksumOfSurrogatePairSplitBetweenReads() throws IOException {
+        String content = "a😀b😁";
+
+        ChecksumReader reader = new ChecksumReader(new StringReader(content));
+        char[] buffer = new char[2];
+        StringBuilder result = new StringBuilder();
+        int count;
+        while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+            result.append(buffer, 0, count);
+        }
+
+        assertThat(result.toString(), is(content));
+        assertThat(reader.getChecksum(), is(DigestUtils.sha256Hex(content)));
+    }
+
+    @Test
+    void shouldComputeChecksumOfEmptyContent() throws IOException {
+        try (Reader reader = new ChecksumReader(new StringReader(""))) {
+            assertThat(reader.read(), is(-1));
+            assertThat(((ChecksumReader) reader).getChecksum(), is(DigestUtils.sha256Hex("")));
+        }
+    }
+}
@@ -23,6 +23,8 @@ package io.github.doriangrelu.keycloak.config.provider;
 import io.github.doriangrelu.keycloak.config.AbstractImportTest;
 import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
 import io.github.doriangrelu.keycloak.config.model.KeycloakImport;
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.junit.jupiter.api.Nested;
@@ -36,8 +38,10 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.test.context.TestPropertySource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -363,6 +367,101 @@ class KeycloakImportProviderIT extends AbstractImportTest {
         }
     }
 
+    @Nested
+    @TestPropertySource(properties = {
+            "import.files.streaming=true"
+    })
+    class Streaming extends AbstractImportTest {
+        @Autowired
+        KeycloakImportProvider keycloakImportProvider;
+
+        @Test
+        void shouldStreamMultiDocumentFile() throws IOException {
+            String location = "classpath:import-files/realm-file-type/auto/2_multi_document.yaml";
+            KeycloakImport keycloakImport = keycloakImportProvider.readFromLocations(location);
+
+            List<RealmImport> realmImports = keycloakImport.getRealmImports().get(location).values().iterator().next();
+            String checksum = DigestUtils.sha256Hex(new ClassPathResource("import-files/realm-file-type/auto/2_multi_document.yaml")
+                    .getContentAsString(StandardCharsets.UTF_8));
+
+            assertThat(realmImports.stream().map(RealmImport::getRealm).toList(), contains(
+                    "realm-file-type-auto-0",
+                    "realm-file-type-auto-1",
+                    "realm-file-type-auto-2",
+                    "realm-file-type-auto-3",
+                    "realm-file-type-auto-4",
+                    "realm-file-type-auto-5"
+            ));
+            assertThat(realmImports.stream().map(RealmImport::getChecksum).distinct().toList(), contains(checksum));
+        }
+
+        @Test
+        void shouldSkipEmptyFiles() throws IOException {
+            Path realmFile = Files.createTempFile("realm", ".json");
+
+            String location = "file:" + realmFile.toAbsolutePath();
+            KeycloakImport keycloakImport = keycloakImportProvider.readFromLocations(location);
+
+            assertThat(keycloakImport.getRealmImports().get(location), is(anEmptyMap()));
+        }
+
+        @Test
+        void shouldFailOnAliases() {
+            String location = "classpath:import-files/realm-file-type/yaml/3_update_realm_anchors.yaml";
+
+            InvalidImportException exception = assertThrows(InvalidImportException.class, () -> keycloakImportProvider.readFromLocations(location));
+
+            assertThat(exception.getMessage(), startsWith("Unable to parse file '"));
+            assertThat(exception.getMessage(), containsString("3_update_realm_anchors.yaml"));
+            assertThat(exception.getMessage(), containsString("YAML aliases are not supported by the streaming parser, found alias '*default-attributes'"));
+        }
+
+        @Test
+        void shouldFailOnInvalidFile() {
+            String location = "classpath:import-files/realm-file-type/syntax-error/0_create_realm";
+
+            InvalidImportException exception = assertThrows(InvalidImportException.class, () -> keycloakImportProvider.readFromLocations(location));
+
+            assertThat(exception.getMessage(), startsWith("Unable to parse file '"));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "import.files.max-concurrency=4"
+    })
+    class Concurrent extends AbstractImportTest {
+        @Autowired
+        KeycloakImportProvider keycloakImportProvider;
+
+        @Test
+        void shouldReadLocalFilesFromDirectorySorted() {
+            String location = "classpath:import-files/import/sorted/*";
+            KeycloakImport keycloakImport = keycloakImportProvider.readFromLocations(location);
+
+            assertThat(keycloakImport.getRealmImports(), hasKey(is(location)));
+            assertThat(keycloakImport.getRealmImports().get(location).keySet(), contains(
+                    matchesPattern(".+/0_create_realm\\.json"),
+                    matchesPattern(".+/1_update_realm\\.json"),
+                    matchesPattern(".+/2_update_realm\\.json"),
+                    matchesPattern(".+/4_update_realm\\.json"),
+                    matchesPattern(".+/5_update_realm\\.json"),
+                    matchesPattern(".+/6_update_realm\\.json"),
+                    matchesPattern(".+/7_update_realm\\.json"),
+                    matchesPattern(".+/9_update_realm\\.json")
+            ));
+        }
+
+        @Test
+        void shouldFailOnInvalidFile() {
+            String location = "classpath:import-files/realm-file-type/json/*";
+
+            InvalidImportException exception = assertThrows(InvalidImportException.class, () -> keycloakImportProvider.readFromLocations(location));
+
+            assertThat(exception.getMessage(), matchesPattern("Unable to parse file '.+/99_invalid_realm\\.json': (?s).+"));
+        }
+    }
+
     private HttpResponse mockServerResponse(HttpRequest request) throws IOException {
         return response().withBody(
                 IOUtils.toByteArray(
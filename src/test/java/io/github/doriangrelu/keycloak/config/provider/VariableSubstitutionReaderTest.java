@@ -0,0 +1,78 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.provider;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.text.StringSubstitutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(GithubActionsExtension.class)
+class VariableSubstitutionReaderTest {
+
+    private final StringSubstitutor substitutor = new StringSubstitutor(Map.of("realm", "test", "name", "Test"), "$(", ")")
+            .setEnableUndefinedVariableException(true);
+
+    @Test
+    void shouldSubstituteVariablesLineByLine() throws IOException {
+        String content = "realm: $(realm)\r\n\ndisplayName: $(name) $(realm)";
+
+        VariableSubstitutionReader reader = new VariableSubstitutionReader(new StringReader(content), substitutor);
+
+        assertThat(IOUtils.toString(reader), is("realm: test\r\n\ndisplayName: Test test"));
+    }
+
+    @Test
+    void shouldNotSubstituteVariablesSpanningLines() throws IOException {
+        String content = "realm: $(re\nalm)";
+
+        VariableSubstitutionReader reader = new VariableSubstitutionReader(new StringReader(content),
+                new StringSubstitutor(Map.of("realm", "test"), "$(", ")"));
+
+        assertThat(IOUtils.toString(reader), is(content));
+    }
+
+    @Test
+    void shouldNotReturnZeroCharactersForLastLineSubstitutedByEmptyString() throws IOException {
+        VariableSubstitutionReader reader = new VariableSubstitutionReader(new StringReader("realm: test\n$(empty)"),
+                new StringSubstitutor(Map.of("empty", ""), "$(", ")"));
+        char[] buffer = new char[64];
+
+        assertThat(reader.read(buffer, 0, buffer.length), is(12));
+        assertThat(reader.read(buffer, 0, buffer.length), is(-1));
+    }
+
+    @Test
+    void shouldFailOnUndefinedVariable() {
+        VariableSubstitutionReader reader = new VariableSubstitutionReader(new StringReader("realm: $(undefined)\n"), substitutor);
+
+        assertThrows(IllegalArgumentException.class, () -> IOUtils.toString(reader));
+    }
+}
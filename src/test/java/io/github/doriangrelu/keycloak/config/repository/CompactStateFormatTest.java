@@ -0,0 +1,67 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.util.JsonUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@ExtendWith(GithubActionsExtension.class)
+class CompactStateFormatTest {
+
+    @Test
+    void shouldDecodeEncodedEntities() {
+        Map<String, List<String>> entities = new LinkedHashMap<>();
+        entities.put("clients", List.of("app", "other"));
+        entities.put("roles-client-app", Arrays.asList("admin", null, "äöü"));
+        entities.put("roles-realm", List.of());
+
+        assertThat(CompactStateFormat.decode(CompactStateFormat.encode(entities)), is(entities));
+    }
+
+    @Test
+    void shouldBeMuchSmallerThanJsonFormat() {
+        Map<String, List<String>> entities = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entities.put("roles-client-client-" + i, List.of("admin", "user", "viewer", "editor"));
+            entities.put("resources-client-client-" + i, List.of("Default Resource", "resource-" + i));
+        }
+
+        int jsonSize = 0;
+        for (Map.Entry<String, List<String>> entity : entities.entrySet()) {
+            // attribute key and value, see StateRepository
+            jsonSize += ("io.github.doriangrelu.keycloak.config.state-default-" + entity.getKey() + "-0").length();
+            jsonSize += JsonUtil.toJson(entity.getValue()).length();
+        }
+
+        assertThat(CompactStateFormat.encode(entities).length() * 10, lessThan(jsonSize));
+    }
+}
@@ -0,0 +1,108 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.cache.ClientCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.NameIndexCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.PartialExportCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.RealmRepresentationCache;
+import io.github.doriangrelu.keycloak.config.repository.cache.RoleCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class RealmRepositoryTest {
+
+    private final KeycloakProvider keycloakProvider = mock(KeycloakProvider.class, RETURNS_DEEP_STUBS);
+    private final RealmResource realmResource = mock(RealmResource.class);
+    private final Map<String, String> attributes = new HashMap<>();
+
+    private RealmRepository realmRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(keycloakProvider.getInstance().realms().realm("realm")).thenReturn(realmResource);
+        when(realmResource.toRepresentation()).thenAnswer(invocation -> {
+            RealmRepresentation realm = new RealmRepresentation();
+            realm.setRealm("realm");
+            realm.setAttributes(new HashMap<>(attributes));
+            return realm;
+        });
+
+        realmRepository = new RealmRepository(keycloakProvider, new RealmRepresentationCache(), new PartialExportCache(),
+                new NameIndexCache(), new ClientCache(), new RoleCatalogCache());
+    }
+
+    @Test
+    void shouldFlushPendingUpdatesWithOneRealmUpdate() {
+        realmRepository.stageUpdate("realm", "state", realm -> realm.getAttributes().put("state", "old"));
+        realmRepository.stageUpdate("realm", "checksum", realm -> realm.getAttributes().put("checksum", "hash"));
+        realmRepository.stageUpdate("realm", "state", realm -> realm.getAttributes().put("state", "new"));
+
+        realmRepository.flushPendingUpdates("realm");
+        realmRepository.flushPendingUpdates("realm");
+
+        ArgumentCaptor<RealmRepresentation> realm = ArgumentCaptor.forClass(RealmRepresentation.class);
+        verify(realmResource, times(1)).update(realm.capture());
+        assertThat(realm.getValue().getAttributes(), hasEntry("checksum", "hash"));
+        assertThat(realm.getValue().getAttributes(), hasEntry("state", "new"));
+        assertThat(realm.getValue().getAttributes().size(), is(2));
+    }
+
+    @Test
+    void shouldSkipRealmUpdateWithoutChanges() {
+        attributes.put("checksum", "hash");
+
+        realmRepository.stageUpdate("realm", "checksum", realm -> realm.getAttributes().put("checksum", "hash"));
+        realmRepository.flushPendingUpdates("realm");
+
+        verify(realmResource, never()).update(any());
+    }
+
+    @Test
+    void shouldNotFlushDiscardedUpdates() {
+        realmRepository.stageUpdate("realm", "checksum", realm -> realm.getAttributes().put("checksum", "hash"));
+        realmRepository.discardPendingUpdates("realm");
+        realmRepository.flushPendingUpdates("realm");
+
+        verify(realmResource, never()).update(any());
+    }
+}
@@ -0,0 +1,157 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository;
+
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportCacheProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties.StateFormat;
+import io.github.doriangrelu.keycloak.config.util.JsonUtil;
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.encrypt.Encryptors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures loading and saving an encrypted remote state of 1000 entities in both state formats, each read twice
+ * per run like the import services do, and compares the load with decrypting every read with a freshly derived key.
+ *
+ * <p>Run with {@code java -cp <test classpath> org.openjdk.jmh.Main StateRepositoryBenchmark}, see README.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateRepositoryBenchmark {
+    private static final int ENTITIES = 1000;
+    private static final String ENCRYPTION_KEY = "benchmark key";
+    private static final String ENCRYPTION_SALT = "2B521C795FBE2F2425DB150CD3700BA9";
+
+    private final RealmRepository realmRepository = mock(RealmRepository.class);
+    private final RealmImport realmImport = new RealmImport();
+
+    @Param({"JSON", "COMPACT"})
+    public StateFormat format;
+
+    private StateRepository stateRepository;
+    private Map<String, String> savedAttributes;
+    private List<String> encryptedValues;
+    private RealmRepresentation realm;
+
+    @Setup
+    public void setup() {
+        ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+        when(importConfigProperties.getCache()).thenReturn(new ImportCacheProperties(true, "default", false));
+        when(importConfigProperties.getRemoteState()).thenReturn(new ImportRemoteStateProperties(true, ENCRYPTION_KEY, ENCRYPTION_SALT, format));
+
+        realm = new RealmRepresentation();
+        realm.setRealm("benchmark");
+        realm.setAttributes(new HashMap<>());
+        when(realmRepository.get("benchmark")).thenReturn(realm);
+        doAnswer(invocation -> {
+            invocation.<Consumer<RealmRepresentation>>getArgument(2).accept(realm);
+            return null;
+        }).when(realmRepository).stageUpdate(eq("benchmark"), eq("state"), any());
+        realmImport.setRealm("benchmark");
+
+        stateRepository = new StateRepository(realmRepository, importConfigProperties);
+        saveState();
+        savedAttributes = new HashMap<>(realm.getAttributes());
+
+        encryptedValues = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            encryptedValues.add(Encryptors.text(ENCRYPTION_KEY, ENCRYPTION_SALT).encrypt(JsonUtil.toJson(values(i))));
+        }
+    }
+
+    @Benchmark
+    public void loadState(Blackhole blackhole) {
+        realm.setAttributes(new HashMap<>(savedAttributes));
+        stateRepository.loadCustomAttributes("benchmark");
+
+        for (int read = 0; read < 2; read++) {
+            for (int i = 0; i < ENTITIES; i++) {
+                blackhole.consume(stateRepository.getState("benchmark", entity(i)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void loadStateDerivingKeyPerRead(Blackhole blackhole) {
+        for (int read = 0; read < 2; read++) {
+            for (String encryptedValue : encryptedValues) {
+                blackhole.consume(JsonUtil.fromJson(Encryptors.text(ENCRYPTION_KEY, ENCRYPTION_SALT).decrypt(encryptedValue)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void saveState() {
+        realm.setAttributes(new HashMap<>());
+        stateRepository.loadCustomAttributes("benchmark");
+
+        for (int i = 0; i < ENTITIES; i++) {
+            stateRepository.setState("benchmark", entity(i), values(i));
+        }
+        stateRepository.update(realmImport);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StateRepositoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static String entity(int index) {
+        return "roles-client-client-" + index;
+    }
+
+    private static List<String> values(int index) {
+        return List.of("role-" + index + "-a", "role-" + index + "-b", "role-" + index + "-c");
+    }
+}
@@ -0,0 +1,187 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportCacheProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportRemoteStateProperties.StateFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.RealmRepresentation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class StateRepositoryTest {
+    private static final String PREFIX = "io.github.doriangrelu.keycloak.config.state-default-";
+    private static final String COMPACT_PREFIX = "io.github.doriangrelu.keycloak.config.compact-state-default-";
+
+    private final RealmRepository realmRepository = mock(RealmRepository.class);
+    private final RealmRepresentation realm = new RealmRepresentation();
+
+    private StateRepository stateRepository;
+
+    @BeforeEach
+    void setUp() {
+        realm.setRealm("realm");
+        realm.setAttributes(new HashMap<>());
+        when(realmRepository.get("realm")).thenReturn(realm);
+        // staged state is written at once, like flushing the pending updates
+        doAnswer(invocation -> {
+            invocation.<Consumer<RealmRepresentation>>getArgument(2).accept(realm);
+            return null;
+        }).when(realmRepository).stageUpdate(eq("realm"), eq("state"), any());
+
+        stateRepository = stateRepository(null, StateFormat.JSON);
+    }
+
+    @Test
+    void shouldReadStateOfExactEntity() {
+        realm.getAttributes().put(PREFIX + "roles-client-app-0", "[\"a\",");
+        realm.getAttributes().put(PREFIX + "roles-client-app-1", "\"b\"]");
+        realm.getAttributes().put(PREFIX + "roles-client-app-2-0", "[\"c\"]");
+        realm.getAttributes().put("unrelated", "value");
+        stateRepository.loadCustomAttributes("realm");
+
+        assertThat(stateRepository.getState("realm", "roles-client-app"), contains("a", "b"));
+        assertThat(stateRepository.getState("realm", "roles-client-app-2"), contains("c"));
+        assertThat(stateRepository.getState("realm", "clients"), is(empty()));
+    }
+
+    @Test
+    void shouldRemoveLeftOverChunksOnUpdate() {
+        List<String> longState = new ArrayList<>();
+        for (int index = 0; index < 30; index++) {
+            longState.add("role-with-a-long-name-" + index);
+        }
+        stateRepository.loadCustomAttributes("realm");
+        stateRepository.setState("realm", "roles-client-app", longState);
+        stateRepository.setState("realm", "roles-client-app-2", List.of("c"));
+        stateRepository.update(realmImport());
+
+        assertThat(realm.getAttributes(), hasKey(PREFIX + "roles-client-app-3"));
+
+        stateRepository.loadCustomAttributes("realm");
+        assertThat(stateRepository.getState("realm", "roles-client-app"), is(longState));
+
+        stateRepository.setState("realm", "roles-client-app", List.of("a"));
+        assertThat(stateRepository.getState("realm", "roles-client-app"), contains("a"));
+
+        stateRepository.update(realmImport());
+
+        assertThat(realm.getAttributes(), not(hasKey(PREFIX + "roles-client-app-1")));
+        assertThat(realm.getAttributes(), not(hasKey(PREFIX + "roles-client-app-3")));
+        assertThat(realm.getAttributes().get(PREFIX + "roles-client-app-0"), is("[\"a\"]"));
+        assertThat(realm.getAttributes().get(PREFIX + "roles-client-app-2-0"), is("[\"c\"]"));
+        verify(realmRepository, times(2)).stageUpdate(eq("realm"), eq("state"), any());
+    }
+
+    @Test
+    void shouldEncryptOnUpdateAndDecryptOncePerRun() {
+        stateRepository = stateRepository("secure key", StateFormat.JSON);
+        stateRepository.loadCustomAttributes("realm");
+        stateRepository.setState("realm", "clients", List.of("client"));
+        stateRepository.update(realmImport());
+
+        assertThat(realm.getAttributes().get(PREFIX + "clients-0"), not(is("[\"client\"]")));
+
+        stateRepository.loadCustomAttributes("realm");
+        List<String> state = stateRepository.getState("realm", "clients");
+
+        assertThat(state, contains("client"));
+        assertThat(stateRepository.getState("realm", "clients"), is(sameInstance(state)));
+    }
+
+    @Test
+    void shouldMigrateJsonStateToCompactFormat() {
+        realm.getAttributes().put(PREFIX + "roles-client-app-0", "[\"a\",\"b\"]");
+        realm.getAttributes().put(PREFIX + "clients-0", "[\"app\"]");
+        stateRepository = stateRepository("secure key", StateFormat.COMPACT);
+        stateRepository.loadCustomAttributes("realm");
+
+        assertThat(stateRepository.getState("realm", "roles-client-app"), contains("a", "b"));
+
+        stateRepository.setState("realm", "clients", List.of("app", "other"));
+        stateRepository.update(realmImport());
+
+        assertThat(realm.getAttributes(), not(hasKey(PREFIX + "roles-client-app-0")));
+        assertThat(realm.getAttributes(), not(hasKey(PREFIX + "clients-0")));
+        assertThat(realm.getAttributes(), hasKey(COMPACT_PREFIX + "0"));
+
+        stateRepository.loadCustomAttributes("realm");
+        assertThat(stateRepository.getState("realm", "roles-client-app"), contains("a", "b"));
+        assertThat(stateRepository.getState("realm", "clients"), contains("app", "other"));
+    }
+
+    @Test
+    void shouldMigrateCompactStateBackToJsonFormat() {
+        stateRepository = stateRepository(null, StateFormat.COMPACT);
+        stateRepository.loadCustomAttributes("realm");
+        stateRepository.setState("realm", "clients", List.of("app"));
+        stateRepository.setState("realm", "roles-realm", List.of("role"));
+        stateRepository.update(realmImport());
+
+        stateRepository = stateRepository(null, StateFormat.JSON);
+        stateRepository.loadCustomAttributes("realm");
+        stateRepository.setState("realm", "clients", List.of("other"));
+        stateRepository.update(realmImport());
+
+        assertThat(realm.getAttributes(), not(hasKey(COMPACT_PREFIX + "0")));
+        assertThat(realm.getAttributes().get(PREFIX + "clients-0"), is("[\"other\"]"));
+        assertThat(realm.getAttributes().get(PREFIX + "roles-realm-0"), is("[\"role\"]"));
+    }
+
+    private StateRepository stateRepository(String encryptionKey, StateFormat format) {
+        ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+        when(importConfigProperties.getCache()).thenReturn(new ImportCacheProperties(true, "default", false));
+        when(importConfigProperties.getRemoteState()).thenReturn(new ImportRemoteStateProperties(true, encryptionKey, "2B521C795FBE2F2425DB150CD3700BA9", format));
+
+        return new StateRepository(realmRepository, importConfigProperties);
+    }
+
+    private static RealmImport realmImport() {
+        RealmImport realmImport = new RealmImport();
+        realmImport.setRealm("realm");
+        return realmImport;
+    }
+}
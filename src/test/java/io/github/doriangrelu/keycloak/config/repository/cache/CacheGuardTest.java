@@ -0,0 +1,155 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@ExtendWith(GithubActionsExtension.class)
+class CacheGuardTest {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadOnlyOnce() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        assertThat(get(guard, "key"), is("value-1"));
+        assertThat(get(guard, "key"), is("value-1"));
+        assertThat(get(guard, "key"), is("value-1"));
+
+        assertThat(loads.get(), is(1));
+        assertThat(guard.getStatistics().getMisses(), is(1L));
+        assertThat(guard.getStatistics().getHits(), is(2L));
+    }
+
+    @Test
+    void shouldNotStoreNullValues() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        assertThat(guard.get("key", () -> values.get("key"), () -> null, value -> values.put("key", value)), is(nullValue()));
+        assertThat(get(guard, "key"), is("value-1"));
+    }
+
+    @Test
+    void shouldReloadAfterInvalidate() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        get(guard, "key");
+        get(guard, "other");
+        guard.invalidate("key", () -> values.remove("key"));
+
+        assertThat(get(guard, "key"), is("value-3"));
+        assertThat(get(guard, "other"), is("value-2"));
+    }
+
+    @Test
+    void shouldNotStoreLoadRacingWithInvalidate() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        String loaded = guard.get("key", () -> values.get("key"), () -> {
+            guard.invalidate("key", () -> values.remove("key"));
+            return "stale";
+        }, value -> values.put("key", value));
+
+        assertThat(loaded, is("stale"));
+        assertThat(get(guard, "key"), is("value-1"));
+        assertThat(guard.getStatistics().getMisses(), is(2L));
+    }
+
+    @Test
+    void shouldInvalidateAllMatchingKeys() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        get(guard, "realm/a");
+        get(guard, "realm/b");
+        get(guard, "other/a");
+        guard.invalidateAll(key -> key.startsWith("realm/"), values::remove);
+
+        get(guard, "realm/a");
+        get(guard, "realm/b");
+        get(guard, "other/a");
+        assertThat(loads.get(), is(5));
+    }
+
+    @Test
+    void shouldWaitForSingleLoad() throws Exception {
+        CacheGuard<String> guard = new CacheGuard<>(true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> first = executor.submit(() -> guard.get("key", () -> values.get("key"), () -> {
+                loading.countDown();
+                await(release);
+                return "value-" + loads.incrementAndGet();
+            }, value -> values.put("key", value)));
+
+            await(loading);
+            Future<String> second = executor.submit(() -> get(guard, "key"));
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS), is("value-1"));
+            assertThat(second.get(10, TimeUnit.SECONDS), is("value-1"));
+        }
+
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void shouldResetStatisticsOnClear() {
+        CacheGuard<String> guard = new CacheGuard<>();
+
+        get(guard, "key");
+        get(guard, "key");
+        guard.clear();
+
+        assertThat(guard.getStatistics().getHits(), is(0L));
+        assertThat(guard.getStatistics().getMisses(), is(0L));
+    }
+
+    private String get(CacheGuard<String> guard, String key) {
+        return guard.get(key, () -> values.get(key), () -> "value-" + loads.incrementAndGet(), value -> values.put(key, value));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.ClientRepresentation;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(GithubActionsExtension.class)
+class ClientCacheTest {
+
+    private final ClientCache cache = new ClientCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldReturnCopiesAndIndexInternalId() {
+        ClientRepresentation first = get("realm", "my-client").orElseThrow();
+        ClientRepresentation second = get("realm", "my-client").orElseThrow();
+
+        assertThat(second.getId(), is("id-my-client"));
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(loads.get(), is(1));
+        assertThat(cache.findClientId("realm", "id-my-client"), is(Optional.of("my-client")));
+    }
+
+    @Test
+    void shouldNotCacheMissingClients() {
+        cache.getByClientId("realm", "missing", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        get("realm", "missing");
+
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        get("realm", "my-client");
+        get("other", "my-client");
+
+        cache.evict("realm", null, "id-my-client");
+        get("realm", "my-client");
+        get("other", "my-client");
+        assertThat(loads.get(), is(3));
+
+        cache.evict("realm", "my-client", null);
+        get("realm", "my-client");
+        assertThat(loads.get(), is(4));
+
+        cache.invalidate("realm");
+        assertThat(cache.findClientId("realm", "id-my-client"), is(Optional.empty()));
+    }
+
+    private Optional<ClientRepresentation> get(String realmName, String clientId) {
+        return cache.getByClientId(realmName, clientId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(client(clientId));
+        });
+    }
+
+    private static ClientRepresentation client(String clientId) {
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId("id-" + clientId);
+        client.setClientId(clientId);
+        return client;
+    }
+}
@@ -0,0 +1,108 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.ClientScopeRepresentation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith(GithubActionsExtension.class)
+class NameIndexCacheTest {
+
+    private final NameIndexCache cache = new NameIndexCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadIndexOnlyOnce() {
+        assertThat(findId("profile"), is(Optional.of("1")));
+        assertThat(findId("email"), is(Optional.of("2")));
+        assertThat(findId("missing"), is(Optional.empty()));
+
+        assertThat(loads.get(), is(1));
+        assertThat(cache.getStatistics().getMisses(), is(1L));
+        assertThat(cache.getStatistics().getHits(), is(2L));
+    }
+
+    @Test
+    void shouldUpdateIndexInPlace() {
+        findId("profile");
+
+        cache.put(NameIndexCache.Type.CLIENT_SCOPE, "realm", null, "roles", "3");
+        cache.rename(NameIndexCache.Type.CLIENT_SCOPE, "realm", null, "profile-renamed", "1");
+        cache.rename(NameIndexCache.Type.CLIENT_SCOPE, "realm", null, "unknown", "4");
+        cache.remove(NameIndexCache.Type.CLIENT_SCOPE, "realm", null, "2");
+
+        assertThat(findId("roles"), is(Optional.of("3")));
+        assertThat(findId("profile-renamed"), is(Optional.of("1")));
+        assertThat(findId("profile"), is(Optional.empty()));
+        assertThat(findId("email"), is(Optional.empty()));
+        assertThat(findId("unknown"), is(Optional.empty()));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void shouldReloadAfterInvalidate() {
+        findId("profile");
+        cache.invalidate("other");
+        findId("profile");
+        assertThat(loads.get(), is(1));
+
+        cache.invalidate("realm");
+        findId("profile");
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void shouldSeparateOwners() {
+        cache.findId(NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, "realm", "idp", "mapper", this::load,
+                ClientScopeRepresentation::getName, ClientScopeRepresentation::getId);
+        cache.findId(NameIndexCache.Type.IDENTITY_PROVIDER_MAPPER, "realm", "other-idp", "mapper", this::load,
+                ClientScopeRepresentation::getName, ClientScopeRepresentation::getId);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    private Optional<String> findId(String name) {
+        return cache.findId(NameIndexCache.Type.CLIENT_SCOPE, "realm", null, name, this::load,
+                ClientScopeRepresentation::getName, ClientScopeRepresentation::getId);
+    }
+
+    private Collection<ClientScopeRepresentation> load() {
+        loads.incrementAndGet();
+        return List.of(clientScope("1", "profile"), clientScope("2", "email"));
+    }
+
+    private static ClientScopeRepresentation clientScope(String id, String name) {
+        ClientScopeRepresentation clientScope = new ClientScopeRepresentation();
+        clientScope.setId(id);
+        clientScope.setName(name);
+        return clientScope;
+    }
+}
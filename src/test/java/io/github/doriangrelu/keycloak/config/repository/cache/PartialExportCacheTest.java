@@ -0,0 +1,86 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.RealmRepresentation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(GithubActionsExtension.class)
+class PartialExportCacheTest {
+
+    private final PartialExportCache cache = new PartialExportCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<RealmRepresentation> loader = () -> {
+        loads.incrementAndGet();
+        return new RealmRepresentation();
+    };
+
+    @Test
+    void shouldShareSnapshot() {
+        RealmRepresentation first = cache.get("realm", false, false, loader);
+        RealmRepresentation second = cache.get("realm", false, false, loader);
+
+        assertThat(second, sameInstance(first));
+        assertThat(loads.get(), is(1));
+        assertThat(cache.getStatistics().getHits(), is(1L));
+        assertThat(cache.getStatistics().getMisses(), is(1L));
+    }
+
+    @Test
+    void shouldServeNarrowerExportFromWiderSnapshot() {
+        RealmRepresentation full = cache.get("realm", true, true, loader);
+
+        assertThat(cache.get("realm", false, true, loader), sameInstance(full));
+        assertThat(cache.get("realm", false, false, loader), sameInstance(full));
+        assertThat(loads.get(), is(1));
+
+        cache.get("other", false, false, loader);
+        cache.get("other", true, false, loader);
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    void shouldInvalidateOnlySnapshotsContainingSection() {
+        cache.get("realm", false, false, loader);
+        cache.get("realm", false, true, loader);
+
+        cache.invalidate("realm", PartialExportCache.Section.CLIENTS);
+        cache.get("realm", false, false, loader);
+        assertThat(loads.get(), is(2));
+
+        cache.get("realm", false, true, loader);
+        assertThat(loads.get(), is(3));
+
+        cache.invalidate("realm", PartialExportCache.Section.AUTHENTICATION);
+        cache.get("realm", false, false, loader);
+        assertThat(loads.get(), is(4));
+    }
+}
@@ -0,0 +1,62 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.RealmRepresentation;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(GithubActionsExtension.class)
+class RealmRepresentationCacheTest {
+
+    private final RealmRepresentationCache cache = new RealmRepresentationCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, RealmRepresentation> loader = realmName -> {
+        loads.incrementAndGet();
+        RealmRepresentation realm = new RealmRepresentation();
+        realm.setRealm(realmName);
+        realm.setAttributes(new HashMap<>());
+        return realm;
+    };
+
+    @Test
+    void shouldReturnIndependentCopies() {
+        RealmRepresentation first = cache.get("realm", loader);
+        first.getAttributes().put("key", "value");
+
+        RealmRepresentation second = cache.get("realm", loader);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getAttributes().containsKey("key"), is(false));
+        assertThat(loads.get(), is(1));
+    }
+}
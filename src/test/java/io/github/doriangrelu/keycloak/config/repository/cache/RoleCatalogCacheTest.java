@@ -0,0 +1,91 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.util.RoleIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.RoleRepresentation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(GithubActionsExtension.class)
+class RoleCatalogCacheTest {
+
+    private final RoleCatalogCache cache = new RoleCatalogCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldListEachContainerOnlyOnce() {
+        RoleIndex realmRoles = cache.getRealmRoles("realm", this::load);
+
+        assertThat(cache.getRealmRoles("realm", this::load), is(sameInstance(realmRoles)));
+        assertThat(realmRoles.find("role").isPresent(), is(true));
+        cache.getClientRoles("realm", "client-uuid", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void shouldInvalidateSingleContainer() {
+        cache.getRealmRoles("realm", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+
+        cache.invalidateClientRoles("realm", "client-uuid");
+        cache.getRealmRoles("realm", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+        assertThat(loads.get(), is(3));
+
+        cache.invalidateRealmRoles("realm");
+        cache.getRealmRoles("realm", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+        assertThat(loads.get(), is(4));
+    }
+
+    @Test
+    void shouldInvalidateRealm() {
+        cache.getRealmRoles("realm", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+        cache.getRealmRoles("other", this::load);
+
+        cache.invalidate("realm");
+        cache.getRealmRoles("realm", this::load);
+        cache.getClientRoles("realm", "client-uuid", this::load);
+        cache.getRealmRoles("other", this::load);
+
+        assertThat(loads.get(), is(5));
+    }
+
+    private List<RoleRepresentation> load() {
+        loads.incrementAndGet();
+
+        RoleRepresentation role = new RoleRepresentation();
+        role.setName("role");
+        return List.of(role);
+    }
+}
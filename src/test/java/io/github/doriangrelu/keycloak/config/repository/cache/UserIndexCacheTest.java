@@ -0,0 +1,92 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.repository.cache;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@ExtendWith(GithubActionsExtension.class)
+class UserIndexCacheTest {
+
+    private final UserIndexCache cache = new UserIndexCache();
+
+    @Test
+    void shouldFindUsersCaseInsensitive() {
+        cache.load("realm", List.of(user("1", "alice", "Alice@example.com"), user("2", "bob", null)));
+
+        assertThat(cache.findByUsername("realm", "ALICE").map(UserRepresentation::getId).orElseThrow(), is("1"));
+        assertThat(cache.findByEmail("realm", "alice@EXAMPLE.com").stream().map(UserRepresentation::getId).toList(), contains("1"));
+        assertThat(cache.findByUsername("realm", "carol").isPresent(), is(false));
+        assertThat(cache.getStatistics().getHits(), is(2L));
+        assertThat(cache.getStatistics().getMisses(), is(1L));
+    }
+
+    @Test
+    void shouldReplaceEntryWhenUsernameChanged() {
+        cache.load("realm", List.of(user("1", "alice", "alice@example.com")));
+
+        cache.put("realm", user("1", "alice2", "alice2@example.com"));
+
+        assertThat(cache.findByUsername("realm", "alice").isPresent(), is(false));
+        assertThat(cache.findByUsername("realm", "alice2").isPresent(), is(true));
+        assertThat(cache.findByEmail("realm", "alice@example.com"), is(empty()));
+    }
+
+    @Test
+    void shouldReturnCopies() {
+        UserRepresentation loaded = user("1", "alice", "alice@example.com");
+        cache.load("realm", List.of(loaded));
+        loaded.setFirstName("changed after load");
+
+        cache.findByUsername("realm", "alice").orElseThrow().setFirstName("changed by caller");
+        cache.findByEmail("realm", "alice@example.com").get(0).setLastName("changed by caller");
+
+        UserRepresentation user = cache.findByUsername("realm", "alice").orElseThrow();
+        assertThat(user.getFirstName(), is(nullValue()));
+        assertThat(user.getLastName(), is(nullValue()));
+    }
+
+    @Test
+    void shouldIgnoreRealmsNotLoaded() {
+        cache.put("other", user("1", "alice", null));
+
+        assertThat(cache.isLoaded("other"), is(false));
+        assertThat(cache.findByUsername("other", "alice").isPresent(), is(false));
+    }
+
+    private static UserRepresentation user(String id, String username, String email) {
+        UserRepresentation user = new UserRepresentation();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+}
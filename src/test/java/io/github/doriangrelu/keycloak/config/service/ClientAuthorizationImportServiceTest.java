@@ -56,6 +56,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
@@ -68,6 +69,7 @@ class ClientAuthorizationImportServiceTest {
 
     private ClientRepository clientRepository;
     private ImportConfigProperties importConfigProperties;
+    private ImportConfigProperties.ImportBehaviorsProperties behaviorsProperties;
     private ClientAuthorizationImportService service;
 
     @BeforeEach
@@ -86,6 +88,9 @@ class ClientAuthorizationImportServiceTest {
         when(managedProperties.getClientAuthorizationPolicies()).thenReturn(ImportConfigProperties.ImportManagedProperties.ImportManagedPropertiesValues.NO_DELETE);
         when(managedProperties.getClientAuthorizationScopes()).thenReturn(ImportConfigProperties.ImportManagedProperties.ImportManagedPropertiesValues.NO_DELETE);
 
+        behaviorsProperties = mock(ImportConfigProperties.ImportBehaviorsProperties.class);
+        when(importConfigProperties.getBehaviors()).thenReturn(behaviorsProperties);
+
     KeycloakProvider keycloakProvider = mock(KeycloakProvider.class);
 
     service = new ClientAuthorizationImportService(
@@ -156,6 +161,19 @@ class ClientAuthorizationImportServiceTest {
             return response;
         }
 
+        private ResourceServerRepresentation existingAuthorizationWithOutdatedResource() {
+            ResourceRepresentation existingResource = new ResourceRepresentation();
+            existingResource.setId("existing-id");
+            existingResource.setName("test-resource");
+            existingResource.setDisplayName("Outdated Resource");
+
+            ResourceServerRepresentation existingAuth = new ResourceServerRepresentation();
+            existingAuth.setResources(List.of(existingResource));
+            existingAuth.setScopes(new ArrayList<>());
+            existingAuth.setPolicies(new ArrayList<>());
+            return existingAuth;
+        }
+
         @Test
         void shouldHandleKeycloakRepositoryExceptionWithFgapV2Message() {
             // Given: A resource to import
@@ -356,12 +374,12 @@ class ClientAuthorizationImportServiceTest {
             resource.setName("test-resource");
             authorizationSettings.setResources(List.of(resource));
 
-            // And: Repository throws 501 when refreshing authorization config
+            // And: Repository throws 501 when refreshing authorization config after the resource update
             ServerErrorException exception = new ServerErrorException(createMockResponse(501));
 
             when(clientRepository.getAuthorizationConfigById(anyString(), anyString()))
-                    .thenReturn(authorizationSettings)  // First call succeeds
-                    .thenThrow(exception);              // Second call (refresh) throws 501
+                    .thenReturn(existingAuthorizationWithOutdatedResource())  // First call succeeds
+                    .thenThrow(exception);                                    // Second call (refresh) throws 501
 
             // When: Import is executed
             service.doImport(realmImport);
@@ -377,11 +395,11 @@ class ClientAuthorizationImportServiceTest {
             resource.setName("test-resource");
             authorizationSettings.setResources(List.of(resource));
 
-            // And: Repository throws 400 (Bad Request) when refreshing authorization config
+            // And: Repository throws 400 (Bad Request) when refreshing authorization config after the resource update
             BadRequestException exception = new BadRequestException(createMockResponse(400));
 
             when(clientRepository.getAuthorizationConfigById(anyString(), anyString()))
-                    .thenReturn(authorizationSettings)
+                    .thenReturn(existingAuthorizationWithOutdatedResource())
                     .thenThrow(exception);
 
             // When: Import is executed
@@ -391,6 +409,86 @@ class ClientAuthorizationImportServiceTest {
             verify(clientRepository, times(2)).getAuthorizationConfigById(eq("test-realm"), eq("client-id"));
         }
 
+        @Test
+        void shouldReuseIdsOfExistingAuthorizationWithoutRefresh() {
+            // Given: Existing scope to update and a new policy
+            ScopeRepresentation existingScope = new ScopeRepresentation();
+            existingScope.setId("scope-id");
+            existingScope.setName("test-scope");
+
+            ResourceServerRepresentation existingAuth = new ResourceServerRepresentation();
+            existingAuth.setScopes(List.of(existingScope));
+            existingAuth.setResources(new ArrayList<>());
+            existingAuth.setPolicies(new ArrayList<>());
+            when(clientRepository.getAuthorizationConfigById(anyString(), anyString())).thenReturn(existingAuth);
+
+            ScopeRepresentation updatedScope = new ScopeRepresentation();
+            updatedScope.setName("test-scope");
+            updatedScope.setDisplayName("Updated Scope");
+            authorizationSettings.setScopes(List.of(updatedScope));
+
+            PolicyRepresentation policy = new PolicyRepresentation();
+            policy.setName("test-policy");
+            policy.setConfig(new HashMap<>());
+            authorizationSettings.setPolicies(List.of(policy));
+
+            // When: Import is executed
+            service.doImport(realmImport);
+
+            // Then: The scope is updated by the id of the existing authorization, which is not fetched again
+            ArgumentCaptor<ScopeRepresentation> scopeCaptor = ArgumentCaptor.forClass(ScopeRepresentation.class);
+            verify(clientRepository).updateAuthorizationScope(eq("test-realm"), eq("client-id"), scopeCaptor.capture());
+            assertEquals("scope-id", scopeCaptor.getValue().getId());
+            verify(clientRepository).createAuthorizationPolicy(eq("test-realm"), eq("client-id"), any());
+            verify(clientRepository, times(1)).getAuthorizationConfigById(eq("test-realm"), eq("client-id"));
+        }
+
+        @Test
+        void shouldImportAuthorizationWithSingleRequestInBulkMode() {
+            // Given: Bulk import is enabled and a new resource and policy are imported
+            when(behaviorsProperties.isClientAuthorizationBulkImport()).thenReturn(true);
+
+            ResourceRepresentation resource = new ResourceRepresentation();
+            resource.setName("test-resource");
+            authorizationSettings.setResources(List.of(resource));
+
+            PolicyRepresentation policy = new PolicyRepresentation();
+            policy.setName("test-policy");
+            policy.setConfig(new HashMap<>());
+            authorizationSettings.setPolicies(List.of(policy));
+
+            // When: Import is executed
+            service.doImport(realmImport);
+
+            // Then: Resource and policy are sent with one request
+            ArgumentCaptor<ResourceServerRepresentation> settingsCaptor = ArgumentCaptor.forClass(ResourceServerRepresentation.class);
+            verify(clientRepository).importAuthorizationSettings(eq("test-realm"), eq("client-id"), settingsCaptor.capture());
+            assertEquals("test-resource", settingsCaptor.getValue().getResources().get(0).getName());
+            assertEquals("test-policy", settingsCaptor.getValue().getPolicies().get(0).getName());
+            verify(clientRepository, never()).createAuthorizationResource(anyString(), anyString(), any());
+            verify(clientRepository, never()).createAuthorizationPolicy(anyString(), anyString(), any());
+        }
+
+        @Test
+        void shouldFallBackToSingleRequestsWhenBulkImportIsRejected() {
+            // Given: Bulk import is enabled, but rejected by the server
+            when(behaviorsProperties.isClientAuthorizationBulkImport()).thenReturn(true);
+
+            ResourceRepresentation resource = new ResourceRepresentation();
+            resource.setName("test-resource");
+            authorizationSettings.setResources(List.of(resource));
+
+            doThrow(new BadRequestException(createMockResponse(400)))
+                    .when(clientRepository).importAuthorizationSettings(anyString(), anyString(), any());
+
+            // When: Import is executed
+            service.doImport(realmImport);
+
+            // Then: The resource is created with its own request
+            verify(clientRepository, times(1)).importAuthorizationSettings(eq("test-realm"), eq("client-id"), any());
+            verify(clientRepository, times(1)).createAuthorizationResource(eq("test-realm"), eq("client-id"), any());
+        }
+
         @Test
         void shouldHandleNonV2ResourceForAdminPermissionsClient() {
             // Given: admin-permissions client with non-V2 resource type
@@ -0,0 +1,133 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.provider.KeycloakProvider;
+import io.github.doriangrelu.keycloak.config.repository.AuthenticationFlowRepository;
+import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
+import io.github.doriangrelu.keycloak.config.repository.ClientScopeRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.ProtocolMapperRepresentation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class ClientImportServiceTest {
+
+    private static final String REALM_NAME = "realm";
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+
+    private final ClientImportService clientImportService = new ClientImportService(
+            clientRepository, mock(ClientScopeRepository.class), mock(AuthenticationFlowRepository.class),
+            importConfigProperties, mock(KeycloakProvider.class), new ParallelImportExecutor(importConfigProperties)
+    );
+
+    @Test
+    void shouldReportChangedProtocolMapperProperties() {
+        ClientRepresentation existingClient = client();
+        ClientRepresentation patchedClient = CloneUtil.deepClone(existingClient);
+        patchedClient.getProtocolMappers().get(0).getConfig().put("claim.name", "changed");
+
+        List<String> paths = paths(clientImportService.getChangedProperties(REALM_NAME, existingClient, patchedClient));
+
+        assertThat(paths, contains("protocolMappers.mapper.config.claim.name"));
+    }
+
+    @Test
+    void shouldReportAddedAndRemovedProtocolMappers() {
+        ClientRepresentation existingClient = client();
+        ClientRepresentation patchedClient = CloneUtil.deepClone(existingClient);
+        patchedClient.getProtocolMappers().get(0).setName("other-mapper");
+
+        List<String> paths = paths(clientImportService.getChangedProperties(REALM_NAME, existingClient, patchedClient));
+
+        assertThat(paths, contains("protocolMappers.mapper", "protocolMappers.other-mapper"));
+        assertThat(clientImportService.getChangedProperties(REALM_NAME, existingClient, CloneUtil.deepClone(existingClient)), is(empty()));
+    }
+
+    @Test
+    void shouldReportChangedClientScopes() {
+        ClientRepresentation existingClient = client();
+        ClientRepresentation patchedClient = CloneUtil.deepClone(existingClient);
+        patchedClient.setDefaultClientScopes(List.of("profile"));
+        patchedClient.setOptionalClientScopes(List.of("address"));
+
+        List<String> paths = paths(clientImportService.getChangedProperties(REALM_NAME, existingClient, patchedClient));
+
+        assertThat(paths, contains("defaultClientScopes", "optionalClientScopes"));
+    }
+
+    @Test
+    void shouldReportMaskedSecret() {
+        ClientRepresentation existingClient = client();
+        ClientRepresentation patchedClient = CloneUtil.deepClone(existingClient);
+        patchedClient.setSecret("new-secret");
+        when(clientRepository.getClientSecret(REALM_NAME, "my-client")).thenReturn("old-secret");
+
+        List<PropertyChange> changes = clientImportService.getChangedProperties(REALM_NAME, existingClient, patchedClient);
+
+        assertThat(paths(changes), contains("secret"));
+        assertThat(String.valueOf(changes.get(0).origin()), not(containsString("old-secret")));
+        assertThat(String.valueOf(changes.get(0).other()), not(containsString("new-secret")));
+    }
+
+    private static List<String> paths(List<PropertyChange> changes) {
+        return changes.stream().map(PropertyChange::path).toList();
+    }
+
+    private static ClientRepresentation client() {
+        ProtocolMapperRepresentation protocolMapper = new ProtocolMapperRepresentation();
+        protocolMapper.setId("8b1a9953-c461-4e2a-9b7e-6f0c6a1d2e33");
+        protocolMapper.setName("mapper");
+        protocolMapper.setProtocol("openid-connect");
+        protocolMapper.setProtocolMapper("oidc-usermodel-attribute-mapper");
+        protocolMapper.setConfig(new HashMap<>(Map.of("claim.name", "claim")));
+
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId("3f2b6f4e-0d3a-4c3e-9d6e-5b0e0f7f9a11");
+        client.setClientId("my-client");
+        client.setEnabled(true);
+        client.setProtocolMappers(List.of(protocolMapper));
+        client.setDefaultClientScopes(List.of("email", "profile"));
+        client.setOptionalClientScopes(List.of("phone"));
+        return client;
+    }
+}
@@ -0,0 +1,93 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.repository.ComponentRepository;
+import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
+import io.github.doriangrelu.keycloak.config.service.state.StateService;
+import io.github.doriangrelu.keycloak.config.util.CloneUtil;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.representations.idm.ComponentRepresentation;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(GithubActionsExtension.class)
+class ComponentImportServiceTest {
+
+    private final ComponentImportService componentImportService = new ComponentImportService(
+            mock(ComponentRepository.class), mock(ImportConfigProperties.class), mock(StateService.class),
+            mock(RealmRepository.class)
+    );
+
+    @Test
+    void shouldReportChangedConfigEntries() {
+        ComponentRepresentation existingComponent = component();
+        ComponentRepresentation patchedComponent = CloneUtil.deepClone(existingComponent);
+        patchedComponent.getConfig().putSingle("priority", "200");
+        patchedComponent.getConfig().put("allowedScopes", List.of("profile", "email"));
+
+        List<String> paths = componentImportService.getChangedProperties(existingComponent, patchedComponent).stream()
+                .map(PropertyChange::path)
+                .toList();
+
+        assertThat(paths, contains("config.priority"));
+    }
+
+    @Test
+    void shouldReportAddedAndRemovedConfigEntries() {
+        ComponentRepresentation existingComponent = component();
+        ComponentRepresentation patchedComponent = CloneUtil.deepClone(existingComponent);
+        patchedComponent.getConfig().remove("priority");
+        patchedComponent.getConfig().putSingle("enabled", "true");
+
+        List<String> paths = componentImportService.getChangedProperties(existingComponent, patchedComponent).stream()
+                .map(PropertyChange::path)
+                .toList();
+
+        assertThat(paths, contains("config.enabled", "config.priority"));
+        assertThat(componentImportService.getChangedProperties(existingComponent, CloneUtil.deepClone(existingComponent)), is(empty()));
+    }
+
+    private static ComponentRepresentation component() {
+        MultivaluedHashMap<String, String> config = new MultivaluedHashMap<>();
+        config.putSingle("priority", "100");
+        config.put("allowedScopes", List.of("email", "profile"));
+
+        ComponentRepresentation component = new ComponentRepresentation();
+        component.setId("5c2d7a0e-2b65-4b4e-9a3f-0c8d1f0e6b21");
+        component.setName("my-component");
+        component.setProviderId("allowed-client-templates");
+        component.setProviderType("org.keycloak.services.clientregistration.policy.ClientRegistrationPolicy");
+        component.setConfig(config);
+        return component;
+    }
+}
@@ -34,6 +34,7 @@ import io.github.doriangrelu.keycloak.config.ThreadHelper;
 import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.repository.GroupRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -54,7 +55,7 @@ class GroupImportServiceTest {
     private final ThreadHelper threadHelper = mock(ThreadHelper.class);
 
     private final GroupImportService groupImportService =
-        new GroupImportService(groupRepository, importConfigProperties, threadHelper);
+        new GroupImportService(groupRepository, importConfigProperties, threadHelper, new ParallelImportExecutor(importConfigProperties));
 
     @Nested
     class CreatingGroupIT {
@@ -27,6 +27,7 @@ import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.resource.RoleResource;
 import org.keycloak.representations.idm.RealmRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -1047,6 +1048,26 @@ class ImportRolesIT extends AbstractImportIT {
         assertThat(composites.getRealm(), is(nullValue()));
     }
 
+    @Test
+    @Order(72)
+    void shouldCompareEveryRealmPartWithCurrentRoles() throws IOException {
+        String realmName = "realmWithRolesChangedBetweenParts";
+
+        doImport("72.1_import_realm_with_roles_changed_between_parts.json");
+
+        RoleResource roleResource = keycloakProvider.getInstance().realm(realmName).roles().get("my_realm_role");
+        RoleRepresentation changedRole = roleResource.toRepresentation();
+        changedRole.setDescription("Changed between the realm parts");
+        roleResource.update(changedRole);
+
+        doImport("72.2_import_realm_with_roles_changed_between_parts.json");
+
+        RealmRepresentation realm = keycloakProvider.getInstance().realm(realmName).partialExport(true, true);
+
+        assertThat(keycloakRepository.getRealmRole(realm, "my_realm_role").getDescription(), is("My realm role"));
+        assertThat(keycloakRepository.getRealmRole(realm, "my_other_realm_role").getDescription(), is("My other realm role"));
+    }
+
     @SuppressWarnings("SpringJavaAutowiredMembersInspection")
     @Nested
     @Order(60)
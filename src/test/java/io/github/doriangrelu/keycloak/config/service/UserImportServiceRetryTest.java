@@ -23,11 +23,13 @@ package io.github.doriangrelu.keycloak.config.service;
 import io.github.doriangrelu.keycloak.config.model.RealmImport;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
 import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportBehaviorsProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportUsersProperties;
 import io.github.doriangrelu.keycloak.config.repository.ClientRepository;
 import io.github.doriangrelu.keycloak.config.repository.GroupRepository;
 import io.github.doriangrelu.keycloak.config.repository.RealmRepository;
 import io.github.doriangrelu.keycloak.config.repository.RoleRepository;
 import io.github.doriangrelu.keycloak.config.repository.UserRepository;
+import io.github.doriangrelu.keycloak.config.service.parallel.ParallelImportExecutor;
 import io.github.doriangrelu.keycloak.config.util.JsonUtil;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.Response;
@@ -58,13 +60,15 @@ class UserImportServiceRetryTest {
     private final ImportBehaviorsProperties importBehaviorsProperties = mock(ImportBehaviorsProperties.class);
 
     private final UserImportService userImportService = new UserImportService(
-            realmRepository, userRepository, roleRepository, groupRepository, clientRepository, importConfigProperties
+            realmRepository, userRepository, roleRepository, groupRepository, clientRepository, importConfigProperties,
+            new ParallelImportExecutor(importConfigProperties)
     );
 
     @BeforeEach
     void setUp() {
         reset(realmRepository, userRepository, roleRepository, groupRepository, clientRepository, importConfigProperties, importBehaviorsProperties);
         when(importConfigProperties.getBehaviors()).thenReturn(importBehaviorsProperties);
+        when(importConfigProperties.getUsers()).thenReturn(new ImportUsersProperties(false, 500));
         when(importBehaviorsProperties.isSkipAttributesForFederatedUser()).thenReturn(false);
     }
 
@@ -92,20 +96,20 @@ class UserImportServiceRetryTest {
         when(passwordHistoryException.getMessage()).thenReturn("HTTP 400 Bad Request");
 
         doAnswer(invocation -> {
-            UserRepresentation userArg = invocation.getArgument(1);
+            UserRepresentation userArg = invocation.getArgument(2);
             assertNotNull(userArg.getCredentials(), "First attempt should have credentials");
             assertFalse(userArg.getCredentials().isEmpty(), "First attempt should have credentials");
             throw passwordHistoryException;
         }).doAnswer(invocation -> {
-            UserRepresentation userArg = invocation.getArgument(1);
+            UserRepresentation userArg = invocation.getArgument(2);
             assertTrue(userArg.getCredentials() == null || userArg.getCredentials().isEmpty(), 
                     "Second attempt should not have password credentials");
             return null;
-        }).when(userRepository).updateUser(eq(realm), any(UserRepresentation.class));
+        }).when(userRepository).updateUser(eq(realm), eq("user1"), any(UserRepresentation.class));
 
         assertDoesNotThrow(() -> userImportService.doImport(createRealmImport(realm, userToImport)));
 
-        verify(userRepository, times(2)).updateUser(eq(realm), any(UserRepresentation.class));
+        verify(userRepository, times(2)).updateUser(eq(realm), eq("user1"), any(UserRepresentation.class));
     }
 
     @Test
@@ -127,7 +131,36 @@ class UserImportServiceRetryTest {
 
         assertDoesNotThrow(() -> userImportService.doImport(createRealmImport(realm, userToImport)));
 
-        verify(userRepository, times(1)).updateUser(eq(realm), any(UserRepresentation.class));
+        verify(userRepository, times(1)).updateUser(eq(realm), eq("user1"), any(UserRepresentation.class));
+    }
+
+    @Test
+    void shouldUpdateExistingUserInsteadOfImportedId() throws IOException {
+        // Given
+        UserRepresentation userToImport = loadUserFromJson("import-files/users/61_create_realm_with_password_history_policy.json");
+        String realm = "testPasswordHistory";
+
+        userToImport.setId("id-of-another-instance");
+        userToImport.setLastName("UpdatedLastName");
+
+        UserRepresentation existingUser = loadUserFromJson("import-files/users/61_create_realm_with_password_history_policy.json");
+        existingUser.setId("user1");
+
+        when(userRepository.search(realm, userToImport.getUsername())).thenReturn(Optional.of(existingUser));
+
+        RealmRepresentation realmRepresentation = new RealmRepresentation();
+        realmRepresentation.setRegistrationEmailAsUsername(false);
+        when(realmRepository.get(realm)).thenReturn(realmRepresentation);
+
+        doAnswer(invocation -> {
+            UserRepresentation userArg = invocation.getArgument(2);
+            assertEquals("user1", userArg.getId(), "The id of the imported user must not be sent");
+            return null;
+        }).when(userRepository).updateUser(eq(realm), eq("user1"), any(UserRepresentation.class));
+
+        assertDoesNotThrow(() -> userImportService.doImport(createRealmImport(realm, userToImport)));
+
+        verify(userRepository, times(1)).updateUser(eq(realm), eq("user1"), any(UserRepresentation.class));
     }
 
     private RealmImport createRealmImport(String realm, UserRepresentation user) {
@@ -0,0 +1,149 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.checksum;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.model.RealmImport;
+import io.github.doriangrelu.keycloak.config.service.phase.RealmImportPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.RolesRepresentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@ExtendWith(GithubActionsExtension.class)
+class IncrementalImportTest {
+
+    @Test
+    void shouldOnlyRunUnconditionalPhasesWhenNothingChanged() {
+        SectionChecksums checksums = SectionChecksums.of(realm("client-a", "client-b"));
+
+        IncrementalImport incrementalImport = IncrementalImport.between(checksums, checksums);
+
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.OTP_POLICY), is(false));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.CLIENTS), is(false));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.ROLES), is(false));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.ORPHAN_CLIENT_SCOPES), is(true));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.STATE), is(true));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.CHECKSUM), is(true));
+        assertThat(incrementalImport.getSkippedSections().size(), is(ImportSection.values().length));
+    }
+
+    @Test
+    void shouldLimitClientPhasesToChangedClients() {
+        RealmImport previous = realm("client-a", "client-b");
+        RealmImport current = realm("client-a", "client-b");
+        current.getClients().get(1).setDescription("changed");
+
+        IncrementalImport incrementalImport = IncrementalImport.between(SectionChecksums.of(current), SectionChecksums.of(previous));
+
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.CLIENTS), is(true));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.CLIENT_AUTHORIZATION), is(true));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.ROLES), is(false));
+        assertThat(incrementalImport.shouldRun(RealmImportPhase.USERS), is(false));
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.CLIENTS).test(current.getClients().get(0)), is(false));
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.CLIENTS).test(current.getClients().get(1)), is(true));
+        // not an entity phase, all clients are considered
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.DEFAULT_CLIENT_SCOPES_AFTER_CLIENTS).test(current.getClients().get(0)), is(true));
+        assertThat(incrementalImport.getSkippedSections().contains(ImportSection.CLIENTS), is(false));
+        assertThat(incrementalImport.getSkippedSections().contains(ImportSection.ROLES), is(true));
+    }
+
+    @Test
+    void shouldRunWholePhaseWhenAnotherInputChanged() {
+        RealmImport previous = realm("client-a", "client-b");
+        RealmImport current = realm("client-a", "client-b");
+        current.getClients().get(1).setDescription("changed");
+        current.setClientScopes(List.of());
+
+        IncrementalImport incrementalImport = IncrementalImport.between(SectionChecksums.of(current), SectionChecksums.of(previous));
+
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.CLIENTS).test(current.getClients().get(0)), is(true));
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.CLIENT_AUTHORIZATION).test(current.getClients().get(0)), is(false));
+    }
+
+    @Test
+    void shouldIgnoreOrderOfMapEntries() {
+        RealmImport previous = realm("client-a");
+        previous.setAttributes(Map.of("a", "1", "b", "2"));
+        RealmImport current = realm("client-a");
+        current.setAttributes(Map.of("b", "2", "a", "1"));
+
+        assertThat(SectionChecksums.of(current).getChecksum(ImportSection.REALM), is(SectionChecksums.of(previous).getChecksum(ImportSection.REALM)));
+
+        current.setDisplayName("changed");
+        assertThat(SectionChecksums.of(current).getChecksum(ImportSection.REALM), not(SectionChecksums.of(previous).getChecksum(ImportSection.REALM)));
+    }
+
+    @Test
+    void shouldRestoreChecksumsFromState() {
+        SectionChecksums checksums = SectionChecksums.of(realm("client-a", "client=b"));
+
+        SectionChecksums restored = SectionChecksums.fromState(checksums.toState());
+
+        assertThat(restored.toState(), is(checksums.toState()));
+        assertThat(restored.getEntityChecksums(ImportSection.CLIENTS).size(), is(2));
+        assertThat(IncrementalImport.between(checksums, restored).getSkippedSections().size(), is(ImportSection.values().length));
+    }
+
+    @Test
+    void shouldRunEverythingWithoutPreviousChecksums() {
+        IncrementalImport incrementalImport = IncrementalImport.between(SectionChecksums.of(realm("client-a")), SectionChecksums.fromState(List.of()));
+
+        for (RealmImportPhase phase : RealmImportPhase.values()) {
+            assertThat(incrementalImport.shouldRun(phase), is(true));
+        }
+        assertThat(incrementalImport.clientFilter(RealmImportPhase.CLIENTS).test(client("client-a")), is(true));
+    }
+
+    private static RealmImport realm(String... clientIds) {
+        RealmImport realmImport = new RealmImport();
+        realmImport.setRealm("realm");
+
+        List<ClientRepresentation> clients = new ArrayList<>();
+        for (String clientId : clientIds) {
+            clients.add(client(clientId));
+        }
+        realmImport.setClients(clients);
+
+        RoleRepresentation role = new RoleRepresentation();
+        role.setName("role");
+        RolesRepresentation roles = new RolesRepresentation();
+        roles.setRealm(List.of(role));
+        realmImport.setRoles(roles);
+
+        return realmImport;
+    }
+
+    private static ClientRepresentation client(String clientId) {
+        ClientRepresentation client = new ClientRepresentation();
+        client.setClientId(clientId);
+        return client;
+    }
+}
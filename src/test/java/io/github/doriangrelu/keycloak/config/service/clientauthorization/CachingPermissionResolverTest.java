@@ -0,0 +1,65 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.clientauthorization;
+
+import io.github.doriangrelu.keycloak.config.exception.ImportProcessingException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingPermissionResolverTest {
+
+    private final PermissionResolver delegate = mock(PermissionResolver.class);
+    private final CachingPermissionResolver resolver = new CachingPermissionResolver(delegate);
+
+    @Test
+    void shouldResolveEachObjectOnce() {
+        when(delegate.resolveObjectId("my-client", "client.resource.$my-client")).thenReturn("client-id");
+
+        assertEquals("client-id", resolver.resolveObjectId("my-client", "client.resource.$my-client"));
+        assertEquals("client-id", resolver.resolveObjectId("my-client", "manage.permission.client.$my-client"));
+
+        verify(delegate, times(1)).resolveObjectId("my-client", "client.resource.$my-client");
+    }
+
+    @Test
+    void shouldEnablePermissionsOnce() {
+        resolver.enablePermissions("client-id");
+        resolver.enablePermissions("client-id");
+
+        verify(delegate, times(1)).enablePermissions("client-id");
+    }
+
+    @Test
+    void shouldRetryFailedResolution() {
+        when(delegate.resolveObjectId("missing", "authz"))
+                .thenThrow(new ImportProcessingException("Cannot find client"))
+                .thenReturn("client-id");
+
+        assertThrows(ImportProcessingException.class, () -> resolver.resolveObjectId("missing", "authz"));
+        assertEquals("client-id", resolver.resolveObjectId("missing", "authz"));
+    }
+}
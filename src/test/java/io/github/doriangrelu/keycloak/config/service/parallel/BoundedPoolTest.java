@@ -0,0 +1,102 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.parallel;
+
+import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(GithubActionsExtension.class)
+class BoundedPoolTest {
+
+    @Test
+    void shouldReturnResultsInIterationOrder() {
+        List<Integer> elements = IntStream.range(0, 50).boxed().toList();
+
+        List<Integer> results = BoundedPool.map(elements, 4, "test", element -> element * 2);
+
+        assertThat(results, is(IntStream.range(0, 50).map(element -> element * 2).boxed().toList()));
+    }
+
+    @Test
+    void shouldLimitConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+
+        BoundedPool.forEach(IntStream.range(0, 20).boxed().toList(), 3, "test", element -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            threadNames.add(Thread.currentThread().getName());
+            sleep();
+            running.decrementAndGet();
+        });
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+        assertThat(threadNames, everyItem(startsWith("test-")));
+    }
+
+    @Test
+    void shouldRethrowFirstFailureInIterationOrder() {
+        List<Integer> elements = IntStream.range(0, 10).boxed().toList();
+
+        InvalidImportException exception = assertThrows(InvalidImportException.class, () -> BoundedPool.forEach(elements, 1, "test", element -> {
+            if (element >= 3) throw new InvalidImportException("failed " + element);
+        }));
+
+        assertThat(exception.getMessage(), is("failed 3"));
+    }
+
+    @Test
+    void shouldNotStartTasksAfterFailure() {
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> elements = IntStream.range(0, 10).boxed().toList();
+
+        assertThrows(InvalidImportException.class, () -> BoundedPool.forEach(elements, 1, "test", element -> {
+            started.incrementAndGet();
+            throw new InvalidImportException("failed");
+        }));
+
+        assertThat(started.get(), is(1));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.parallel;
+
+import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class ParallelImportExecutorTest {
+
+    private final ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+    private ParallelImportExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldProcessSequentiallyWhenParallelIsDisabled() {
+        executor = executor(false, 4);
+        List<Integer> processed = new ArrayList<>();
+
+        executor.forEach(List.of(1, 2, 3), processed::add);
+
+        assertThat(processed, contains(1, 2, 3));
+    }
+
+    @Test
+    void shouldLimitConcurrency() {
+        executor = executor(true, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        executor.forEach(IntStream.range(0, 50).boxed().toList(), element -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep();
+            running.decrementAndGet();
+            processed.add(element);
+        });
+
+        assertThat(processed.size(), is(50));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void shouldRunNestedFanOutOnCallingThread() {
+        executor = executor(true, 1);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        executor.forEach(List.of("a", "b"), outer ->
+                executor.forEach(List.of(1, 2), inner -> processed.add(outer + inner))
+        );
+
+        assertThat(processed, containsInAnyOrder("a1", "a2", "b1", "b2"));
+    }
+
+    @Test
+    void shouldRethrowFailure() {
+        executor = executor(true, 2);
+        List<Integer> elements = IntStream.range(0, 10).boxed().toList();
+
+        InvalidImportException exception = assertThrows(InvalidImportException.class, () ->
+                executor.forEach(elements, element -> {
+                    if (element == 5) throw new InvalidImportException("element 5 failed");
+                })
+        );
+
+        assertThat(exception.getMessage(), is("element 5 failed"));
+    }
+
+    private ParallelImportExecutor executor(boolean parallel, int maxConcurrency) {
+        when(importConfigProperties.isParallel()).thenReturn(parallel);
+        when(importConfigProperties.getParallelMaxConcurrency()).thenReturn(maxConcurrency);
+        return new ParallelImportExecutor(importConfigProperties);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
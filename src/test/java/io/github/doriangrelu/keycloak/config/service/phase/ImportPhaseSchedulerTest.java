@@ -0,0 +1,99 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.service.phase;
+
+import io.github.doriangrelu.keycloak.config.exception.InvalidImportException;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties;
+import io.github.doriangrelu.keycloak.config.properties.ImportConfigProperties.ImportPhasesProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GithubActionsExtension.class)
+class ImportPhaseSchedulerTest {
+
+    @Test
+    void shouldRunPhasesInDeclarationOrderWithoutConcurrency() {
+        List<RealmImportPhase> executed = new ArrayList<>();
+
+        scheduler(1).execute("realm", recordingPhases(executed));
+
+        assertThat(executed, is(Arrays.asList(RealmImportPhase.values())));
+    }
+
+    @Test
+    void shouldRespectDependenciesWithConcurrency() {
+        List<RealmImportPhase> executed = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler(4).execute("realm", recordingPhases(executed));
+
+        assertThat(executed.size(), is(RealmImportPhase.values().length));
+        for (RealmImportPhase phase : RealmImportPhase.values()) {
+            for (RealmImportPhase dependency : phase.getDependencies()) {
+                assertThat(executed.indexOf(dependency), lessThan(executed.indexOf(phase)));
+            }
+        }
+    }
+
+    @Test
+    void shouldRethrowFailureAndSkipDependentPhases() {
+        List<RealmImportPhase> executed = Collections.synchronizedList(new ArrayList<>());
+        Map<RealmImportPhase, Runnable> phases = recordingPhases(executed);
+        phases.put(RealmImportPhase.ROLES, () -> {
+            throw new InvalidImportException("roles failed");
+        });
+
+        ImportPhaseScheduler scheduler = scheduler(4);
+        InvalidImportException exception = assertThrows(InvalidImportException.class, () -> scheduler.execute("realm", phases));
+
+        assertThat(exception.getMessage(), is("roles failed"));
+        assertThat(executed.contains(RealmImportPhase.GROUPS), is(false));
+        assertThat(executed.contains(RealmImportPhase.CHECKSUM), is(false));
+    }
+
+    private static Map<RealmImportPhase, Runnable> recordingPhases(List<RealmImportPhase> executed) {
+        Map<RealmImportPhase, Runnable> phases = new EnumMap<>(RealmImportPhase.class);
+        for (RealmImportPhase phase : RealmImportPhase.values()) {
+            phases.put(phase, () -> executed.add(phase));
+        }
+        return phases;
+    }
+
+    private static ImportPhaseScheduler scheduler(int maxConcurrency) {
+        ImportConfigProperties importConfigProperties = mock(ImportConfigProperties.class);
+        when(importConfigProperties.getPhases()).thenReturn(new ImportPhasesProperties(maxConcurrency));
+        return new ImportPhaseScheduler(importConfigProperties);
+    }
+}
@@ -0,0 +1,158 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util;
+
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.ProtocolMapperRepresentation;
+import org.keycloak.representations.idm.RealmRepresentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@link CloneUtil} engine with the previous JSON tree round-trip on a realm with 2000
+ * clients, for the operations a client import performs.
+ *
+ * <p>Run with {@code java -cp <test classpath> org.openjdk.jmh.Main CloneUtilBenchmark}, see README.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CloneUtilBenchmark {
+    private static final int CLIENTS = 2000;
+
+    private RealmRepresentation realm;
+    private List<ClientRepresentation> existingClients;
+    private List<ClientRepresentation> clientsToImport;
+
+    @Setup
+    public void setup() {
+        existingClients = new ArrayList<>(CLIENTS);
+        clientsToImport = new ArrayList<>(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            ClientRepresentation existingClient = client(i);
+            existingClient.setId("00000000-0000-0000-0000-" + String.format("%012d", i));
+            existingClients.add(existingClient);
+
+            ClientRepresentation clientToImport = client(i);
+            // every tenth client has a change
+            if (i % 10 == 0) clientToImport.setDescription("changed");
+            clientsToImport.add(clientToImport);
+        }
+
+        realm = new RealmRepresentation();
+        realm.setRealm("benchmark");
+        realm.setEnabled(true);
+        realm.setClients(existingClients);
+    }
+
+    @Benchmark
+    public RealmRepresentation deepCloneRealm() {
+        return CloneUtil.deepClone(realm);
+    }
+
+    @Benchmark
+    public RealmRepresentation deepCloneRealmJson() {
+        return CloneUtil.jsonDeepClone(realm, RealmRepresentation.class);
+    }
+
+    @Benchmark
+    public void patchAndCompareClients(Blackhole blackhole) {
+        for (int i = 0; i < CLIENTS; i++) {
+            ClientRepresentation existingClient = existingClients.get(i);
+            ClientRepresentation patchedClient = CloneUtil.patch(existingClient, clientsToImport.get(i), "id");
+            blackhole.consume(CloneUtil.deepEquals(existingClient, patchedClient, "id", "access"));
+        }
+    }
+
+    @Benchmark
+    public void patchAndCompareClientsJson(Blackhole blackhole) {
+        for (int i = 0; i < CLIENTS; i++) {
+            ClientRepresentation existingClient = existingClients.get(i);
+            ClientRepresentation patchedClient = CloneUtil.jsonPatch(existingClient, clientsToImport.get(i), "id");
+            blackhole.consume(CloneUtil.jsonDeepEquals(existingClient, patchedClient, "id", "access"));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CloneUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static ClientRepresentation client(int index) {
+        ClientRepresentation client = new ClientRepresentation();
+        client.setClientId("client-" + index);
+        client.setName("Client " + index);
+        client.setEnabled(true);
+        client.setProtocol("openid-connect");
+        client.setPublicClient(false);
+        client.setStandardFlowEnabled(true);
+        client.setRedirectUris(List.of("https://client-" + index + ".example.com/*"));
+        client.setWebOrigins(List.of("https://client-" + index + ".example.com"));
+        client.setDefaultClientScopes(List.of("web-origins", "acr", "profile", "roles", "email"));
+        client.setOptionalClientScopes(List.of("address", "phone", "offline_access", "microprofile-jwt"));
+
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("post.logout.redirect.uris", "+");
+        attributes.put("pkce.code.challenge.method", "S256");
+        attributes.put("backchannel.logout.session.required", "true");
+        attributes.put("oauth2.device.authorization.grant.enabled", "false");
+        client.setAttributes(attributes);
+
+        List<ProtocolMapperRepresentation> protocolMappers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ProtocolMapperRepresentation protocolMapper = new ProtocolMapperRepresentation();
+            protocolMapper.setName("mapper-" + i);
+            protocolMapper.setProtocol("openid-connect");
+            protocolMapper.setProtocolMapper("oidc-usermodel-attribute-mapper");
+            protocolMapper.setConfig(Map.of(
+                    "user.attribute", "attribute-" + i,
+                    "claim.name", "claim-" + i,
+                    "id.token.claim", "true",
+                    "access.token.claim", "true"
+            ));
+            protocolMappers.add(protocolMapper);
+        }
+        client.setProtocolMappers(protocolMappers);
+
+        return client;
+    }
+}
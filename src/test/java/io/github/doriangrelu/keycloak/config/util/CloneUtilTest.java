@@ -20,19 +20,43 @@
 
 package io.github.doriangrelu.keycloak.config.util;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.doriangrelu.keycloak.config.assets.OtherTestObject;
 import io.github.doriangrelu.keycloak.config.assets.TestObject;
 import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.util.bean.PropertyChange;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.common.util.MultivaluedHashMap;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.ComponentExportRepresentation;
+import org.keycloak.representations.idm.ComponentRepresentation;
+import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.ProtocolMapperRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(GithubActionsExtension.class)
 class CloneUtilTest {
+    private static final ObjectMapper nonNullMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
     @Test
     void shouldBeEqualAfterClone() {
         TestObject object = new TestObject(
@@ -315,4 +339,142 @@ class CloneUtilTest {
         assertThat(CloneUtil.deepEquals(object, null), is(false));
         assertThat(CloneUtil.deepEquals(null, object), is(false));
     }
+
+    @Test
+    void shouldCloneRepresentationLikeJsonRoundTrip() {
+        ClientRepresentation client = client();
+
+        ClientRepresentation cloned = CloneUtil.deepClone(client, "id");
+        ClientRepresentation expected = CloneUtil.jsonDeepClone(client, ClientRepresentation.class, "id");
+
+        assertThat(toTree(cloned), is(toTree(expected)));
+        assertThat(cloned.getId(), is(nullValue()));
+        assertThat(cloned.getProtocolMappers().get(0), not(sameInstance(client.getProtocolMappers().get(0))));
+        assertThat(cloned.getAttributes(), not(sameInstance(client.getAttributes())));
+    }
+
+    @Test
+    void shouldCloneIntoOtherRepresentationLikeJsonRoundTrip() {
+        ComponentExportRepresentation component = new ComponentExportRepresentation();
+        component.setName("ldap");
+        component.setProviderId("ldap");
+        component.setConfig(new MultivaluedHashMap<>(Map.of("enabled", List.of("true"))));
+        component.setSubComponents(new MultivaluedHashMap<>());
+
+        ComponentRepresentation cloned = CloneUtil.deepClone(component, ComponentRepresentation.class);
+        ComponentRepresentation expected = CloneUtil.jsonDeepClone(component, ComponentRepresentation.class);
+
+        assertThat(toTree(cloned), is(toTree(expected)));
+        assertThat(cloned.getConfig().getFirst("enabled"), is("true"));
+    }
+
+    @Test
+    void shouldPatchRepresentationLikeJsonRoundTrip() {
+        ClientRepresentation existingClient = client();
+
+        ClientRepresentation clientToImport = new ClientRepresentation();
+        clientToImport.setClientId("my-client");
+        clientToImport.setDescription("changed");
+        clientToImport.setRedirectUris(List.of("https://other.example.com/*"));
+        clientToImport.setAttributes(Map.of("pkce.code.challenge.method", "plain"));
+
+        ClientRepresentation patched = CloneUtil.patch(existingClient, clientToImport, "id");
+        ClientRepresentation expected = CloneUtil.jsonPatch(existingClient, clientToImport, "id");
+
+        assertThat(toTree(patched), is(toTree(expected)));
+        assertThat(patched.getRedirectUris(), is(List.of("https://other.example.com/*")));
+        assertThat(patched.getAttributes(), is(Map.of("pkce.code.challenge.method", "plain")));
+        assertThat(patched.getProtocolMappers().size(), is(1));
+        assertThat(existingClient.getDescription(), is(nullValue()));
+    }
+
+    @Test
+    void shouldDeepEqualRepresentationLikeJsonRoundTrip() {
+        UserRepresentation user = new UserRepresentation();
+        user.setUsername("alice");
+        user.setEnabled(true);
+        user.setAttributes(Map.of("locale", List.of("de")));
+
+        UserRepresentation sameUser = CloneUtil.jsonDeepClone(user, UserRepresentation.class);
+        sameUser.setCredentials(new ArrayList<>());
+
+        UserRepresentation otherUser = CloneUtil.jsonDeepClone(user, UserRepresentation.class);
+        otherUser.setAttributes(Map.of("locale", List.of("en")));
+        otherUser.setCredentials(List.of(new CredentialRepresentation()));
+
+        assertThat(CloneUtil.deepEquals(user, sameUser), is(true));
+        assertThat(CloneUtil.deepEquals(user, otherUser), is(false));
+        assertThat(CloneUtil.deepEquals(user, otherUser, "attributes"), is(CloneUtil.jsonDeepEquals(user, otherUser, "attributes")));
+        assertThat(CloneUtil.deepEquals(user, otherUser, "attributes", "credentials"), is(true));
+    }
+
+    @Test
+    void shouldReportChangedPropertiesOfRepresentation() {
+        ClientRepresentation existingClient = client();
+
+        ClientRepresentation clientToImport = new ClientRepresentation();
+        clientToImport.setDescription("changed");
+        clientToImport.setAttributes(Map.of("pkce.code.challenge.method", "plain"));
+
+        ClientRepresentation patched = CloneUtil.patch(existingClient, clientToImport, "id");
+        List<String> paths = CloneUtil.diff(existingClient, patched).stream().map(PropertyChange::path).toList();
+
+        assertThat(paths, containsInAnyOrder("description", "attributes.pkce.code.challenge.method"));
+        assertThat(paths, is(CloneUtil.jsonDiff(existingClient, patched).stream().map(PropertyChange::path).toList()));
+        assertThat(CloneUtil.diff(existingClient, patched, "description", "attributes"), is(empty()));
+        assertThat(CloneUtil.diff(existingClient, CloneUtil.deepClone(existingClient)), is(empty()));
+    }
+
+    @Test
+    void shouldReportChangedPropertiesLikeJson() {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, null),
+                List.of("a", "b")
+        );
+
+        TestObject other = new TestObject(
+                "my string",
+                1235,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.73, null, null),
+                List.of("b", "a")
+        );
+
+        List<PropertyChange> changes = CloneUtil.diff(origin, other);
+
+        assertThat(changes.stream().map(PropertyChange::path).toList(),
+                containsInAnyOrder("integerProperty", "innerTestObjectProperty.doubleProperty", "stringList"));
+        assertThat(changes.toString(), not(containsString("1235")));
+        assertThat(CloneUtil.diff(null, null), is(empty()));
+        assertThat(CloneUtil.diff(origin, null).size(), is(1));
+    }
+
+    private static ClientRepresentation client() {
+        ProtocolMapperRepresentation protocolMapper = new ProtocolMapperRepresentation();
+        protocolMapper.setName("mapper");
+        protocolMapper.setProtocol("openid-connect");
+        protocolMapper.setConfig(new HashMap<>(Map.of("claim.name", "claim")));
+
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId("3f2b6f4e-0d3a-4c3e-9d6e-5b0e0f7f9a11");
+        client.setClientId("my-client");
+        client.setEnabled(true);
+        client.setRedirectUris(List.of("https://my-client.example.com/*"));
+        client.setAttributes(new HashMap<>(Map.of("pkce.code.challenge.method", "S256")));
+        client.setProtocolMappers(new ArrayList<>(List.of(protocolMapper)));
+        return client;
+    }
+
+    private static JsonNode toTree(Object object) {
+        return nonNullMapper.valueToTree(object);
+    }
 }
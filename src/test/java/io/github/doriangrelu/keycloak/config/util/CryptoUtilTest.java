@@ -28,6 +28,7 @@ import org.junitpioneer.jupiter.RetryingTest;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(GithubActionsExtension.class)
@@ -46,6 +47,12 @@ class CryptoUtilTest {
         assertThat(decryptedData, is(data));
     }
 
+    @Test
+    void reuseEncryptorOfSameKeyAndSalt() {
+        assertThat(CryptoUtil.encryptor("key", salt), is(sameInstance(CryptoUtil.encryptor("key", salt))));
+        assertThat(CryptoUtil.encryptor("key", salt), not(sameInstance(CryptoUtil.encryptor("other key", salt))));
+    }
+
     @RetryingTest(3)
     void encryptDecryptWrong() {
         String encryptedData = CryptoUtil.encrypt("data", "key1", salt);
@@ -0,0 +1,153 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties;
+import io.github.doriangrelu.keycloak.config.properties.KeycloakConfigProperties.KeycloakHttpProperties.HttpEngine;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@ExtendWith(GithubActionsExtension.class)
+class ResteasyUtilTest {
+
+    private HttpServer server;
+    private volatile String lastRequestBody;
+    private volatile String lastRequestEncoding;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            lastRequestEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            try (InputStream body = exchange.getRequestBody()) {
+                InputStream decoded = "gzip".equals(lastRequestEncoding) ? new GZIPInputStream(body) : body;
+                lastRequestBody = new String(decoded.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            byte[] response = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+                response = gzip(response);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldConfigureConnectionPool() {
+        KeycloakHttpProperties http = httpProperties(HttpEngine.APACHE, false);
+
+        PoolingHttpClientConnectionManager connectionManager = ResteasyUtil.createConnectionManager(false, http);
+
+        assertThat(connectionManager.getMaxTotal(), is(50));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), is(20));
+        assertThat(connectionManager.getTotalStats().getLeased(), is(0));
+    }
+
+    @Test
+    void shouldInvokeWithApacheEngine() {
+        KeycloakHttpProperties http = httpProperties(HttpEngine.APACHE, false);
+        PoolingHttpClientConnectionManager connectionManager = ResteasyUtil.createConnectionManager(false, http);
+
+        try (ResteasyClient client = ResteasyUtil.getClient(false, null, Duration.ofSeconds(10), Duration.ofSeconds(10), http, connectionManager)) {
+            String response = client.target(url()).request().get(String.class);
+
+            assertThat(response, is("\"hello\""));
+            assertThat(connectionManager.getTotalStats().getLeased(), is(0));
+        }
+    }
+
+    @Test
+    void shouldDecompressResponseWithJdkEngine() {
+        KeycloakHttpProperties http = httpProperties(HttpEngine.JDK, false);
+
+        try (ResteasyClient client = ResteasyUtil.getClient(false, null, Duration.ofSeconds(10), Duration.ofSeconds(10), http, null)) {
+            String response = client.target(url()).request().get(String.class);
+
+            assertThat(response, is("\"hello\""));
+        }
+    }
+
+    @Test
+    void shouldCompressLargeRequestsWithJdkEngine() {
+        KeycloakHttpProperties http = httpProperties(HttpEngine.JDK, true);
+        String small = "\"small\"";
+        String large = "\"" + "x".repeat(4096) + "\"";
+
+        try (ResteasyClient client = ResteasyUtil.getClient(false, null, Duration.ofSeconds(10), Duration.ofSeconds(10), http, null)) {
+            client.target(url()).request().post(Entity.entity(small, MediaType.APPLICATION_JSON_TYPE), String.class);
+            assertThat(lastRequestBody, is(small));
+            assertThat(lastRequestEncoding, is(nullValue()));
+
+            client.target(url()).request().post(Entity.entity(large, MediaType.APPLICATION_JSON_TYPE), String.class);
+            assertThat(lastRequestBody, is(large));
+            assertThat(lastRequestEncoding, is("gzip"));
+        }
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/echo";
+    }
+
+    private static KeycloakHttpProperties httpProperties(HttpEngine engine, boolean compressRequests) {
+        return new KeycloakHttpProperties(engine, compressRequests, 50, 20, Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
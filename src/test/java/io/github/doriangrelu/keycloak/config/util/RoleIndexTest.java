@@ -0,0 +1,75 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util;
+
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.representations.idm.RoleRepresentation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(GithubActionsExtension.class)
+class RoleIndexTest {
+    @Test
+    void shouldFindRolesByName() {
+        RoleRepresentation admin = role("admin");
+        RoleRepresentation duplicatedAdmin = role("admin");
+        RoleRepresentation reader = role("reader");
+
+        RoleIndex index = RoleIndex.of(List.of(admin, duplicatedAdmin, reader));
+
+        assertThat(index.find("admin").orElseThrow(), sameInstance(admin));
+        assertThat(index.find("reader").orElseThrow(), sameInstance(reader));
+        assertThat(index.find("writer").isPresent(), is(false));
+        assertThat(index.getRoles(), contains(admin, duplicatedAdmin, reader));
+    }
+
+    @Test
+    void shouldAcceptMissingRoles() {
+        RoleIndex index = RoleIndex.of(null);
+
+        assertThat(index.find("admin").isPresent(), is(false));
+        assertThat(index.getRoles(), is(empty()));
+    }
+
+    @Test
+    void shouldSearchForMissingInOrder() {
+        List<String> missing = SetUtil.searchForMissing(Arrays.asList("c", "a", null, "b", "c"), List.of("a", "b"));
+
+        assertThat(missing, contains("c", null, "c"));
+        assertThat(SetUtil.searchForMissing(List.of("a"), null), contains("a"));
+        assertThat(SetUtil.searchForMissing(null, List.of("a")), is(empty()));
+    }
+
+    private static RoleRepresentation role(String name) {
+        RoleRepresentation role = new RoleRepresentation();
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,145 @@
+/*-
+ * ---license-start
+ * keycloak-config-cli
+ * ---
+ * Copyright (C) 2017 - 2026 adorsys GmbH & Co. KG @ https://adorsys.com
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ---license-end
+ */
+
+package io.github.doriangrelu.keycloak.config.util.bean;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.github.doriangrelu.keycloak.config.assets.TestObject;
+import io.github.doriangrelu.keycloak.config.extensions.GithubActionsExtension;
+import io.github.doriangrelu.keycloak.config.util.bean.BeanMetadata.ReadableProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(GithubActionsExtension.class)
+class BeanIntrospectorTest {
+    private final BeanIntrospector introspector = new BeanIntrospector(
+            new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL),
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+    );
+
+    @Test
+    void shouldResolvePropertiesLikeJackson() {
+        BeanMetadata metadata = introspector.getMetadata(PlainBean.class);
+
+        List<String> readableProperties = metadata.getReadableProperties().stream().map(ReadableProperty::name).toList();
+
+        assertThat(readableProperties, is(List.of("name", "enabled", "attributes", "renamed")));
+        assertThat(metadata.findWritableProperty("renamed"), is(notNullValue()));
+        assertThat(metadata.findWritableProperty("internal"), is(nullValue()));
+        assertThat(metadata.findWritableProperty("attributes").type().getContentType().getRawClass(), is(List.class));
+    }
+
+    @Test
+    void shouldCopyAndCompareBeans() {
+        BeanCopier copier = new BeanCopier(introspector);
+        BeanComparator comparator = new BeanComparator(introspector);
+
+        PlainBean bean = new PlainBean();
+        bean.setName("bean");
+        bean.setAttributes(Map.of("key", List.of("value")));
+
+        PlainBean copy = copier.copy(bean, PlainBean.class);
+
+        assertThat(copy.isEnabled(), is(true));
+        assertThat(copy.getAttributes(), is(bean.getAttributes()));
+        assertThat(comparator.equals(bean, copy), is(true));
+        assertThat(comparator.equals(bean, copier.copy(bean, PlainBean.class, "name")), is(false));
+        assertThat(comparator.equals(bean, copier.copy(bean, PlainBean.class, "name"), "name"), is(true));
+    }
+
+    @Test
+    void shouldRejectBeansWithCustomJacksonHandling() {
+        UnsupportedBeanException creator = assertThrows(UnsupportedBeanException.class,
+                () -> introspector.getMetadata(TestObject.class).newInstance());
+        UnsupportedBeanException serializer = assertThrows(UnsupportedBeanException.class,
+                () -> introspector.getMetadata(CustomBean.class).getReadableProperties());
+
+        assertThat(creator.getMessage(), containsString(TestObject.class.getName()));
+        assertThat(serializer.getMessage(), containsString("@JsonSerialize"));
+    }
+
+    @SuppressWarnings("unused")
+    public static class PlainBean {
+        private String name;
+        private Boolean enabled = true;
+        private Map<String, List<String>> attributes;
+        @JsonProperty("renamed")
+        private String internal;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<String, List<String>> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, List<String>> attributes) {
+            this.attributes = attributes;
+        }
+
+        @JsonIgnore
+        public Map<String, List<String>> getAttributesOrEmpty() {
+            return attributes == null ? Map.of() : attributes;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class CustomBean {
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long value;
+
+        public Long getValue() {
+            return value;
+        }
+
+        public void setValue(Long value) {
+            this.value = value;
+        }
+    }
+}